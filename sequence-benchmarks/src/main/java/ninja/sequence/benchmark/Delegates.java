@@ -0,0 +1,102 @@
+package ninja.sequence.benchmark;
+
+import java.util.Arrays;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import ninja.sequence.delegate.Accumulator;
+import ninja.sequence.delegate.Func;
+import ninja.sequence.delegate.Func2;
+import ninja.sequence.delegate.Predicate;
+
+/**
+ * Cheap delegates shared by the benchmarks, so the numbers are dominated by the
+ * operators and not by the work done inside the delegates.
+ */
+final class Delegates {
+	static final Func<Integer, Integer> PLUS_ONE = new Func<Integer, Integer>() {
+		@Override
+		public Integer invoke(Integer arg) {
+			return arg + 1;
+		}
+	};
+
+	static final Func<Integer, Integer> TIMES_TWO = new Func<Integer, Integer>() {
+		@Override
+		public Integer invoke(Integer arg) {
+			return arg * 2;
+		}
+	};
+
+	/** groups the input into at most 1024 keys */
+	static final Func<Integer, Integer> BUCKET = new Func<Integer, Integer>() {
+		@Override
+		public Integer invoke(Integer arg) {
+			return arg & 1023;
+		}
+	};
+
+	static final Func<Integer, Integer> NEGATE = new Func<Integer, Integer>() {
+		@Override
+		public Integer invoke(Integer arg) {
+			return -arg;
+		}
+	};
+
+	static final Func<Integer, Iterable<Integer>> TWICE = new Func<Integer, Iterable<Integer>>() {
+		@Override
+		public Iterable<Integer> invoke(Integer arg) {
+			return Arrays.asList(arg, arg);
+		}
+	};
+
+	static final Func<Integer, Integer[]> ALLOCATOR = new Func<Integer, Integer[]>() {
+		@Override
+		public Integer[] invoke(Integer length) {
+			return new Integer[length];
+		}
+	};
+
+	static final Predicate<Integer> IS_EVEN = new Predicate<Integer>() {
+		@Override
+		public boolean invoke(Integer arg) {
+			return (arg & 1) == 0;
+		}
+	};
+
+	static final Predicate<Integer> IS_NOT_NEGATIVE = new Predicate<Integer>() {
+		@Override
+		public boolean invoke(Integer arg) {
+			return arg >= 0;
+		}
+	};
+
+	static final Predicate<Integer> IS_NEGATIVE = new Predicate<Integer>() {
+		@Override
+		public boolean invoke(Integer arg) {
+			return arg < 0;
+		}
+	};
+
+	static final Accumulator<Integer, Integer> SUM = new Accumulator<Integer, Integer>() {
+		@Override
+		public Integer accumulate(Integer a, Integer b) {
+			return a + b;
+		}
+	};
+
+	static final Func2<Integer, Integer, Integer> ADD = new Func2<Integer, Integer, Integer>() {
+		@Override
+		public Integer invoke(Integer a, Integer b) {
+			return a + b;
+		}
+	};
+
+	private Delegates() {}
+
+	static void drain(Iterable<?> iterable, Blackhole blackhole) {
+		for (Object element : iterable) {
+			blackhole.consume(element);
+		}
+	}
+}
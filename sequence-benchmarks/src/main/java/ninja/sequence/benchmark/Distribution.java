@@ -0,0 +1,55 @@
+package ninja.sequence.benchmark;
+
+import java.util.Random;
+
+/**
+ * The shape of the generated benchmark input.
+ */
+public enum Distribution {
+	/** 0, 1, 2, ... in ascending order, all distinct */
+	SORTED {
+		@Override
+		int next(Random random, int index, int size) {
+			return index;
+		}
+	},
+
+	/** uniformly distributed over [0, size), few duplicates */
+	RANDOM {
+		@Override
+		int next(Random random, int index, int size) {
+			return random.nextInt(size);
+		}
+	},
+
+	/** most values are small, a long tail of large ones, like ids of very active users */
+	SKEWED {
+		@Override
+		int next(Random random, int index, int size) {
+			double uniform = random.nextDouble();
+
+			return (int)(size * uniform * uniform * uniform * uniform);
+		}
+	},
+
+	/** uniformly distributed over [0, sqrt(size)), every value occurs about sqrt(size) times */
+	DUPLICATES {
+		@Override
+		int next(Random random, int index, int size) {
+			return random.nextInt(Math.max(1, (int)Math.sqrt(size)));
+		}
+	};
+
+	abstract int next(Random random, int index, int size);
+
+	public int[] generate(int size, long seed) {
+		Random random = new Random(seed);
+		int[] values = new int[size];
+
+		for (int i = 0; i < size; i++) {
+			values[i] = next(random, i, size);
+		}
+
+		return values;
+	}
+}
@@ -0,0 +1,81 @@
+package ninja.sequence.benchmark;
+
+import static ninja.sequence.benchmark.Delegates.BUCKET;
+import static ninja.sequence.benchmark.Delegates.SUM;
+import static ninja.sequence.benchmark.Delegates.drain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ninja.sequence.GroupedSequence;
+import ninja.sequence.Sequence;
+import ninja.sequence.delegate.Func;
+import ninja.sequence.delegate.ToLongFunc;
+
+/**
+ * Sums the elements per key, by grouping first and by folding while grouping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GroupAggregateBenchmark {
+	private static final Func<Integer, Integer> ZERO = new Func<Integer, Integer>() {
+		@Override
+		public Integer invoke(Integer key) {
+			return 0;
+		}
+	};
+
+	private static final ToLongFunc<Integer> VALUE = new ToLongFunc<Integer>() {
+		@Override
+		public long invoke(Integer arg) {
+			return arg;
+		}
+	};
+
+	private static final Func<GroupedSequence<Integer, Integer>, Integer> GROUP_SUM = new Func<GroupedSequence<Integer, Integer>, Integer>() {
+		@Override
+		public Integer invoke(GroupedSequence<Integer, Integer> group) {
+			return group.aggregate(0, SUM);
+		}
+	};
+
+	@Param({"100000", "1000000"})
+	public int size;
+
+	private List<Integer> input;
+
+	@Setup
+	public void setUp() {
+		this.input = new ArrayList<Integer>(this.size);
+		for (int value : Distribution.RANDOM.generate(this.size, 42)) {
+			this.input.add(value);
+		}
+	}
+
+	@Benchmark
+	public void groupByThenAggregate(Blackhole blackhole) {
+		drain(Sequence.of(this.input).groupBy(BUCKET).map(GROUP_SUM), blackhole);
+	}
+
+	@Benchmark
+	public void groupAggregate(Blackhole blackhole) {
+		drain(Sequence.of(this.input).groupAggregate(BUCKET, ZERO, SUM), blackhole);
+	}
+
+	@Benchmark
+	public void sumLongBy(Blackhole blackhole) {
+		drain(Sequence.of(this.input).sumLongBy(BUCKET, VALUE), blackhole);
+	}
+}
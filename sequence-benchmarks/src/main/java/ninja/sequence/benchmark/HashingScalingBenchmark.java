@@ -0,0 +1,75 @@
+package ninja.sequence.benchmark;
+
+import static ninja.sequence.benchmark.Delegates.BUCKET;
+import static ninja.sequence.benchmark.Delegates.drain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ninja.sequence.GroupedSequence;
+import ninja.sequence.Sequence;
+
+/**
+ * Regression benchmark for the hash based operators: the time per element has to
+ * stay flat from 10k to 10M elements, a growing time per element means the hashing
+ * degraded to pairwise comparisons again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HashingScalingBenchmark {
+	@Param({"10000", "100000", "1000000", "10000000"})
+	public int size;
+
+	private List<Integer> list;
+	private List<Integer> other;
+
+	@Setup
+	public void setUp() {
+		this.list = toList(Distribution.RANDOM.generate(this.size, 42), 0);
+		this.other = toList(Distribution.RANDOM.generate(this.size, 4711), this.size / 2);
+	}
+
+	private static List<Integer> toList(int[] values, int offset) {
+		List<Integer> list = new ArrayList<Integer>(values.length);
+
+		for (int value : values) {
+			list.add(value + offset);
+		}
+
+		return list;
+	}
+
+	@Benchmark
+	public void distinct(Blackhole blackhole) {
+		drain(Sequence.of(this.list).distinct(), blackhole);
+	}
+
+	@Benchmark
+	public void difference(Blackhole blackhole) {
+		drain(Sequence.of(this.list).difference(this.other), blackhole);
+	}
+
+	@Benchmark
+	public void intersect(Blackhole blackhole) {
+		drain(Sequence.of(this.list).intersect(this.other), blackhole);
+	}
+
+	@Benchmark
+	public void groupBy(Blackhole blackhole) {
+		for (GroupedSequence<Integer, Integer> group : Sequence.of(this.list).groupBy(BUCKET)) {
+			blackhole.consume(group.getKey());
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package ninja.sequence.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The input shared by the operator benchmarks, parameterized by size and distribution.
+ */
+@State(Scope.Benchmark)
+public class Input {
+	@Param({"1000", "100000"})
+	public int size;
+
+	@Param
+	public Distribution distribution;
+
+	public int[] ints;
+	public long[] longs;
+	public Integer[] array;
+	public List<Integer> list;
+
+	/** a second input of the same size and distribution, overlapping with about half of the first one */
+	public List<Integer> other;
+
+	@Setup
+	public void setUp() {
+		this.ints = this.distribution.generate(this.size, 42);
+		this.longs = new long[this.size];
+		this.array = new Integer[this.size];
+		this.list = new ArrayList<Integer>(this.size);
+
+		for (int i = 0; i < this.size; i++) {
+			this.longs[i] = this.ints[i];
+			this.array[i] = this.ints[i];
+			this.list.add(this.ints[i]);
+		}
+
+		int[] others = this.distribution.generate(this.size, 4711);
+		this.other = new ArrayList<Integer>(this.size);
+
+		for (int i = 0; i < this.size; i++) {
+			this.other.add(others[i] + this.size / 2);
+		}
+	}
+}
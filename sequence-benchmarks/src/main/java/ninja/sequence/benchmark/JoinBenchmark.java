@@ -0,0 +1,59 @@
+package ninja.sequence.benchmark;
+
+import static ninja.sequence.benchmark.Delegates.ADD;
+import static ninja.sequence.benchmark.Delegates.BUCKET;
+import static ninja.sequence.benchmark.Delegates.drain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ninja.sequence.Sequence;
+import ninja.sequence.util.Funcs;
+
+/**
+ * Joins a 10 row dimension against a large fact table, with either side as the outer one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JoinBenchmark {
+	@Param({"100000", "1000000"})
+	public int size;
+
+	private List<Integer> dimension;
+	private List<Integer> facts;
+
+	@Setup
+	public void setUp() {
+		this.dimension = new ArrayList<Integer>();
+		for (int i = 0; i < 10; i++) {
+			this.dimension.add(i * 100);
+		}
+
+		this.facts = new ArrayList<Integer>(this.size);
+		for (int value : Distribution.RANDOM.generate(this.size, 42)) {
+			this.facts.add(value);
+		}
+	}
+
+	@Benchmark
+	public void dimensionOuter(Blackhole blackhole) {
+		drain(Sequence.of(this.dimension).join(this.facts, Funcs.<Integer>self(), BUCKET, ADD), blackhole);
+	}
+
+	@Benchmark
+	public void factOuter(Blackhole blackhole) {
+		drain(Sequence.of(this.facts).join(this.dimension, BUCKET, Funcs.<Integer>self(), ADD), blackhole);
+	}
+}
@@ -0,0 +1,70 @@
+package ninja.sequence.benchmark;
+
+import static ninja.sequence.benchmark.Delegates.PLUS_ONE;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import ninja.sequence.delegate.Func;
+import ninja.sequence.monad.Option;
+
+/**
+ * Benchmarks of {@link Option}, the options are held in fields so they are not constant folded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OptionBenchmark {
+	private static final Func<Integer, Option<Integer>> SOME_PLUS_ONE = new Func<Integer, Option<Integer>>() {
+		@Override
+		public Option<Integer> invoke(Integer arg) {
+			return Option.some(arg + 1);
+		}
+	};
+
+	private Integer value = 42;
+	private Option<Integer> some = Option.some(42);
+	private Option<Integer> none = Option.none();
+
+	@Benchmark
+	public Option<Integer> fromNullable() {
+		return Option.fromNullable(this.value);
+	}
+
+	@Benchmark
+	public Option<Integer> mapSome() {
+		return this.some.map(PLUS_ONE);
+	}
+
+	@Benchmark
+	public Option<Integer> mapNone() {
+		return this.none.map(PLUS_ONE);
+	}
+
+	@Benchmark
+	public Option<Integer> bindSome() {
+		return this.some.bind(SOME_PLUS_ONE);
+	}
+
+	@Benchmark
+	public Integer getOrElseNone() {
+		return this.none.getOrElse(this.value);
+	}
+
+	@Benchmark
+	public Option<Integer> orNone() {
+		return this.none.or(this.some);
+	}
+
+	@Benchmark
+	public List<Integer> asListSome() {
+		return this.some.asList();
+	}
+}
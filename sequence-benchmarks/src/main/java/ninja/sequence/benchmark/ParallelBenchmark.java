@@ -0,0 +1,55 @@
+package ninja.sequence.benchmark;
+
+import static ninja.sequence.benchmark.Delegates.IS_EVEN;
+import static ninja.sequence.benchmark.Delegates.SUM;
+import static ninja.sequence.benchmark.Delegates.TIMES_TWO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import ninja.sequence.Sequence;
+
+/**
+ * Runs the same map/select pipelines sequentially and in parallel over a range.
+ * The speedup depends on the number of cores of the machine running the benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParallelBenchmark {
+	@Param({"100000", "10000000"})
+	public int size;
+
+	@Param({"false", "true"})
+	public boolean parallel;
+
+	private Sequence<Integer> source() {
+		Sequence<Integer> range = Sequence.range(0, this.size);
+
+		return this.parallel ? range.parallel() : range.sequential();
+	}
+
+	@Benchmark
+	public long count() {
+		return source().map(TIMES_TWO).select(IS_EVEN).count();
+	}
+
+	@Benchmark
+	public Integer aggregate() {
+		return source().map(TIMES_TWO).select(IS_EVEN).aggregate(0, SUM, SUM);
+	}
+
+	@Benchmark
+	public List<Integer> collect() {
+		return source().map(TIMES_TWO).collect(new ArrayList<Integer>());
+	}
+}
@@ -0,0 +1,65 @@
+package ninja.sequence.benchmark;
+
+import static ninja.sequence.benchmark.Delegates.IS_NOT_NEGATIVE;
+import static ninja.sequence.benchmark.Delegates.PLUS_ONE;
+import static ninja.sequence.benchmark.Delegates.drain;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ninja.sequence.Sequence;
+
+/**
+ * Measures the per element overhead of chained stateless stages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PipelineBenchmark {
+	@Param({"1", "2", "4", "6"})
+	public int depth;
+
+	private Integer[] array;
+
+	@Setup
+	public void setUp() {
+		this.array = new Integer[100000];
+
+		int[] values = Distribution.RANDOM.generate(this.array.length, 42);
+		for (int i = 0; i < values.length; i++) {
+			this.array[i] = values[i];
+		}
+	}
+
+	@Benchmark
+	public void chain(Blackhole blackhole) {
+		Sequence<Integer> sequence = Sequence.of(this.array);
+
+		for (int stage = 0; stage < this.depth; stage++) {
+			switch (stage % 4) {
+				case 0:
+					sequence = sequence.map(PLUS_ONE);
+					break;
+				case 1:
+					sequence = sequence.select(IS_NOT_NEGATIVE);
+					break;
+				case 2:
+					sequence = sequence.skip(1);
+					break;
+				default:
+					sequence = sequence.take(Long.MAX_VALUE);
+			}
+		}
+
+		drain(sequence, blackhole);
+	}
+}
@@ -0,0 +1,115 @@
+package ninja.sequence.benchmark;
+
+import static ninja.sequence.benchmark.Delegates.ALLOCATOR;
+import static ninja.sequence.benchmark.Delegates.IS_EVEN;
+import static ninja.sequence.benchmark.Delegates.SUM;
+import static ninja.sequence.benchmark.Delegates.TIMES_TWO;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import ninja.sequence.IntSequence;
+import ninja.sequence.Sequence;
+import ninja.sequence.delegate.IntFunc;
+import ninja.sequence.delegate.IntPredicate;
+import ninja.sequence.delegate.ToIntFunc;
+import ninja.sequence.monad.Option;
+import ninja.sequence.util.Funcs;
+
+/**
+ * Compares the boxed {@code Sequence<Integer>} path against {@link IntSequence} for the same pipelines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PrimitiveSequenceBenchmark {
+	private static final IntFunc INT_TIMES_TWO = new IntFunc() {
+		@Override
+		public int invoke(int arg) {
+			return arg * 2;
+		}
+	};
+
+	private static final IntPredicate INT_IS_EVEN = new IntPredicate() {
+		@Override
+		public boolean invoke(int arg) {
+			return (arg & 1) == 0;
+		}
+	};
+
+	private static final ToIntFunc<Integer> UNBOX = new ToIntFunc<Integer>() {
+		@Override
+		public int invoke(Integer arg) {
+			return arg;
+		}
+	};
+
+	@Param({"1000", "1000000"})
+	public int size;
+
+	private int[] ints;
+	private Integer[] boxed;
+
+	@Setup
+	public void setUp() {
+		this.ints = Distribution.RANDOM.generate(this.size, 42);
+		this.boxed = new Integer[this.size];
+
+		for (int i = 0; i < this.size; i++) {
+			this.boxed[i] = this.ints[i];
+		}
+	}
+
+	@Benchmark
+	public Integer boxedMapSelectSum() {
+		return Sequence.of(this.ints).map(TIMES_TWO).select(IS_EVEN).aggregate(0, SUM);
+	}
+
+	@Benchmark
+	public long primitiveMapSelectSum() {
+		return IntSequence.of(this.ints).map(INT_TIMES_TWO).select(INT_IS_EVEN).sum();
+	}
+
+	@Benchmark
+	public long mapToIntSum() {
+		return Sequence.of(this.boxed).mapToInt(UNBOX).sum();
+	}
+
+	@Benchmark
+	public Option<Integer> boxedMax() {
+		return Sequence.of(this.ints).sortByDescending(Funcs.<Integer>self()).first();
+	}
+
+	@Benchmark
+	public Option<Integer> primitiveMax() {
+		return IntSequence.of(this.ints).max();
+	}
+
+	@Benchmark
+	public Integer[] boxedSort() {
+		return Sequence.of(this.ints).sortBy(Funcs.<Integer>self()).asArray(ALLOCATOR);
+	}
+
+	@Benchmark
+	public int[] primitiveSort() {
+		return IntSequence.of(this.ints).sort().asArray();
+	}
+
+	@Benchmark
+	public long boxedDistinct() {
+		return Sequence.of(this.ints).distinct().count();
+	}
+
+	@Benchmark
+	public long primitiveDistinct() {
+		return IntSequence.of(this.ints).distinct().count();
+	}
+}
@@ -0,0 +1,203 @@
+package ninja.sequence.benchmark;
+
+import static ninja.sequence.benchmark.Delegates.ADD;
+import static ninja.sequence.benchmark.Delegates.ALLOCATOR;
+import static ninja.sequence.benchmark.Delegates.BUCKET;
+import static ninja.sequence.benchmark.Delegates.IS_EVEN;
+import static ninja.sequence.benchmark.Delegates.IS_NEGATIVE;
+import static ninja.sequence.benchmark.Delegates.IS_NOT_NEGATIVE;
+import static ninja.sequence.benchmark.Delegates.PLUS_ONE;
+import static ninja.sequence.benchmark.Delegates.SUM;
+import static ninja.sequence.benchmark.Delegates.TWICE;
+import static ninja.sequence.benchmark.Delegates.drain;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ninja.sequence.GroupedSequence;
+import ninja.sequence.Sequence;
+import ninja.sequence.monad.Option;
+import ninja.sequence.util.Funcs;
+
+/**
+ * One benchmark per public operator of {@link Sequence}, all running over an {@code ArrayList} source.
+ * Lazy operators are drained completely.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SequenceBenchmark {
+	@Benchmark
+	public Option<Integer> aggregate(Input input) {
+		return Sequence.of(input.list).aggregate(SUM);
+	}
+
+	@Benchmark
+	public Integer aggregateWithSeed(Input input) {
+		return Sequence.of(input.list).aggregate(0, SUM);
+	}
+
+	@Benchmark
+	public Integer aggregateWithSeedAndMap(Input input) {
+		return Sequence.of(input.list).aggregate(0, SUM, PLUS_ONE);
+	}
+
+	@Benchmark
+	public boolean all(Input input) {
+		return Sequence.of(input.list).all(IS_NOT_NEGATIVE);
+	}
+
+	@Benchmark
+	public boolean any(Input input) {
+		return Sequence.of(input.list).any(IS_NEGATIVE);
+	}
+
+	@Benchmark
+	public Integer[] asArray(Input input) {
+		return Sequence.of(input.list).asArray(ALLOCATOR);
+	}
+
+	@Benchmark
+	public ArrayList<Integer> asArrayList(Input input) {
+		return Sequence.of(input.list).asArrayList();
+	}
+
+	@Benchmark
+	public HashMap<Integer, Integer> asHashMap(Input input) {
+		return Sequence.of(input.list).asHashMap(PLUS_ONE);
+	}
+
+	@Benchmark
+	public HashSet<Integer> asHashSet(Input input) {
+		return Sequence.of(input.list).asHashSet();
+	}
+
+	@Benchmark
+	public void bind(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).bind(TWICE), blackhole);
+	}
+
+	@Benchmark
+	public ArrayList<Integer> collect(Input input) {
+		return Sequence.of(input.list).collect(new ArrayList<Integer>());
+	}
+
+	@Benchmark
+	public HashMap<Integer, Integer> collectMap(Input input) {
+		return Sequence.of(input.list).collect(new HashMap<Integer, Integer>(), PLUS_ONE);
+	}
+
+	@Benchmark
+	public void concat(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).concat(input.other), blackhole);
+	}
+
+	@Benchmark
+	public long count(Input input) {
+		return Sequence.of(input.array).count();
+	}
+
+	@Benchmark
+	public long countWithPredicate(Input input) {
+		return Sequence.of(input.list).count(IS_EVEN);
+	}
+
+	@Benchmark
+	public void difference(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).difference(input.other), blackhole);
+	}
+
+	@Benchmark
+	public void distinct(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).distinct(), blackhole);
+	}
+
+	@Benchmark
+	public Option<Integer> first(Input input) {
+		return Sequence.of(input.list).first(IS_NEGATIVE);
+	}
+
+	@Benchmark
+	public void groupBy(Input input, Blackhole blackhole) {
+		for (GroupedSequence<Integer, Integer> group : Sequence.of(input.list).groupBy(BUCKET)) {
+			blackhole.consume(group.getKey());
+		}
+	}
+
+	@Benchmark
+	public void intersect(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).intersect(input.other), blackhole);
+	}
+
+	@Benchmark
+	public void join(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).join(input.other, Funcs.<Integer>self(), Funcs.<Integer>self(), ADD), blackhole);
+	}
+
+	@Benchmark
+	public Option<Integer> last(Input input) {
+		return Sequence.of(input.array).last();
+	}
+
+	@Benchmark
+	public void map(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).map(PLUS_ONE), blackhole);
+	}
+
+	@Benchmark
+	public void prepend(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).prepend(input.other), blackhole);
+	}
+
+	@Benchmark
+	public void reverse(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.array).reverse(), blackhole);
+	}
+
+	@Benchmark
+	public void select(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).select(IS_EVEN), blackhole);
+	}
+
+	@Benchmark
+	public void skip(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).skip(input.size / 2), blackhole);
+	}
+
+	@Benchmark
+	public void skipWhile(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).skipWhile(IS_NOT_NEGATIVE), blackhole);
+	}
+
+	@Benchmark
+	public void take(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).take(input.size / 2), blackhole);
+	}
+
+	@Benchmark
+	public void takeWhile(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).takeWhile(IS_NOT_NEGATIVE), blackhole);
+	}
+
+	@Benchmark
+	public void union(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).union(input.other), blackhole);
+	}
+
+	@Benchmark
+	public void zip(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).zip(input.other), blackhole);
+	}
+
+	@Benchmark
+	public void zipAll(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).zipAll(input.other), blackhole);
+	}
+}
@@ -0,0 +1,106 @@
+package ninja.sequence.benchmark;
+
+import static ninja.sequence.benchmark.Delegates.drain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ninja.sequence.Sequence;
+import ninja.sequence.SortedSequence;
+import ninja.sequence.delegate.Func;
+
+/**
+ * Sorts records by 1 to 4 expensive keys, a lower-cased field each. {@code naive} is a
+ * reference of the previous implementation, which extracted both keys on every comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SortKeyBenchmark {
+	@Param({"1000", "100000"})
+	public int size;
+
+	@Param({"1", "2", "3", "4"})
+	public int levels;
+
+	private List<String> records;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+
+		this.records = new ArrayList<String>(this.size);
+		for (int i = 0; i < this.size; i++) {
+			// few distinct values per field, so the later levels have ties to break
+			this.records.add("Field" + random.nextInt(16) + "|Field" + random.nextInt(16) + "|Field" + random.nextInt(16) + "|Field" + random.nextInt(16));
+		}
+	}
+
+	@Benchmark
+	public void sortBy(Blackhole blackhole) {
+		SortedSequence<String, String> sorted = Sequence.of(this.records).sortBy(field(0));
+
+		for (int level = 1; level < this.levels; level++) {
+			sorted = sorted.thenBy(field(level));
+		}
+
+		drain(sorted, blackhole);
+	}
+
+	@Benchmark
+	public void naive(Blackhole blackhole) {
+		final List<Func<String, String>> keySelectors = new ArrayList<Func<String, String>>();
+		for (int level = 0; level < this.levels; level++) {
+			keySelectors.add(field(level));
+		}
+
+		final List<Integer> indexes = new ArrayList<Integer>(this.size);
+		for (int i = 0; i < this.size; i++) {
+			indexes.add(i);
+		}
+
+		Collections.sort(indexes,
+			new Comparator<Integer>() {
+				@Override
+				public int compare(Integer a, Integer b) {
+					for (Func<String, String> keySelector : keySelectors) {
+						int result = keySelector.invoke(records.get(a)).compareTo(keySelector.invoke(records.get(b)));
+
+						if (result != 0) {
+							return result;
+						}
+					}
+
+					return a.compareTo(b);
+				}
+			}
+		);
+
+		for (Integer index : indexes) {
+			blackhole.consume(this.records.get(index));
+		}
+	}
+
+	private static Func<String, String> field(final int index) {
+		return new Func<String, String>() {
+			@Override
+			public String invoke(String arg) {
+				return arg.split("\\|")[index].toLowerCase();
+			}
+		};
+	}
+}
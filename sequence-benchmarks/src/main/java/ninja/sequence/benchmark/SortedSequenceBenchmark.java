@@ -0,0 +1,53 @@
+package ninja.sequence.benchmark;
+
+import static ninja.sequence.benchmark.Delegates.BUCKET;
+import static ninja.sequence.benchmark.Delegates.NEGATE;
+import static ninja.sequence.benchmark.Delegates.drain;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ninja.sequence.Sequence;
+import ninja.sequence.util.Funcs;
+
+/**
+ * Benchmarks of {@link ninja.sequence.SortedSequence}, the sorted sequences are drained completely.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SortedSequenceBenchmark {
+	@Benchmark
+	public void sortBy(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).sortBy(Funcs.<Integer>self()), blackhole);
+	}
+
+	@Benchmark
+	public void sortByDescending(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).sortByDescending(Funcs.<Integer>self()), blackhole);
+	}
+
+	@Benchmark
+	public void sortByTake(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).sortBy(Funcs.<Integer>self()).take(50), blackhole);
+	}
+
+	@Benchmark
+	public Object sortByFirst(Input input) {
+		return Sequence.of(input.list).sortByDescending(Funcs.<Integer>self()).first();
+	}
+
+	@Benchmark
+	public void thenBy(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).sortBy(BUCKET).thenBy(NEGATE), blackhole);
+	}
+
+	@Benchmark
+	public void thenByDescending(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list).sortBy(BUCKET).thenByDescending(NEGATE), blackhole);
+	}
+}
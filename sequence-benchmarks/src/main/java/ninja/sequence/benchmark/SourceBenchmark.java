@@ -0,0 +1,50 @@
+package ninja.sequence.benchmark;
+
+import static ninja.sequence.benchmark.Delegates.drain;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ninja.sequence.Sequence;
+
+/**
+ * Iterates sequences created by the different {@code Sequence} factories.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SourceBenchmark {
+	@Benchmark
+	public void ofList(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.list), blackhole);
+	}
+
+	@Benchmark
+	public void ofArray(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.array), blackhole);
+	}
+
+	@Benchmark
+	public void ofIntArray(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.ints), blackhole);
+	}
+
+	@Benchmark
+	public void ofLongArray(Input input, Blackhole blackhole) {
+		drain(Sequence.of(input.longs), blackhole);
+	}
+
+	@Benchmark
+	public void range(Input input, Blackhole blackhole) {
+		drain(Sequence.range(0, input.size), blackhole);
+	}
+
+	@Benchmark
+	public void repeat(Input input, Blackhole blackhole) {
+		drain(Sequence.repeat(input.array[0], input.size), blackhole);
+	}
+}
@@ -0,0 +1,330 @@
+package ninja.sequence;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import ninja.sequence.delegate.DoubleAccumulator;
+import ninja.sequence.delegate.DoubleFunc;
+import ninja.sequence.delegate.DoublePredicate;
+import ninja.sequence.internal.BoxedDoubleIterator;
+import ninja.sequence.internal.DoubleArrayIterable;
+import ninja.sequence.internal.DoubleMapIterator;
+import ninja.sequence.internal.DoubleSelectIterator;
+import ninja.sequence.monad.Option;
+import ninja.sequence.primitive.DoubleIterable;
+import ninja.sequence.primitive.DoubleIterator;
+
+/**
+ * A sequence of primitive doubles. Elements are only boxed when this sequence is
+ * used as an {@code Iterable<Double>} or turned into a {@link Sequence} with
+ * {@link #boxed()}.
+ */
+public class DoubleSequence implements Iterable<Double>, DoubleIterable {
+	private final DoubleIterable source;
+
+	protected DoubleSequence(DoubleIterable source) {
+		this.source = source;
+	}
+
+	/**
+	 * Creates a new DoubleSequence out of an array of primitive doubles in the same order.
+	 *
+	 * @param values the elements of the new sequence
+	 * @return the new sequence
+	 * @throws IllegalArgumentException if {@code values} is {@code null}
+	 */
+	public static DoubleSequence of(double... values) {
+		if (values == null) {
+			throw new IllegalArgumentException("values must not be null.");
+		}
+
+		return new DoubleSequence(new DoubleArrayIterable(values));
+	}
+
+	/**
+	 * Aggregates the elements of this sequence by calling the {@code accumulator} for each element.
+	 * The first element is taken as the seed.
+	 *
+	 * A.k.a. reduce left
+	 *
+	 * @param accumulator the accumulator to aggregate the elements
+	 * @return the aggregated result or an option of none if this sequence is empty
+	 * @throws IllegalArgumentException if the specified {@code accumulator} function is {@code null}
+	 */
+	public final Option<Double> aggregate(DoubleAccumulator accumulator) {
+		if (accumulator == null) {
+			throw new IllegalArgumentException("accumulator must not be null.");
+		}
+
+		DoubleIterator iterator = this.source.doubleIterator();
+
+		if (!iterator.hasNext()) {
+			return Option.none();
+		}
+
+		return Option.some(aggregate(iterator, iterator.nextDouble(), accumulator));
+	}
+
+	/**
+	 * Aggregates the elements of this sequence by calling the {@code accumulator} for each element.
+	 * The specified {@code seed} is the value used as the initial value for the accumulator.
+	 *
+	 * A.k.a. fold left
+	 *
+	 * @param seed the value used as the initial value
+	 * @param accumulator the accumulator to aggregate the elements
+	 * @return the aggregated result or the {@code seed} if this sequence is empty
+	 * @throws IllegalArgumentException if the specified {@code accumulator} function is {@code null}
+	 */
+	public final double aggregate(double seed, DoubleAccumulator accumulator) {
+		if (accumulator == null) {
+			throw new IllegalArgumentException("accumulator must not be null.");
+		}
+
+		return aggregate(this.source.doubleIterator(), seed, accumulator);
+	}
+
+	private static double aggregate(DoubleIterator iterator, double seed, DoubleAccumulator accumulator) {
+		double result = seed;
+
+		while (iterator.hasNext()) {
+			result = accumulator.accumulate(result, iterator.nextDouble());
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns an array containing all the elements of this sequence in proper order.
+	 *
+	 * The result is immediatly evaluated.
+	 *
+	 * @return an array containing the elements of this sequence
+	 */
+	public final double[] asArray() {
+		return toArray(this.source.doubleIterator());
+	}
+
+	/**
+	 * Returns a {@link Sequence} of the boxed elements of this sequence.
+	 *
+	 * @return the boxed sequence
+	 */
+	public final Sequence<Double> boxed() {
+		return new Sequence<Double>(this);
+	}
+
+	/**
+	 * Returns the number of elements in this sequence.
+	 *
+	 * The result is immediatly evaluated.
+	 *
+	 * @return the number of elements in this sequence
+	 */
+	public final long count() {
+		DoubleIterator iterator = this.source.doubleIterator();
+
+		long count = 0;
+		while (iterator.hasNext()) {
+			iterator.nextDouble();
+			count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns an unordered sequence of distinct elements.
+	 *
+	 * @return an unordered sequence of distinct elements
+	 */
+	public final DoubleSequence distinct() {
+		return new DoubleSequence(
+			new DoubleIterable() {
+				@Override
+				public DoubleIterator doubleIterator() {
+					final Set<Double> set = new HashSet<Double>();
+
+					return new DoubleSelectIterator(source.doubleIterator(),
+						new DoublePredicate() {
+							@Override
+							public boolean invoke(double element) {
+								return set.add(element);
+							}
+						}
+					);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Projects each element of this sequence into a new double.
+	 *
+	 * @param resultSelector A function to produce the resulting element
+	 * @return the projected sequence
+	 * @throws IllegalArgumentException if the specified resultSelector is null
+	 */
+	public final DoubleSequence map(final DoubleFunc resultSelector) {
+		if (resultSelector == null) {
+			throw new IllegalArgumentException("resultSelector must not be null.");
+		}
+
+		return new DoubleSequence(
+			new DoubleIterable() {
+				@Override
+				public DoubleIterator doubleIterator() {
+					return new DoubleMapIterator(source.doubleIterator(), resultSelector);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Returns the largest element of this sequence.
+	 *
+	 * The result is immediatly evaluated.
+	 *
+	 * @return the largest element or an option of none if this sequence is empty
+	 */
+	public final Option<Double> max() {
+		return aggregate(
+			new DoubleAccumulator() {
+				@Override
+				public double accumulate(double a, double b) {
+					return Math.max(a, b);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Returns the smallest element of this sequence.
+	 *
+	 * The result is immediatly evaluated.
+	 *
+	 * @return the smallest element or an option of none if this sequence is empty
+	 */
+	public final Option<Double> min() {
+		return aggregate(
+			new DoubleAccumulator() {
+				@Override
+				public double accumulate(double a, double b) {
+					return Math.min(a, b);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Filters a sequence of values based on a predicate.
+	 *
+	 * A.k.a filter, where
+	 *
+	 * @param predicate A function to test each element for a condition.
+	 * @return a sequence that contains the elements that satisfy the condition
+	 * @throws IllegalArgumentException if the specified predicate is null
+	 */
+	public final DoubleSequence select(final DoublePredicate predicate) {
+		if (predicate == null) {
+			throw new IllegalArgumentException("predicate must not be null.");
+		}
+
+		return new DoubleSequence(
+			new DoubleIterable() {
+				@Override
+				public DoubleIterator doubleIterator() {
+					return new DoubleSelectIterator(source.doubleIterator(), predicate);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Sorts the elements of this sequence in ascending order. The elements are
+	 * sorted each time the returned sequence is iterated.
+	 *
+	 * @return the sorted sequence
+	 */
+	public final DoubleSequence sort() {
+		return sort(false);
+	}
+
+	/**
+	 * Sorts the elements of this sequence in descending order. The elements are
+	 * sorted each time the returned sequence is iterated.
+	 *
+	 * @return the sorted sequence
+	 */
+	public final DoubleSequence sortDescending() {
+		return sort(true);
+	}
+
+	private DoubleSequence sort(final boolean descending) {
+		return new DoubleSequence(
+			new DoubleIterable() {
+				@Override
+				public DoubleIterator doubleIterator() {
+					double[] array = toArray(source.doubleIterator());
+
+					Arrays.sort(array);
+
+					if (descending) {
+						for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+							double swap = array[i];
+							array[i] = array[j];
+							array[j] = swap;
+						}
+					}
+
+					return new DoubleArrayIterable(array).doubleIterator();
+				}
+			}
+		);
+	}
+
+	/**
+	 * Computes the sum of the elements of this sequence.
+	 *
+	 * The result is immediatly evaluated.
+	 *
+	 * @return the sum of the elements or 0 if this sequence is empty
+	 */
+	public final double sum() {
+		DoubleIterator iterator = this.source.doubleIterator();
+
+		double sum = 0;
+		while (iterator.hasNext()) {
+			sum += iterator.nextDouble();
+		}
+
+		return sum;
+	}
+
+	@Override
+	public DoubleIterator doubleIterator() {
+		return this.source.doubleIterator();
+	}
+
+	@Override
+	public Iterator<Double> iterator() {
+		return new BoxedDoubleIterator(this.source.doubleIterator());
+	}
+
+	private static double[] toArray(DoubleIterator iterator) {
+		double[] array = new double[16];
+
+		int size = 0;
+		while (iterator.hasNext()) {
+			if (size == array.length) {
+				array = Arrays.copyOf(array, size * 2);
+			}
+
+			array[size++] = iterator.nextDouble();
+		}
+
+		return Arrays.copyOf(array, size);
+	}
+}
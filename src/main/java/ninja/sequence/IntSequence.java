@@ -0,0 +1,331 @@
+package ninja.sequence;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import ninja.sequence.delegate.IntAccumulator;
+import ninja.sequence.delegate.IntFunc;
+import ninja.sequence.delegate.IntPredicate;
+import ninja.sequence.internal.BoxedIntIterator;
+import ninja.sequence.internal.IntArrayIterable;
+import ninja.sequence.internal.IntMapIterator;
+import ninja.sequence.internal.IntSelectIterator;
+import ninja.sequence.internal.util.IntHashSet;
+import ninja.sequence.monad.Option;
+import ninja.sequence.primitive.IntIterable;
+import ninja.sequence.primitive.IntIterator;
+
+/**
+ * A sequence of primitive ints. Elements are only boxed when this sequence is
+ * used as an {@code Iterable<Integer>} or turned into a {@link Sequence} with
+ * {@link #boxed()}.
+ */
+public class IntSequence implements Iterable<Integer>, IntIterable {
+	private final IntIterable source;
+
+	protected IntSequence(IntIterable source) {
+		this.source = source;
+	}
+
+	/**
+	 * Creates a new IntSequence out of an array of primitive ints in the same order.
+	 *
+	 * @param values the elements of the new sequence
+	 * @return the new sequence
+	 * @throws IllegalArgumentException if {@code values} is {@code null}
+	 */
+	public static IntSequence of(int... values) {
+		if (values == null) {
+			throw new IllegalArgumentException("values must not be null.");
+		}
+
+		return new IntSequence(new IntArrayIterable(values));
+	}
+
+	/**
+	 * Aggregates the elements of this sequence by calling the {@code accumulator} for each element.
+	 * The first element is taken as the seed.
+	 *
+	 * A.k.a. reduce left
+	 *
+	 * @param accumulator the accumulator to aggregate the elements
+	 * @return the aggregated result or an option of none if this sequence is empty
+	 * @throws IllegalArgumentException if the specified {@code accumulator} function is {@code null}
+	 */
+	public final Option<Integer> aggregate(IntAccumulator accumulator) {
+		if (accumulator == null) {
+			throw new IllegalArgumentException("accumulator must not be null.");
+		}
+
+		IntIterator iterator = this.source.intIterator();
+
+		if (!iterator.hasNext()) {
+			return Option.none();
+		}
+
+		return Option.some(aggregate(iterator, iterator.nextInt(), accumulator));
+	}
+
+	/**
+	 * Aggregates the elements of this sequence by calling the {@code accumulator} for each element.
+	 * The specified {@code seed} is the value used as the initial value for the accumulator.
+	 *
+	 * A.k.a. fold left
+	 *
+	 * @param seed the value used as the initial value
+	 * @param accumulator the accumulator to aggregate the elements
+	 * @return the aggregated result or the {@code seed} if this sequence is empty
+	 * @throws IllegalArgumentException if the specified {@code accumulator} function is {@code null}
+	 */
+	public final int aggregate(int seed, IntAccumulator accumulator) {
+		if (accumulator == null) {
+			throw new IllegalArgumentException("accumulator must not be null.");
+		}
+
+		return aggregate(this.source.intIterator(), seed, accumulator);
+	}
+
+	private static int aggregate(IntIterator iterator, int seed, IntAccumulator accumulator) {
+		int result = seed;
+
+		while (iterator.hasNext()) {
+			result = accumulator.accumulate(result, iterator.nextInt());
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns an array containing all the elements of this sequence in proper order.
+	 *
+	 * The result is immediatly evaluated.
+	 *
+	 * @return an array containing the elements of this sequence
+	 */
+	public final int[] asArray() {
+		return toArray(this.source.intIterator());
+	}
+
+	/**
+	 * Returns a {@link Sequence} of the boxed elements of this sequence.
+	 *
+	 * @return the boxed sequence
+	 */
+	public final Sequence<Integer> boxed() {
+		return new Sequence<Integer>(this);
+	}
+
+	/**
+	 * Returns the number of elements in this sequence.
+	 *
+	 * The result is immediatly evaluated.
+	 *
+	 * @return the number of elements in this sequence
+	 */
+	public final long count() {
+		IntIterator iterator = this.source.intIterator();
+
+		long count = 0;
+		while (iterator.hasNext()) {
+			iterator.nextInt();
+			count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns a sequence of distinct elements, in order of their first appearance. The
+	 * elements are tracked in an open-addressing hash set of primitive ints.
+	 *
+	 * @return a sequence of distinct elements
+	 */
+	public final IntSequence distinct() {
+		return new IntSequence(
+			new IntIterable() {
+				@Override
+				public IntIterator intIterator() {
+					final IntHashSet set = new IntHashSet();
+
+					return new IntSelectIterator(source.intIterator(),
+						new IntPredicate() {
+							@Override
+							public boolean invoke(int element) {
+								return set.add(element);
+							}
+						}
+					);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Projects each element of this sequence into a new int.
+	 *
+	 * @param resultSelector A function to produce the resulting element
+	 * @return the projected sequence
+	 * @throws IllegalArgumentException if the specified resultSelector is null
+	 */
+	public final IntSequence map(final IntFunc resultSelector) {
+		if (resultSelector == null) {
+			throw new IllegalArgumentException("resultSelector must not be null.");
+		}
+
+		return new IntSequence(
+			new IntIterable() {
+				@Override
+				public IntIterator intIterator() {
+					return new IntMapIterator(source.intIterator(), resultSelector);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Returns the largest element of this sequence.
+	 *
+	 * The result is immediatly evaluated.
+	 *
+	 * @return the largest element or an option of none if this sequence is empty
+	 */
+	public final Option<Integer> max() {
+		return aggregate(
+			new IntAccumulator() {
+				@Override
+				public int accumulate(int a, int b) {
+					return Math.max(a, b);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Returns the smallest element of this sequence.
+	 *
+	 * The result is immediatly evaluated.
+	 *
+	 * @return the smallest element or an option of none if this sequence is empty
+	 */
+	public final Option<Integer> min() {
+		return aggregate(
+			new IntAccumulator() {
+				@Override
+				public int accumulate(int a, int b) {
+					return Math.min(a, b);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Filters a sequence of values based on a predicate.
+	 *
+	 * A.k.a filter, where
+	 *
+	 * @param predicate A function to test each element for a condition.
+	 * @return a sequence that contains the elements that satisfy the condition
+	 * @throws IllegalArgumentException if the specified predicate is null
+	 */
+	public final IntSequence select(final IntPredicate predicate) {
+		if (predicate == null) {
+			throw new IllegalArgumentException("predicate must not be null.");
+		}
+
+		return new IntSequence(
+			new IntIterable() {
+				@Override
+				public IntIterator intIterator() {
+					return new IntSelectIterator(source.intIterator(), predicate);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Sorts the elements of this sequence in ascending order. The elements are
+	 * sorted each time the returned sequence is iterated.
+	 *
+	 * @return the sorted sequence
+	 */
+	public final IntSequence sort() {
+		return sort(false);
+	}
+
+	/**
+	 * Sorts the elements of this sequence in descending order. The elements are
+	 * sorted each time the returned sequence is iterated.
+	 *
+	 * @return the sorted sequence
+	 */
+	public final IntSequence sortDescending() {
+		return sort(true);
+	}
+
+	private IntSequence sort(final boolean descending) {
+		return new IntSequence(
+			new IntIterable() {
+				@Override
+				public IntIterator intIterator() {
+					int[] array = toArray(source.intIterator());
+
+					Arrays.sort(array);
+
+					if (descending) {
+						for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+							int swap = array[i];
+							array[i] = array[j];
+							array[j] = swap;
+						}
+					}
+
+					return new IntArrayIterable(array).intIterator();
+				}
+			}
+		);
+	}
+
+	/**
+	 * Computes the sum of the elements of this sequence. The sum is computed as a
+	 * {@code long}, so it does not overflow for sequences of less than 2^32 elements.
+	 *
+	 * The result is immediatly evaluated.
+	 *
+	 * @return the sum of the elements or 0 if this sequence is empty
+	 */
+	public final long sum() {
+		IntIterator iterator = this.source.intIterator();
+
+		long sum = 0;
+		while (iterator.hasNext()) {
+			sum += iterator.nextInt();
+		}
+
+		return sum;
+	}
+
+	@Override
+	public IntIterator intIterator() {
+		return this.source.intIterator();
+	}
+
+	@Override
+	public Iterator<Integer> iterator() {
+		return new BoxedIntIterator(this.source.intIterator());
+	}
+
+	private static int[] toArray(IntIterator iterator) {
+		int[] array = new int[16];
+
+		int size = 0;
+		while (iterator.hasNext()) {
+			if (size == array.length) {
+				array = Arrays.copyOf(array, size * 2);
+			}
+
+			array[size++] = iterator.nextInt();
+		}
+
+		return Arrays.copyOf(array, size);
+	}
+}
@@ -0,0 +1,579 @@
+package ninja.sequence;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import ninja.sequence.delegate.LongAccumulator;
+import ninja.sequence.delegate.LongFunc;
+import ninja.sequence.delegate.LongPredicate;
+import ninja.sequence.internal.BoxedLongIterator;
+import ninja.sequence.internal.LongArrayIterable;
+import ninja.sequence.internal.LongMapIterator;
+import ninja.sequence.internal.LongRangeIterable;
+import ninja.sequence.internal.LongSelectIterator;
+import ninja.sequence.internal.util.LongHashSet;
+import ninja.sequence.monad.Option;
+import ninja.sequence.primitive.LongIterable;
+import ninja.sequence.primitive.LongIterator;
+
+/**
+ * A sequence of primitive longs. Elements are only boxed when this sequence is
+ * used as an {@code Iterable<Long>} or turned into a {@link Sequence} with
+ * {@link #boxed()}.
+ */
+public class LongSequence implements Iterable<Long>, LongIterable {
+	private final LongIterable source;
+
+	protected LongSequence(LongIterable source) {
+		this.source = source;
+	}
+
+	/**
+	 * Creates a new LongSequence out of an array of primitive longs in the same order.
+	 *
+	 * @param values the elements of the new sequence
+	 * @return the new sequence
+	 * @throws IllegalArgumentException if {@code values} is {@code null}
+	 */
+	public static LongSequence of(long... values) {
+		if (values == null) {
+			throw new IllegalArgumentException("values must not be null.");
+		}
+
+		return new LongSequence(new LongArrayIterable(values));
+	}
+
+	/**
+	 * Creates a new LongSequence of the numbers from {@code from} inclusive to {@code to}
+	 * exclusive, in steps of 1.
+	 *
+	 * @param from the first number of the range
+	 * @param to the end of the range, exclusive
+	 * @return the new sequence, empty if {@code to} is not greater than {@code from}
+	 * @throws IllegalArgumentException if the range has more than {@code Long.MAX_VALUE} numbers
+	 */
+	public static LongSequence range(long from, long to) {
+		return range(from, to, 1);
+	}
+
+	/**
+	 * Creates a new LongSequence of the numbers from {@code from} inclusive to {@code to}
+	 * exclusive, each one {@code step} apart. A negative step counts down from {@code from}.
+	 *
+	 * The numbers are computed from their index and never boxed unless the sequence is used
+	 * as an {@code Iterable<Long>}. Counting, summing, reversing, indexing and searching the
+	 * range take constant time, and its {@link #boxed()} sequence can be split for parallel
+	 * execution.
+	 *
+	 * @param from the first number of the range
+	 * @param to the end of the range, exclusive
+	 * @param step the difference between two adjacent numbers
+	 * @return the new sequence, empty if {@code to} cannot be reached from {@code from} in the direction of {@code step}
+	 * @throws IllegalArgumentException if {@code step} is 0 or the range has more than {@code Long.MAX_VALUE} numbers
+	 */
+	public static LongSequence range(long from, long to, long step) {
+		if (step == 0) {
+			throw new IllegalArgumentException("step must not be 0.");
+		}
+
+		BigInteger distance = BigInteger.valueOf(to).subtract(BigInteger.valueOf(from));
+
+		if (distance.signum() != Long.signum(step)) {
+			return new LongSequence(new LongRangeIterable(from, step, 0));
+		}
+
+		// rounds the number of steps up, the end is exclusive
+		BigInteger rounding = BigInteger.valueOf(step - Long.signum(step));
+
+		return new LongSequence(new LongRangeIterable(from, step, count(distance.add(rounding), step)));
+	}
+
+	/**
+	 * Creates a new LongSequence of the numbers from {@code from} to {@code to} inclusive,
+	 * in steps of 1.
+	 *
+	 * @param from the first number of the range
+	 * @param to the last number of the range
+	 * @return the new sequence, empty if {@code to} is less than {@code from}
+	 * @throws IllegalArgumentException if the range has more than {@code Long.MAX_VALUE} numbers
+	 */
+	public static LongSequence rangeClosed(long from, long to) {
+		return rangeClosed(from, to, 1);
+	}
+
+	/**
+	 * Creates a new LongSequence of the numbers from {@code from} to {@code to} inclusive,
+	 * each one {@code step} apart, like {@link #range(long, long, long)}. The last number is
+	 * {@code to} only if it can be reached in whole steps.
+	 *
+	 * @param from the first number of the range
+	 * @param to the end of the range, inclusive
+	 * @param step the difference between two adjacent numbers
+	 * @return the new sequence, empty if {@code to} cannot be reached from {@code from} in the direction of {@code step}
+	 * @throws IllegalArgumentException if {@code step} is 0 or the range has more than {@code Long.MAX_VALUE} numbers
+	 */
+	public static LongSequence rangeClosed(long from, long to, long step) {
+		if (step == 0) {
+			throw new IllegalArgumentException("step must not be 0.");
+		}
+
+		BigInteger distance = BigInteger.valueOf(to).subtract(BigInteger.valueOf(from));
+
+		if (distance.signum() != 0 && distance.signum() != Long.signum(step)) {
+			return new LongSequence(new LongRangeIterable(from, step, 0));
+		}
+
+		// the first number is always part of the range, the end only if it is reached in whole steps
+		BigInteger rounding = BigInteger.valueOf(step);
+
+		return new LongSequence(new LongRangeIterable(from, step, count(distance.add(rounding), step)));
+	}
+
+	private static long count(BigInteger distance, long step) {
+		BigInteger count = distance.divide(BigInteger.valueOf(step));
+
+		if (count.bitLength() > 63) {
+			throw new IllegalArgumentException("The total numbers to process exceeds the maximum possible value.");
+		}
+
+		return count.longValue();
+	}
+
+	/**
+	 * Aggregates the elements of this sequence by calling the {@code accumulator} for each element.
+	 * The first element is taken as the seed.
+	 *
+	 * A.k.a. reduce left
+	 *
+	 * @param accumulator the accumulator to aggregate the elements
+	 * @return the aggregated result or an option of none if this sequence is empty
+	 * @throws IllegalArgumentException if the specified {@code accumulator} function is {@code null}
+	 */
+	public final Option<Long> aggregate(LongAccumulator accumulator) {
+		if (accumulator == null) {
+			throw new IllegalArgumentException("accumulator must not be null.");
+		}
+
+		LongIterator iterator = this.source.longIterator();
+
+		if (!iterator.hasNext()) {
+			return Option.none();
+		}
+
+		return Option.some(aggregate(iterator, iterator.nextLong(), accumulator));
+	}
+
+	/**
+	 * Aggregates the elements of this sequence by calling the {@code accumulator} for each element.
+	 * The specified {@code seed} is the value used as the initial value for the accumulator.
+	 *
+	 * A.k.a. fold left
+	 *
+	 * @param seed the value used as the initial value
+	 * @param accumulator the accumulator to aggregate the elements
+	 * @return the aggregated result or the {@code seed} if this sequence is empty
+	 * @throws IllegalArgumentException if the specified {@code accumulator} function is {@code null}
+	 */
+	public final long aggregate(long seed, LongAccumulator accumulator) {
+		if (accumulator == null) {
+			throw new IllegalArgumentException("accumulator must not be null.");
+		}
+
+		return aggregate(this.source.longIterator(), seed, accumulator);
+	}
+
+	private static long aggregate(LongIterator iterator, long seed, LongAccumulator accumulator) {
+		long result = seed;
+
+		while (iterator.hasNext()) {
+			result = accumulator.accumulate(result, iterator.nextLong());
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns an array containing all the elements of this sequence in proper order.
+	 *
+	 * The result is immediatly evaluated.
+	 *
+	 * @return an array containing the elements of this sequence
+	 */
+	public final long[] asArray() {
+		return toArray(this.source.longIterator());
+	}
+
+	/**
+	 * Returns a {@link Sequence} of the boxed elements of this sequence.
+	 *
+	 * @return the boxed sequence
+	 */
+	public final Sequence<Long> boxed() {
+		// a range keeps its indexed access, so the boxed sequence can be split
+		if (this.source instanceof LongRangeIterable) {
+			return new Sequence<Long>((LongRangeIterable)this.source);
+		}
+
+		return new Sequence<Long>(this);
+	}
+
+	/**
+	 * Determines whether this sequence contains the specified {@code value}.
+	 *
+	 * The result is immediatly evaluated, a range answers it in constant time.
+	 *
+	 * @param value the value to locate
+	 * @return {@code true} if an element of this sequence equals the value, {@code false} otherwise
+	 */
+	public final boolean contains(long value) {
+		if (this.source instanceof LongRangeIterable) {
+			LongRangeIterable range = (LongRangeIterable)this.source;
+
+			if (range.size() == 0) {
+				return false;
+			}
+
+			BigInteger[] steps = BigInteger.valueOf(value).subtract(BigInteger.valueOf(range.from()))
+				.divideAndRemainder(BigInteger.valueOf(range.step()));
+
+			return steps[1].signum() == 0 && steps[0].signum() >= 0 && steps[0].compareTo(BigInteger.valueOf(range.size())) < 0;
+		}
+
+		LongIterator iterator = this.source.longIterator();
+
+		while (iterator.hasNext()) {
+			if (iterator.nextLong() == value) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns the number of elements in this sequence.
+	 *
+	 * The result is immediatly evaluated, a range answers it in constant time.
+	 *
+	 * @return the number of elements in this sequence
+	 */
+	public final long count() {
+		if (this.source instanceof LongRangeIterable) {
+			return ((LongRangeIterable)this.source).size();
+		}
+
+		LongIterator iterator = this.source.longIterator();
+
+		long count = 0;
+		while (iterator.hasNext()) {
+			iterator.nextLong();
+			count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns a sequence of distinct elements, in order of their first appearance. The
+	 * elements are tracked in an open-addressing hash set of primitive longs.
+	 *
+	 * @return a sequence of distinct elements
+	 */
+	public final LongSequence distinct() {
+		return new LongSequence(
+			new LongIterable() {
+				@Override
+				public LongIterator longIterator() {
+					final LongHashSet set = new LongHashSet();
+
+					return new LongSelectIterator(source.longIterator(),
+						new LongPredicate() {
+							@Override
+							public boolean invoke(long element) {
+								return set.add(element);
+							}
+						}
+					);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Returns the element at the specified {@code index} of this sequence.
+	 *
+	 * The result is immediatly evaluated, a range answers it in constant time.
+	 *
+	 * @param index the zero based index of the element
+	 * @return the element at the index or an option of none if this sequence does not have that many elements
+	 * @throws IllegalArgumentException if {@code index} is negative
+	 */
+	public final Option<Long> elementAt(long index) {
+		if (index < 0) {
+			throw new IllegalArgumentException("index must be greater or equal 0.");
+		}
+
+		if (this.source instanceof LongRangeIterable) {
+			LongRangeIterable range = (LongRangeIterable)this.source;
+
+			return index < range.size() ? Option.some(range.getLong(index)) : Option.<Long>none();
+		}
+
+		LongIterator iterator = this.source.longIterator();
+
+		for (long i = 0; iterator.hasNext(); i++) {
+			long element = iterator.nextLong();
+
+			if (i == index) {
+				return Option.some(element);
+			}
+		}
+
+		return Option.none();
+	}
+
+	/**
+	 * Returns the last element of this sequence.
+	 *
+	 * The result is immediatly evaluated, a range answers it in constant time.
+	 *
+	 * @return the last element or an option of none if this sequence is empty
+	 */
+	public final Option<Long> last() {
+		if (this.source instanceof LongRangeIterable) {
+			LongRangeIterable range = (LongRangeIterable)this.source;
+
+			return range.size() > 0 ? Option.some(range.getLong(range.size() - 1)) : Option.<Long>none();
+		}
+
+		LongIterator iterator = this.source.longIterator();
+
+		if (!iterator.hasNext()) {
+			return Option.none();
+		}
+
+		long last = iterator.nextLong();
+		while (iterator.hasNext()) {
+			last = iterator.nextLong();
+		}
+
+		return Option.some(last);
+	}
+
+	/**
+	 * Projects each element of this sequence into a new long.
+	 *
+	 * @param resultSelector A function to produce the resulting element
+	 * @return the projected sequence
+	 * @throws IllegalArgumentException if the specified resultSelector is null
+	 */
+	public final LongSequence map(final LongFunc resultSelector) {
+		if (resultSelector == null) {
+			throw new IllegalArgumentException("resultSelector must not be null.");
+		}
+
+		return new LongSequence(
+			new LongIterable() {
+				@Override
+				public LongIterator longIterator() {
+					return new LongMapIterator(source.longIterator(), resultSelector);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Returns the largest element of this sequence.
+	 *
+	 * The result is immediatly evaluated.
+	 *
+	 * @return the largest element or an option of none if this sequence is empty
+	 */
+	public final Option<Long> max() {
+		return aggregate(
+			new LongAccumulator() {
+				@Override
+				public long accumulate(long a, long b) {
+					return Math.max(a, b);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Returns the smallest element of this sequence.
+	 *
+	 * The result is immediatly evaluated.
+	 *
+	 * @return the smallest element or an option of none if this sequence is empty
+	 */
+	public final Option<Long> min() {
+		return aggregate(
+			new LongAccumulator() {
+				@Override
+				public long accumulate(long a, long b) {
+					return Math.min(a, b);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Inverts the order of the elements of this sequence. A range is reversed into the
+	 * range counting the other way, any other sequence is buffered into an array each
+	 * time the returned sequence is iterated.
+	 *
+	 * @return the reversed sequence
+	 */
+	public final LongSequence reverse() {
+		if (this.source instanceof LongRangeIterable) {
+			LongRangeIterable range = (LongRangeIterable)this.source;
+
+			if (range.size() == 0) {
+				return this;
+			}
+
+			return new LongSequence(new LongRangeIterable(range.getLong(range.size() - 1), -range.step(), range.size()));
+		}
+
+		return new LongSequence(
+			new LongIterable() {
+				@Override
+				public LongIterator longIterator() {
+					long[] array = toArray(source.longIterator());
+
+					reverse(array);
+
+					return new LongArrayIterable(array).longIterator();
+				}
+			}
+		);
+	}
+
+	/**
+	 * Filters a sequence of values based on a predicate.
+	 *
+	 * A.k.a filter, where
+	 *
+	 * @param predicate A function to test each element for a condition.
+	 * @return a sequence that contains the elements that satisfy the condition
+	 * @throws IllegalArgumentException if the specified predicate is null
+	 */
+	public final LongSequence select(final LongPredicate predicate) {
+		if (predicate == null) {
+			throw new IllegalArgumentException("predicate must not be null.");
+		}
+
+		return new LongSequence(
+			new LongIterable() {
+				@Override
+				public LongIterator longIterator() {
+					return new LongSelectIterator(source.longIterator(), predicate);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Sorts the elements of this sequence in ascending order. The elements are
+	 * sorted each time the returned sequence is iterated.
+	 *
+	 * @return the sorted sequence
+	 */
+	public final LongSequence sort() {
+		return sort(false);
+	}
+
+	/**
+	 * Sorts the elements of this sequence in descending order. The elements are
+	 * sorted each time the returned sequence is iterated.
+	 *
+	 * @return the sorted sequence
+	 */
+	public final LongSequence sortDescending() {
+		return sort(true);
+	}
+
+	private LongSequence sort(final boolean descending) {
+		return new LongSequence(
+			new LongIterable() {
+				@Override
+				public LongIterator longIterator() {
+					long[] array = toArray(source.longIterator());
+
+					Arrays.sort(array);
+
+					if (descending) {
+						reverse(array);
+					}
+
+					return new LongArrayIterable(array).longIterator();
+				}
+			}
+		);
+	}
+
+	/**
+	 * Computes the sum of the elements of this sequence. The sum silently overflows
+	 * like the {@code +} operator does.
+	 *
+	 * The result is immediatly evaluated, a range answers it in constant time.
+	 *
+	 * @return the sum of the elements or 0 if this sequence is empty
+	 */
+	public final long sum() {
+		if (this.source instanceof LongRangeIterable) {
+			LongRangeIterable range = (LongRangeIterable)this.source;
+			long count = range.size();
+
+			// count * (count - 1) / 2 steps, halving the even factor first so the sum wraps
+			// around exactly like adding the elements one by one does
+			long steps = count % 2 == 0 ? count / 2 * (count - 1) : (count - 1) / 2 * count;
+
+			return count * range.from() + steps * range.step();
+		}
+
+		LongIterator iterator = this.source.longIterator();
+
+		long sum = 0;
+		while (iterator.hasNext()) {
+			sum += iterator.nextLong();
+		}
+
+		return sum;
+	}
+
+	@Override
+	public LongIterator longIterator() {
+		return this.source.longIterator();
+	}
+
+	@Override
+	public Iterator<Long> iterator() {
+		return new BoxedLongIterator(this.source.longIterator());
+	}
+
+	private static void reverse(long[] array) {
+		for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+			long swap = array[i];
+			array[i] = array[j];
+			array[j] = swap;
+		}
+	}
+
+	private static long[] toArray(LongIterator iterator) {
+		long[] array = new long[16];
+
+		int size = 0;
+		while (iterator.hasNext()) {
+			if (size == array.length) {
+				array = Arrays.copyOf(array, size * 2);
+			}
+
+			array[size++] = iterator.nextLong();
+		}
+
+		return Arrays.copyOf(array, size);
+	}
+}
@@ -1,5 +1,9 @@
 package ninja.sequence;
 
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -7,8 +11,8 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 import java.util.NavigableSet;
 
@@ -17,9 +21,14 @@ import ninja.sequence.delegate.Accumulator;
 import ninja.sequence.delegate.EqualityComparator;
 import ninja.sequence.delegate.Func;
 import ninja.sequence.delegate.Func2;
+import ninja.sequence.delegate.HashingEqualityComparator;
+import ninja.sequence.delegate.IntPredicate;
+import ninja.sequence.delegate.LongPredicate;
 import ninja.sequence.delegate.Predicate;
+import ninja.sequence.delegate.ToDoubleFunc;
+import ninja.sequence.delegate.ToIntFunc;
+import ninja.sequence.delegate.ToLongFunc;
 import ninja.sequence.internal.ArrayIterable;
-import ninja.sequence.internal.ArrayIterator;
 import ninja.sequence.internal.BindIterator;
 import ninja.sequence.internal.BooleanArrayIterable;
 import ninja.sequence.internal.ByteArrayIterable;
@@ -28,26 +37,60 @@ import ninja.sequence.internal.ConcatIterator;
 import ninja.sequence.internal.DifferenceIterable;
 import ninja.sequence.internal.DistinctIterator;
 import ninja.sequence.internal.DoubleArrayIterable;
+import ninja.sequence.internal.DoubleGroupAggregateIterable;
 import ninja.sequence.internal.FloatArrayIterable;
+import ninja.sequence.internal.GroupAdjacentIterator;
+import ninja.sequence.internal.GroupAggregateIterable;
+import ninja.sequence.internal.HashJoinIterable;
 import ninja.sequence.internal.IntArrayIterable;
+import ninja.sequence.internal.IntSelectIterator;
 import ninja.sequence.internal.InvertedListIterator;
-import ninja.sequence.internal.JoinIterator;
+import ninja.sequence.internal.JoinTable;
+import ninja.sequence.internal.LimitableIterable;
+import ninja.sequence.internal.LineIterable;
+import ninja.sequence.internal.LineViewIterable;
 import ninja.sequence.internal.LongArrayIterable;
+import ninja.sequence.internal.LongGroupAggregateIterable;
+import ninja.sequence.internal.LongSelectIterator;
 import ninja.sequence.internal.MapIterator;
+import ninja.sequence.internal.MapToDoubleIterator;
+import ninja.sequence.internal.MapToIntIterator;
+import ninja.sequence.internal.MapToLongIterator;
+import ninja.sequence.internal.MemoizeIterable;
+import ninja.sequence.internal.MergeJoinIterator;
+import ninja.sequence.internal.PipelineIterable;
+import ninja.sequence.internal.RandomAccessIterable;
 import ninja.sequence.internal.RangeIterable;
+import ninja.sequence.internal.RecordIterable;
+import ninja.sequence.internal.Reduction;
 import ninja.sequence.internal.RepeatIterable;
-import ninja.sequence.internal.SelectIterator;
+import ninja.sequence.internal.ReverseIterable;
+import ninja.sequence.internal.ReverseRandomAccessIterable;
 import ninja.sequence.internal.ShortArrayIterable;
-import ninja.sequence.internal.SkipIterator;
+import ninja.sequence.internal.Sink;
+import ninja.sequence.internal.SinkFactory;
 import ninja.sequence.internal.SkipWhileIterator;
-import ninja.sequence.internal.TakeIterator;
+import ninja.sequence.internal.SpillingGroupAggregateIterable;
+import ninja.sequence.internal.SpillingGroupByIterable;
 import ninja.sequence.internal.TakeWhileIterator;
 import ninja.sequence.internal.ZipAllIterator;
 import ninja.sequence.internal.ZipIterator;
+import ninja.sequence.internal.ZipRandomAccessIterable;
 import ninja.sequence.internal.util.DefaultComparator;
 import ninja.sequence.internal.util.DefaultEqualityComparator;
+import ninja.sequence.internal.util.IntHashSet;
+import ninja.sequence.internal.util.Iterables;
 import ninja.sequence.internal.util.Key;
+import ninja.sequence.internal.util.LongHashSet;
+import ninja.sequence.io.LineView;
+import ninja.sequence.io.Serializer;
 import ninja.sequence.monad.Option;
+import ninja.sequence.primitive.DoubleIterable;
+import ninja.sequence.primitive.DoubleIterator;
+import ninja.sequence.primitive.IntIterable;
+import ninja.sequence.primitive.IntIterator;
+import ninja.sequence.primitive.LongIterable;
+import ninja.sequence.primitive.LongIterator;
 import ninja.sequence.util.Funcs;
 
 // document what operation the function is doing, eager or lazy
@@ -62,6 +105,8 @@ public class Sequence<T> implements Iterable<T> {
 		}
 	);
 
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
 	private final Iterable<T> source;
 
 	protected Sequence(Iterable<T> source) {
@@ -79,6 +124,149 @@ public class Sequence<T> implements Iterable<T> {
 		return (Sequence<T>)EMPTY;
 	}
 
+	/**
+	 * Creates a new Sequence of views of the lines of a UTF-8 encoded text file, see
+	 * {@link #lineViews(File, Charset)}.
+	 *
+	 * @param file the file to read
+	 * @return the new sequence
+	 * @throws IllegalArgumentException if {@code file} is {@code null}
+	 */
+	public static Sequence<LineView> lineViews(File file) {
+		return lineViews(file, UTF_8);
+	}
+
+	/**
+	 * Creates a new Sequence of the lines of a text file like {@link #lines(File, Charset)}, but
+	 * without a {@code String} per line. Every line is a {@link LineView} of the chars in the
+	 * buffer the file is decoded into, and the same view is reused for the next line.
+	 *
+	 * A view is only valid until {@code next()} of the iterator it came from is called again,
+	 * {@code hasNext()} keeps it valid. So it must not escape:
+	 * operators which hold on to elements, like sorting or collecting, need
+	 * {@link LineView#materialize() materialized} lines. Filtering by a prefix or a field and
+	 * materializing the matches is the intended use:
+	 *
+	 * <pre>
+	 * Sequence.lineViews(file).select(isError).map(materialize)
+	 * </pre>
+	 *
+	 * With assertions enabled, using a view which is no longer valid throws an
+	 * {@link IllegalStateException}.
+	 *
+	 * @param file the file to read
+	 * @param charset the charset of the file
+	 * @return the new sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public static Sequence<LineView> lineViews(File file, Charset charset) {
+		if (file == null) {
+			throw new IllegalArgumentException("file must not be null.");
+		}
+
+		if (charset == null) {
+			throw new IllegalArgumentException("charset must not be null.");
+		}
+
+		return new Sequence<LineView>(new LineViewIterable(file, charset));
+	}
+
+	/**
+	 * Creates a new Sequence of views of the lines of a UTF-8 encoded text file, see
+	 * {@link #lineViews(File, Charset)}.
+	 *
+	 * @param path the path of the file to read
+	 * @return the new sequence
+	 * @throws IllegalArgumentException if {@code path} is {@code null}
+	 */
+	public static Sequence<LineView> lineViews(Path path) {
+		return lineViews(path, UTF_8);
+	}
+
+	/**
+	 * Creates a new Sequence of views of the lines of a text file, see {@link #lineViews(File, Charset)}.
+	 *
+	 * @param path the path of the file to read
+	 * @param charset the charset of the file
+	 * @return the new sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 * @throws UnsupportedOperationException if {@code path} is not on the default file system
+	 */
+	public static Sequence<LineView> lineViews(Path path, Charset charset) {
+		if (path == null) {
+			throw new IllegalArgumentException("path must not be null.");
+		}
+
+		return lineViews(path.toFile(), charset);
+	}
+
+	/**
+	 * Creates a new Sequence of the lines of a UTF-8 encoded text file, see
+	 * {@link #lines(File, Charset)}.
+	 *
+	 * @param file the file to read
+	 * @return the new sequence
+	 * @throws IllegalArgumentException if {@code file} is {@code null}
+	 */
+	public static Sequence<String> lines(File file) {
+		return lines(file, UTF_8);
+	}
+
+	/**
+	 * Creates a new Sequence of the lines of a text file. A line ends at {@code \n}, {@code \r}
+	 * or {@code \r\n}, the terminator is not part of the line.
+	 *
+	 * The file is memory-mapped window by window and decoded straight from the mapped buffer,
+	 * so it is never held on the heap as a whole. It is mapped and read again each time the
+	 * sequence is iterated, and read lazily while iterating. Failing to read the file throws a
+	 * {@link ninja.sequence.io.SequenceIOException}.
+	 *
+	 * @param file the file to read
+	 * @param charset the charset of the file
+	 * @return the new sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public static Sequence<String> lines(File file, Charset charset) {
+		if (file == null) {
+			throw new IllegalArgumentException("file must not be null.");
+		}
+
+		if (charset == null) {
+			throw new IllegalArgumentException("charset must not be null.");
+		}
+
+		return new Sequence<String>(new LineIterable(file, charset));
+	}
+
+	/**
+	 * Creates a new Sequence of the lines of a UTF-8 encoded text file, see
+	 * {@link #lines(File, Charset)}.
+	 *
+	 * @param path the path of the file to read
+	 * @return the new sequence
+	 * @throws IllegalArgumentException if {@code path} is {@code null}
+	 */
+	public static Sequence<String> lines(Path path) {
+		return lines(path, UTF_8);
+	}
+
+	/**
+	 * Creates a new Sequence of the lines of a text file, see {@link #lines(File, Charset)}.
+	 *
+	 * @param path the path of the file to read
+	 * @param charset the charset of the file
+	 * @return the new sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 * @throws UnsupportedOperationException if {@code path} is not on the default file system
+	 */
+	public static Sequence<String> lines(Path path, Charset charset) {
+		if (path == null) {
+			throw new IllegalArgumentException("path must not be null.");
+		}
+
+		return lines(path.toFile(), charset);
+	}
+
 	/**
 	 * Creates a new Sequence out of an iterable with the elements in the same
 	 * order as when iterating over the iterable.
@@ -93,6 +281,11 @@ public class Sequence<T> implements Iterable<T> {
 			throw new IllegalArgumentException("iterable must not be null.");
 		}
 
+		// a sequence is not wrapped again, so its source keeps its capabilities
+		if (iterable instanceof Sequence) {
+			return (Sequence<T>)iterable;
+		}
+
 		return new Sequence<T>(iterable);
 	}
 
@@ -174,6 +367,7 @@ public class Sequence<T> implements Iterable<T> {
 
 	/**
 	 * Creates a new Sequence out of an array of primitive doubles in the same order.
+	 * Use {@link DoubleSequence#of(double...)} to process the elements without boxing.
 	 *
 	 * @param array the double array to create the new sequence from
 	 * @return the new sequence
@@ -204,6 +398,7 @@ public class Sequence<T> implements Iterable<T> {
 
 	/**
 	 * Creates a new Sequence out of an array of primitive ints in the same order.
+	 * Use {@link IntSequence#of(int...)} to process the elements without boxing.
 	 *
 	 * @param array the int array to create the new sequence from
 	 * @return the new sequence
@@ -219,6 +414,7 @@ public class Sequence<T> implements Iterable<T> {
 
 	/**
 	 * Creates a new Sequence out of an array of primitive longs in the same order.
+	 * Use {@link LongSequence#of(long...)} to process the elements without boxing.
 	 *
 	 * @param array the long array to create the new sequence from
 	 * @return the new sequence
@@ -268,6 +464,61 @@ public class Sequence<T> implements Iterable<T> {
 		return new Sequence<Integer>(new RangeIterable(count, from));
 	}
 
+	/**
+	 * Creates a new Sequence of the fixed-size binary records of a file. Every record is
+	 * handed to the {@code reader} as a {@link ByteBuffer} of its own, from position 0 to
+	 * {@code recordSize}, in big-endian byte order; the buffer is only valid during the call.
+	 *
+	 * The file is memory-mapped window by window, so it is never held on the heap as a whole.
+	 * It is mapped and read again each time the sequence is iterated, and read lazily while
+	 * iterating. Failing to read the file or a file size which is not a multiple of the
+	 * {@code recordSize} throws a {@link ninja.sequence.io.SequenceIOException}.
+	 *
+	 * @param <T> the type of the read records
+	 * @param file the file to read
+	 * @param recordSize the size of a record in bytes
+	 * @param reader a function to read a record from its buffer
+	 * @return the new sequence
+	 * @throws IllegalArgumentException if {@code file} or {@code reader} is {@code null} or
+	 *                                  {@code recordSize} is not positive
+	 */
+	public static <T> Sequence<T> records(File file, int recordSize, Func<? super ByteBuffer, ? extends T> reader) {
+		if (file == null) {
+			throw new IllegalArgumentException("file must not be null.");
+		}
+
+		if (recordSize <= 0) {
+			throw new IllegalArgumentException("recordSize must be positive.");
+		}
+
+		if (reader == null) {
+			throw new IllegalArgumentException("reader must not be null.");
+		}
+
+		return new Sequence<T>(new RecordIterable<T>(file, recordSize, reader));
+	}
+
+	/**
+	 * Creates a new Sequence of the fixed-size binary records of a file, see
+	 * {@link #records(File, int, Func)}.
+	 *
+	 * @param <T> the type of the read records
+	 * @param path the path of the file to read
+	 * @param recordSize the size of a record in bytes
+	 * @param reader a function to read a record from its buffer
+	 * @return the new sequence
+	 * @throws IllegalArgumentException if {@code path} or {@code reader} is {@code null} or
+	 *                                  {@code recordSize} is not positive
+	 * @throws UnsupportedOperationException if {@code path} is not on the default file system
+	 */
+	public static <T> Sequence<T> records(Path path, int recordSize, Func<? super ByteBuffer, ? extends T> reader) {
+		if (path == null) {
+			throw new IllegalArgumentException("path must not be null.");
+		}
+
+		return records(path.toFile(), recordSize, reader);
+	}
+
 	/**
 	 * Creates a new Sequence containing the specified {@code value} repeatedly.
 	 *
@@ -300,18 +551,32 @@ public class Sequence<T> implements Iterable<T> {
 	 *         element or an option of none if this sequence is empty
 	 * @throws IllegalArgumentException if the specified {@code accumulator} function is {@code null}
 	 */
-	public final Option<T> aggregate(Accumulator<T, ? super T> accumulator) {
+	public final Option<T> aggregate(final Accumulator<T, ? super T> accumulator) {
 		if (accumulator == null) {
 			throw new IllegalArgumentException("accumulator must not be null.");
 		}
 
-		Iterator<? extends T> iterator = this.source.iterator();
+		class Reduction implements Sink<T> {
+			boolean empty = true;
+			T result;
 
-		if (!iterator.hasNext()) {
-			return Option.none();
+			@Override
+			public boolean accept(T element) {
+				if (this.empty) {
+					this.empty = false;
+					this.result = element;
+				} else {
+					this.result = accumulator.accumulate(this.result, element);
+				}
+
+				return true;
+			}
 		}
 
-		return Option.some(aggregate(iterator, iterator.next(), accumulator, Funcs.<T>self()));
+		Reduction reduction = new Reduction();
+		push(reduction);
+
+		return reduction.empty ? Option.<T>none() : Option.some(reduction.result);
 	}
 
 	/**
@@ -327,7 +592,7 @@ public class Sequence<T> implements Iterable<T> {
 	 * @throws IllegalArgumentException if the specified {@code accumulator} function is {@code null}
 	 */
 	public final <S> S aggregate(S seed, Accumulator<S, ? super T> accumulator) {
-		return aggregate(this.source.iterator(), seed, accumulator, Funcs.<S>self());
+		return aggregate(seed, accumulator, Funcs.<S>self());
 	}
 
 	/**
@@ -346,11 +611,7 @@ public class Sequence<T> implements Iterable<T> {
 	 * @throws IllegalArgumentException if the specified {@code accumulator} function is {@code null}
 	 * @throws IllegalArgumentException if the specified {@code map} function is {@code null}
 	 */
-	public final <S, R> R aggregate(S seed, Accumulator<S, ? super T> accumulator, Func<S, ? extends R> map) {
-		return aggregate(this.source.iterator(), seed, accumulator, map);
-	}
-
-	private <S, R> R aggregate(Iterator<? extends T> source, S seed, Accumulator<S, ? super T> accumulator, Func<S, ? extends R> map) {
+	public final <S, R> R aggregate(final S seed, final Accumulator<S, ? super T> accumulator, Func<S, ? extends R> map) {
 		if (accumulator == null) {
 			throw new IllegalArgumentException("accumulator must not be null.");
 		}
@@ -359,13 +620,73 @@ public class Sequence<T> implements Iterable<T> {
 			throw new IllegalArgumentException("map must not be null.");
 		}
 
-		S result = seed;
+		class Fold implements Sink<T> {
+			S result = seed;
+
+			@Override
+			public boolean accept(T element) {
+				this.result = accumulator.accumulate(this.result, element);
+				return true;
+			}
+		}
+
+		Fold fold = new Fold();
+		push(fold);
+
+		return map.invoke(fold.result);
+	}
+
+	/**
+	 * Aggregates the elements of this sequence by calling the {@code accumulator} for each element
+	 * and merges partial results with the {@code combiner}.
+	 *
+	 * A {@link #parallel() parallel} sequence folds every chunk separately, starting with the
+	 * {@code seed}, and combines the results of the chunks in encounter order. The {@code seed}
+	 * must therefore be an identity of the {@code combiner} and must not be mutated by the
+	 * {@code accumulator}. A sequential sequence never calls the {@code combiner}.
+	 *
+	 * @param <S> the type of the seed
+	 * @param seed the value used as the initial value of every chunk
+	 * @param accumulator the accumulator to aggregate the elements
+	 * @param combiner the accumulator to merge two partial results
+	 * @return the aggregated result or the {@code seed} if this sequence is empty
+	 * @throws IllegalArgumentException if the specified {@code accumulator} function is {@code null}
+	 * @throws IllegalArgumentException if the specified {@code combiner} function is {@code null}
+	 */
+	public final <S> S aggregate(final S seed, final Accumulator<S, ? super T> accumulator, Accumulator<S, S> combiner) {
+		if (accumulator == null) {
+			throw new IllegalArgumentException("accumulator must not be null.");
+		}
+
+		if (combiner == null) {
+			throw new IllegalArgumentException("combiner must not be null.");
+		}
+
+		class Fold implements Sink<T> {
+			S result = seed;
+
+			@Override
+			public boolean accept(T element) {
+				this.result = accumulator.accumulate(this.result, element);
+				return true;
+			}
+		}
+
+		List<Fold> folds = push(
+			new SinkFactory<Fold>() {
+				@Override
+				public Fold create() {
+					return new Fold();
+				}
+			}
+		);
 
-		while (source.hasNext()) {
-			result = accumulator.accumulate(result, source.next());
+		S result = folds.get(0).result;
+		for (int i = 1; i < folds.size(); i++) {
+			result = combiner.accumulate(result, folds.get(i).result);
 		}
 
-		return map.invoke(result);
+		return result;
 	}
 
 	/**
@@ -381,13 +702,32 @@ public class Sequence<T> implements Iterable<T> {
 	 *         elements; otherwise, {@code false}
 	 * @throws IllegalArgumentException if the specified predicate is {@code null}
 	 */
-	public final boolean all(Predicate<? super T> predicate) {
+	public final boolean all(final Predicate<? super T> predicate) {
 		if (predicate == null) {
 			throw new IllegalArgumentException("predicate must not be null.");
 		}
 
-		for (T element : this.source) {
-			if (!predicate.invoke(element)) {
+		class Mismatch implements Sink<T> {
+			boolean found;
+
+			@Override
+			public boolean accept(T element) {
+				this.found = !predicate.invoke(element);
+				return !this.found;
+			}
+		}
+
+		List<Mismatch> mismatches = push(
+			new SinkFactory<Mismatch>() {
+				@Override
+				public Mismatch create() {
+					return new Mismatch();
+				}
+			}
+		);
+
+		for (Mismatch mismatch : mismatches) {
+			if (mismatch.found) {
 				return false;
 			}
 		}
@@ -418,15 +758,46 @@ public class Sequence<T> implements Iterable<T> {
 	 * @return true if this traversable contains any elements; otherwise, false.
 	 * @throws IllegalArgumentException if the specified predicate is {@code null}
 	 */
-	public final boolean any(Predicate<? super T> predicate) {
-		return select(predicate).any();
+	public final boolean any(final Predicate<? super T> predicate) {
+		if (predicate == null) {
+			throw new IllegalArgumentException("predicate must not be null.");
+		}
+
+		class Match implements Sink<T> {
+			boolean found;
+
+			@Override
+			public boolean accept(T element) {
+				this.found = predicate.invoke(element);
+				return !this.found;
+			}
+		}
+
+		List<Match> matches = push(
+			new SinkFactory<Match>() {
+				@Override
+				public Match create() {
+					return new Match();
+				}
+			}
+		);
+
+		for (Match match : matches) {
+			if (match.found) {
+				return true;
+			}
+		}
+
+		return false;
 	}
 
 	/**
 	 * Returns an array containing all the elements of this sequence in proper
 	 * order.
 	 *
-	 * The result is immediatly evaluated.
+	 * The result is immediatly evaluated. If the number of elements is known without iterating
+	 * this sequence, e.g. for collections, arrays, ranges and their maps, skips and takes, the
+	 * elements are written straight into the allocated array.
 	 *
 	 * @param allocator A function that provides the length of this sequence, to produce a new
 	 *                  array of the given type.
@@ -441,20 +812,57 @@ public class Sequence<T> implements Iterable<T> {
 			throw new IllegalArgumentException("allocator must not be null.");
 		}
 
+		long size = Iterables.size(this.source);
+
+		if (size >= 0 && size <= Integer.MAX_VALUE) {
+			// the array is allocated with its exact length and filled without an intermediate list
+			final T[] result = allocate(allocator, (int)size);
+			final int length = (int)size;
+
+			class Filler implements Sink<T> {
+				int index;
+
+				@Override
+				public boolean accept(T element) {
+					if (this.index == length) {
+						return false;
+					}
+
+					result[this.index++] = element;
+					return true;
+				}
+			}
+
+			Filler filler = new Filler();
+
+			// a collection which grew since its size was read falls back to the list below
+			if (push(filler) && filler.index == length) {
+				if (result.length > length) {
+					result[length] = null;
+				}
+
+				return result;
+			}
+		}
+
 		ArrayList<T> list = asArrayList();
 
-		T[] result = allocator.invoke(list.size());
+		return list.toArray(allocate(allocator, list.size()));
+	}
+
+	private static <T> T[] allocate(Func<Integer, T[]> allocator, int size) {
+		T[] result = allocator.invoke(size);
 
 		if (result == null) {
 			throw new NullPointerException("The result of the allocator must not be null.");
 		}
 
-		if (result.length < list.size()) {
+		if (result.length < size) {
 			throw new UnsupportedOperationException(
-				"Length of the returned array must be equal or greater than: " + list.size());
+				"Length of the returned array must be equal or greater than: " + size);
 		}
 
-		return list.toArray(result);
+		return result;
 	}
 
 	/**
@@ -466,7 +874,9 @@ public class Sequence<T> implements Iterable<T> {
 	 * @return an {@code ArrayList} containing the elements of this sequence
 	 */
 	public final ArrayList<T> asArrayList() {
-		return collect(new ArrayList<T>());
+		long size = Iterables.size(this.source);
+
+		return collect(size >= 0 ? new ArrayList<T>((int)Math.min(size, Integer.MAX_VALUE - 8)) : new ArrayList<T>());
 	}
 
 	/**
@@ -501,7 +911,7 @@ public class Sequence<T> implements Iterable<T> {
 	 * @throws IllegalArgumentException if either specified keySelector or elementSelector is {@code null}
 	 */
 	public final <K, V> HashMap<K, V> asHashMap(Func<? super T, ? extends K> keySelector, Func<? super T, ? extends V> elementSelector) {
-		return collect(new HashMap<K, V>(), keySelector, elementSelector);
+		return collect(new HashMap<K, V>(hashCapacity()), keySelector, elementSelector);
 	}
 
 	/**
@@ -532,7 +942,22 @@ public class Sequence<T> implements Iterable<T> {
 			throw new IllegalArgumentException("valueSelector must not be null.");
 		}
 
-		return map(valueSelector).collect(new HashSet<E>());
+		return map(valueSelector).collect(new HashSet<E>(hashCapacity()));
+	}
+
+	/**
+	 * Returns the initial capacity of a hash table which holds all elements of this sequence
+	 * without rehashing, if the number of elements is known without iterating this sequence.
+	 */
+	private int hashCapacity() {
+		long size = Iterables.size(this.source);
+
+		// the default capacity of a HashMap
+		if (size < 0) {
+			return 16;
+		}
+
+		return (int)Math.min(size * 4 / 3 + 1, 1 << 30);
 	}
 
 	/**
@@ -572,15 +997,30 @@ public class Sequence<T> implements Iterable<T> {
 	 * @return the same collection as the one given
 	 * @throws IllegalArgumentException if the specified collection is {@code null}
 	 */
-	public final <R extends Collection<T>> R collect(R collection) {
+	public final <R extends Collection<T>> R collect(final R collection) {
 		if (collection == null) {
 			throw new IllegalArgumentException("collection must not be null.");
 		}
 
-		for (T element : this.source) {
-			collection.add(element);
+		if (isParallel()) {
+			// the chunks are buffered, so the collection is only touched by the calling thread
+			for (Buffer buffer : pushBuffers()) {
+				collection.addAll(buffer.elements);
+			}
+
+			return collection;
 		}
 
+		push(
+			new Sink<T>() {
+				@Override
+				public boolean accept(T element) {
+					collection.add(element);
+					return true;
+				}
+			}
+		);
+
 		return collection;
 	}
 
@@ -618,7 +1058,7 @@ public class Sequence<T> implements Iterable<T> {
 	 * @return the same map as the one given
 	 * @throws IllegalArgumentException if the specified map, keySelector or elementSelector is null
 	 */
-	public final <K, V, R extends Map<K, V>> R collect(R map, Func<? super T, ? extends K> keySelector, Func<? super T, ? extends V> elementSelector) {
+	public final <K, V, R extends Map<K, V>> R collect(final R map, final Func<? super T, ? extends K> keySelector, final Func<? super T, ? extends V> elementSelector) {
 		if (map == null) {
 			throw new IllegalArgumentException("map must not be null.");
 		}
@@ -631,10 +1071,26 @@ public class Sequence<T> implements Iterable<T> {
 			throw new IllegalArgumentException("elementSelector must not be null.");
 		}
 
-		for (T element : this.source) {
-			map.put(keySelector.invoke(element), elementSelector.invoke(element));
+		if (isParallel()) {
+			for (Buffer buffer : pushBuffers()) {
+				for (T element : buffer.elements) {
+					map.put(keySelector.invoke(element), elementSelector.invoke(element));
+				}
+			}
+
+			return map;
 		}
 
+		push(
+			new Sink<T>() {
+				@Override
+				public boolean accept(T element) {
+					map.put(keySelector.invoke(element), elementSelector.invoke(element));
+					return true;
+				}
+			}
+		);
+
 		return map;
 	}
 
@@ -679,23 +1135,43 @@ public class Sequence<T> implements Iterable<T> {
 	/**
 	 * Returns the number of elements in this sequence.
 	 *
-	 * The result is immediatly evaluated.
+	 * The result is immediatly evaluated. Collections and sequences which can be accessed by
+	 * index, e.g. arrays, ranges and their maps, skips and takes, are not iterated.
 	 *
 	 * @return the number of elements in this sequence
 	 */
 	public final long count() {
-		if (this.source instanceof Collection) {
-			return ((Collection)this.source).size();
+		long size = Iterables.size(this.source);
+
+		if (size >= 0) {
+			return size;
+		}
+
+		class Counter implements Sink<T> {
+			long count;
+
+			@Override
+			public boolean accept(T element) {
+				this.count++;
+				return true;
+			}
 		}
 
-		return aggregate(0,
-			new Accumulator<Integer, T>() {
+		List<Counter> counters = push(
+			new SinkFactory<Counter>() {
 				@Override
-				public Integer accumulate(Integer count, T item) {
-					return count + 1;
+				public Counter create() {
+					return new Counter();
 				}
 			}
 		);
+
+		long count = 0;
+		for (Counter counter : counters) {
+			count += counter.count;
+		}
+
+		return count;
 	}
 
 	/**
@@ -711,6 +1187,27 @@ public class Sequence<T> implements Iterable<T> {
 		return select(predicate).count();
 	}
 
+	/**
+	 * Counts the elements of this sequence per key, in a single pass over primitive counters.
+	 *
+	 * The keys are ordered by their first appearance. The elements are counted each time the
+	 * result is iterated.
+	 *
+	 * @param keySelector a function to extract the key of an element
+	 * @param <K> the type of the key
+	 * @return a sequence of the keys and the number of their elements
+	 * @throws IllegalArgumentException if the specified keySelector is {@code null}
+	 */
+	public final <K> Sequence<Tuple<K, Long>> countBy(Func<? super T, ? extends K> keySelector) {
+		if (keySelector == null) {
+			throw new IllegalArgumentException("keySelector must not be null.");
+		}
+
+		return new Sequence<Tuple<K, Long>>(
+			new LongGroupAggregateIterable<T, K>(this.source, keySelector, null, new DefaultEqualityComparator<K>(), Reduction.COUNT)
+		);
+	}
+
 	/**
 	 * The set difference of two sets is defined as the members of the first
 	 * set that do not appear in the second set.
@@ -755,10 +1252,14 @@ public class Sequence<T> implements Iterable<T> {
 	 *              will cause those elements to be removed of the returned sequence.
 	 * @param comparator An EqualityComparator that is used to compare the elements
 	 * @return the set difference of two sets
-	 * @throws IllegalArgumentException if comparator is null
+	 * @throws IllegalArgumentException if other or comparator is null
 	 */
 	public final Sequence<T> difference(final T[] other, final EqualityComparator<? super T> comparator) {
-		return null;
+		if (other == null) {
+			throw new IllegalArgumentException("other must no be null.");
+		}
+
+		return difference(array(other), comparator);
 	}
 
 	/**
@@ -766,6 +1267,11 @@ public class Sequence<T> implements Iterable<T> {
 	 * that do not appear in the second set. The comparator is used to specifically
 	 * compare the elements.
 	 *
+	 * The elements of {@code other} are put into a hash set the first time the
+	 * difference is iterated, the elements of this sequence are then yielded in
+	 * their original order. See {@link #distinct(EqualityComparator)} for how the
+	 * {@code comparator} affects hashing.
+	 *
 	 * A.k.a. diff
 	 *
 	 * @param other An Iterable whose elements that also occur in the first sequence
@@ -800,6 +1306,10 @@ public class Sequence<T> implements Iterable<T> {
 	 * Returns an unordered sequence of distinct elements by using the provided
 	 * {@code comparator}.
 	 *
+	 * The elements are only hashed if the comparator is a
+	 * {@link ninja.sequence.delegate.HashingEqualityComparator}, otherwise every
+	 * element is compared with all the distinct elements found so far.
+	 *
 	 * @param comparator The comparator that is used to compare the values
 	 * @throws IllegalArgumentException if the comparator is {@code null}
 	 * @return an unordered sequence of distinct elements
@@ -809,6 +1319,21 @@ public class Sequence<T> implements Iterable<T> {
 			throw new IllegalArgumentException("comparator must not be null.");
 		}
 
+		// primitive sources are deduplicated without boxing, a range is distinct already
+		if (comparator instanceof DefaultEqualityComparator) {
+			if (this.source instanceof RangeIterable) {
+				return this;
+			}
+
+			if (this.source instanceof IntIterable) {
+				return new Sequence<T>(Sequence.<T>unchecked(new IntSequence((IntIterable)this.source).distinct()));
+			}
+
+			if (this.source instanceof LongIterable) {
+				return new Sequence<T>(Sequence.<T>unchecked(new LongSequence((LongIterable)this.source).distinct()));
+			}
+		}
+
 		return new Sequence<T>(
 			new Iterable<T>() {
 				@Override
@@ -819,6 +1344,51 @@ public class Sequence<T> implements Iterable<T> {
 		);
 	}
 
+	/**
+	 * Like {@link Iterables#randomAccess(Iterable)}, but also looks through a sequence to its source.
+	 */
+	private static <T> RandomAccessIterable<T> randomAccess(Iterable<T> iterable) {
+		Iterable<T> source = iterable;
+
+		while (source instanceof Sequence) {
+			source = ((Sequence<T>)source).source;
+		}
+
+		return Iterables.randomAccess(source);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> Iterable<T> unchecked(Iterable<?> iterable) {
+		return (Iterable<T>)iterable;
+	}
+
+	/**
+	 * Returns an {@link ninja.sequence.monad.Option} with the element at the specified
+	 * {@code index} of this sequence or an {@code Option} of none if this sequence does
+	 * not have that many elements.
+	 *
+	 * Sequences which can be accessed by index, e.g. arrays, ranges and their maps, skips
+	 * and takes, compute the element directly without iterating the elements before it.
+	 *
+	 * @param index the zero based index of the element
+	 * @return an {@code Option} with the element at the specified index or an {@code Option}
+	 * of none if this sequence does not have that many elements
+	 * @throws IllegalArgumentException if {@code index} is negative
+	 */
+	public final Option<T> elementAt(long index) {
+		if (index < 0) {
+			throw new IllegalArgumentException("index must be greater or equal 0.");
+		}
+
+		RandomAccessIterable<T> indexed = Iterables.randomAccess(this.source);
+
+		if (indexed != null) {
+			return index < indexed.size() ? Option.some(indexed.get(index)) : Option.<T>none();
+		}
+
+		return skip(index).first();
+	}
+
 	/**
 	 * Returns an {@link ninja.sequence.monad.Option} with the first element of
 	 * this sequence or an {@code Option} of none if this sequence does not have
@@ -827,8 +1397,11 @@ public class Sequence<T> implements Iterable<T> {
 	 * @return an {@code Option} with the first element of this sequence or an
 	 * {@code Option} of none if this sequence does not have any elements
 	 */
+	@SuppressWarnings("unchecked")
 	public final Option<T> first() {
-		Iterator<T> iterator = this.source.iterator();
+		Iterator<T> iterator = this.source instanceof LimitableIterable
+			? ((LimitableIterable<T>)this.source).iterator(1)
+			: this.source.iterator();
 
 		if (iterator.hasNext()) {
 			return Option.some(iterator.next());
@@ -854,10 +1427,433 @@ public class Sequence<T> implements Iterable<T> {
 	}
 
 	/**
+	 * Correlates the elements of this sequence and {@code inner} by equal keys like
+	 * {@link #join(Iterable, Func, Func, Func2)}, but also produces a result for every element
+	 * of either side without a match, with an option of none in place of the missing element.
 	 *
-	 * @param keySelector
-	 * @param <K>
-	 * @return
+	 * A.k.a. full outer join
+	 *
+	 * @param <T2> the type of the inner elements
+	 * @param <K> the type of the key
+	 * @param <R> the type of the result
+	 * @param inner the inner elements
+	 * @param outerKeySelector a function to extract the key of an element of this sequence
+	 * @param innerKeySelector a function to extract the key of an inner element
+	 * @param resultSelector a function to produce the result of a pair of elements
+	 * @return the joined sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <T2, K, R> Sequence<R> fullJoin(Iterable<? extends T2> inner, Func<? super T, ? extends K> outerKeySelector,
+		Func<? super T2, ? extends K> innerKeySelector, Func2<? super Option<T>, ? super Option<T2>, ? extends R> resultSelector) {
+
+		return fullJoin(inner, outerKeySelector, innerKeySelector, resultSelector, new DefaultEqualityComparator<K>());
+	}
+
+	/**
+	 * Correlates the elements of this sequence and {@code inner} by keys that are equal according
+	 * to the {@code comparator} like {@link #join(Iterable, Func, Func, Func2, EqualityComparator)},
+	 * but also produces a result for every element of either side without a match, with an option
+	 * of none in place of the missing element.
+	 *
+	 * The matches and the unmatched elements of this sequence come in the order of this sequence,
+	 * followed by the unmatched inner elements in inner order. The hash table always holds all
+	 * inner elements; the inner elements which were matched are tracked in a bitset.
+	 *
+	 * A.k.a. full outer join
+	 *
+	 * @param <T2> the type of the inner elements
+	 * @param <K> the type of the key
+	 * @param <R> the type of the result
+	 * @param inner the inner elements
+	 * @param outerKeySelector a function to extract the key of an element of this sequence
+	 * @param innerKeySelector a function to extract the key of an inner element
+	 * @param resultSelector a function to produce the result of a pair of elements
+	 * @param comparator the comparator to compare the keys
+	 * @return the joined sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <T2, K, R> Sequence<R> fullJoin(Iterable<? extends T2> inner, Func<? super T, ? extends K> outerKeySelector,
+		Func<? super T2, ? extends K> innerKeySelector, final Func2<? super Option<T>, ? super Option<T2>, ? extends R> resultSelector,
+		EqualityComparator<? super K> comparator) {
+
+		if (inner == null) {
+			throw new IllegalArgumentException("inner must not be null.");
+		}
+
+		if (outerKeySelector == null) {
+			throw new IllegalArgumentException("outerKeySelector must not be null.");
+		}
+
+		if (innerKeySelector == null) {
+			throw new IllegalArgumentException("innerKeySelector must not be null.");
+		}
+
+		if (resultSelector == null) {
+			throw new IllegalArgumentException("resultSelector must not be null.");
+		}
+
+		if (comparator == null) {
+			throw new IllegalArgumentException("comparator must not be null.");
+		}
+
+		return new Sequence<R>(
+			new HashJoinIterable<T, T2, K, R>(this.source, inner, outerKeySelector, innerKeySelector, comparator,
+				new Func2<T, T2, R>() {
+					@Override
+					public R invoke(T outer, T2 inner) {
+						return resultSelector.invoke(Option.some(outer), Option.some(inner));
+					}
+				},
+				new Func<T, R>() {
+					@Override
+					public R invoke(T outer) {
+						return resultSelector.invoke(Option.some(outer), Option.<T2>none());
+					}
+				},
+				new Func<T2, R>() {
+					@Override
+					public R invoke(T2 inner) {
+						return resultSelector.invoke(Option.<T>none(), Option.some(inner));
+					}
+				}
+			)
+		);
+	}
+
+	/**
+	 * Correlates the elements of this sequence and {@code inner} by their keys like
+	 * {@link #mergeJoin(Iterable, Func, Func, Func2)}, but also produces a result for every
+	 * element of either side without a match, with an option of none in place of the
+	 * missing element.
+	 *
+	 * A.k.a. full outer join
+	 *
+	 * @param <T2> the type of the inner elements
+	 * @param <K> the type of the key
+	 * @param <R> the type of the result
+	 * @param inner the inner elements, sorted ascending by their keys
+	 * @param outerKeySelector a function to extract the key of an element of this sequence
+	 * @param innerKeySelector a function to extract the key of an inner element
+	 * @param resultSelector a function to produce the result of a pair of elements
+	 * @return the joined sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <T2, K, R> Sequence<R> fullMergeJoin(Iterable<? extends T2> inner, Func<? super T, ? extends K> outerKeySelector,
+		Func<? super T2, ? extends K> innerKeySelector, Func2<? super Option<T>, ? super Option<T2>, ? extends R> resultSelector) {
+
+		return fullMergeJoin(inner, outerKeySelector, innerKeySelector, resultSelector, new DefaultComparator<K>());
+	}
+
+	/**
+	 * Correlates the elements of this sequence and {@code inner} by their keys like
+	 * {@link #mergeJoin(Iterable, Func, Func, Func2, Comparator)}, but also produces a result for
+	 * every element of either side without a match, with an option of none in place of the
+	 * missing element.
+	 *
+	 * A.k.a. full outer join
+	 *
+	 * @param <T2> the type of the inner elements
+	 * @param <K> the type of the key
+	 * @param <R> the type of the result
+	 * @param inner the inner elements, sorted ascending by their keys
+	 * @param outerKeySelector a function to extract the key of an element of this sequence
+	 * @param innerKeySelector a function to extract the key of an inner element
+	 * @param resultSelector a function to produce the result of a pair of elements
+	 * @param comparator the comparator both sides are sorted by
+	 * @return the joined sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <T2, K, R> Sequence<R> fullMergeJoin(Iterable<? extends T2> inner, Func<? super T, ? extends K> outerKeySelector,
+		Func<? super T2, ? extends K> innerKeySelector, final Func2<? super Option<T>, ? super Option<T2>, ? extends R> resultSelector,
+		Comparator<? super K> comparator) {
+
+		if (resultSelector == null) {
+			throw new IllegalArgumentException("resultSelector must not be null.");
+		}
+
+		return mergeJoin(inner, outerKeySelector, innerKeySelector, comparator,
+			new Func2<T, T2, R>() {
+				@Override
+				public R invoke(T outer, T2 inner) {
+					return resultSelector.invoke(Option.some(outer), Option.some(inner));
+				}
+			},
+			new Func<T, R>() {
+				@Override
+				public R invoke(T outer) {
+					return resultSelector.invoke(Option.some(outer), Option.<T2>none());
+				}
+			},
+			new Func<T2, R>() {
+				@Override
+				public R invoke(T2 inner) {
+					return resultSelector.invoke(Option.<T>none(), Option.some(inner));
+				}
+			}
+		);
+	}
+
+	/**
+	 * Groups adjacent elements of this sequence with equal keys. A new group starts
+	 * whenever the key changes, so for input clustered by key, e.g. sorted input, every
+	 * key forms exactly one group.
+	 *
+	 * The groups are produced lazily while iterating and only the current group is held
+	 * in memory, which allows grouping streams of any length.
+	 *
+	 * @param <K> the type of the key
+	 * @param keySelector a function to extract the key of an element
+	 * @return a sequence of the groups of adjacent elements, in encounter order
+	 * @throws IllegalArgumentException if the specified keySelector is {@code null}
+	 */
+	public final <K> Sequence<GroupedSequence<K, T>> groupAdjacent(Func<? super T, ? extends K> keySelector) {
+		return groupAdjacent(keySelector, Funcs.<T>self(), new DefaultEqualityComparator<K>());
+	}
+
+	/**
+	 * Groups adjacent elements of this sequence with keys that are equal according to
+	 * the {@code comparator}, see {@link #groupAdjacent(Func)}.
+	 *
+	 * @param <K> the type of the key
+	 * @param keySelector a function to extract the key of an element
+	 * @param comparator the comparator to compare the keys
+	 * @return a sequence of the groups of adjacent elements, in encounter order
+	 * @throws IllegalArgumentException if the specified keySelector or comparator is {@code null}
+	 */
+	public final <K> Sequence<GroupedSequence<K, T>> groupAdjacent(Func<? super T, ? extends K> keySelector, EqualityComparator<? super K> comparator) {
+		return groupAdjacent(keySelector, Funcs.<T>self(), comparator);
+	}
+
+	/**
+	 * Groups the elements produced by {@code elementSelector} from adjacent elements of
+	 * this sequence with equal keys, see {@link #groupAdjacent(Func)}.
+	 *
+	 * @param <K> the type of the key
+	 * @param <R> the type of the grouped elements
+	 * @param keySelector a function to extract the key of an element
+	 * @param elementSelector a function to produce the grouped element from an element
+	 * @return a sequence of the groups of adjacent elements, in encounter order
+	 * @throws IllegalArgumentException if the specified keySelector or elementSelector is {@code null}
+	 */
+	public final <K, R> Sequence<GroupedSequence<K, R>> groupAdjacent(Func<? super T, ? extends K> keySelector, Func<? super T, ? extends R> elementSelector) {
+		return groupAdjacent(keySelector, elementSelector, new DefaultEqualityComparator<K>());
+	}
+
+	/**
+	 * Groups the elements produced by {@code elementSelector} from adjacent elements of
+	 * this sequence with keys that are equal according to the {@code comparator}, see
+	 * {@link #groupAdjacent(Func)}.
+	 *
+	 * @param <K> the type of the key
+	 * @param <R> the type of the grouped elements
+	 * @param keySelector a function to extract the key of an element
+	 * @param elementSelector a function to produce the grouped element from an element
+	 * @param comparator the comparator to compare the keys
+	 * @return a sequence of the groups of adjacent elements, in encounter order
+	 * @throws IllegalArgumentException if the specified keySelector, elementSelector or comparator is {@code null}
+	 */
+	public final <K, R> Sequence<GroupedSequence<K, R>> groupAdjacent(final Func<? super T, ? extends K> keySelector,
+		final Func<? super T, ? extends R> elementSelector, final EqualityComparator<? super K> comparator) {
+
+		if (keySelector == null) {
+			throw new IllegalArgumentException("keySelector must not be null.");
+		}
+
+		if (elementSelector == null) {
+			throw new IllegalArgumentException("elementSelector must not be null.");
+		}
+
+		if (comparator == null) {
+			throw new IllegalArgumentException("comparator must not be null.");
+		}
+
+		return new Sequence<GroupedSequence<K, R>>(
+			new Iterable<GroupedSequence<K, R>>() {
+				@Override
+				public Iterator<GroupedSequence<K, R>> iterator() {
+					return new GroupAdjacentIterator<T, K, R>(source.iterator(), keySelector, elementSelector, comparator);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Aggregates the elements per key, see {@link #groupAggregate(Func, Func, Accumulator, EqualityComparator)}.
+	 *
+	 * @param keySelector a function to extract the key of an element
+	 * @param seedFactory a function to create the initial state of a key
+	 * @param accumulator the accumulator to fold an element into the state of its key
+	 * @param <K> the type of the key
+	 * @param <S> the type of the state
+	 * @return a sequence of the keys and their aggregated states
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <K, S> Sequence<Tuple<K, S>> groupAggregate(Func<? super T, ? extends K> keySelector,
+		Func<? super K, ? extends S> seedFactory, Accumulator<S, ? super T> accumulator) {
+
+		return groupAggregate(keySelector, seedFactory, accumulator, new DefaultEqualityComparator<K>());
+	}
+
+	/**
+	 * Aggregates the elements per key. Every element is folded into the state of its key as it
+	 * arrives, the state of a new key is created by the {@code seedFactory}. Unlike a
+	 * {@link #groupBy(Func)} followed by an aggregation of every group, the elements are not
+	 * stored, so this takes a single pass and memory for the distinct keys only.
+	 *
+	 * The keys are ordered by their first appearance. The elements are aggregated each time the
+	 * result is iterated. For counts, sums, minimums and maximums, {@link #countBy(Func)},
+	 * {@link #sumLongBy(Func, ToLongFunc)}, {@link #minLongBy(Func, ToLongFunc)},
+	 * {@link #maxLongBy(Func, ToLongFunc)} and their double variants keep a primitive counter
+	 * per key instead of a state object, so the values are not boxed. A lookup key is still
+	 * allocated per element.
+	 *
+	 * A.k.a. aggregateBy, reduceByKey
+	 *
+	 * @param keySelector a function to extract the key of an element
+	 * @param seedFactory a function to create the initial state of a key
+	 * @param accumulator the accumulator to fold an element into the state of its key
+	 * @param comparator the comparator to compare the keys
+	 * @param <K> the type of the key
+	 * @param <S> the type of the state
+	 * @return a sequence of the keys and their aggregated states
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <K, S> Sequence<Tuple<K, S>> groupAggregate(Func<? super T, ? extends K> keySelector,
+		Func<? super K, ? extends S> seedFactory, Accumulator<S, ? super T> accumulator, EqualityComparator<? super K> comparator) {
+
+		if (keySelector == null) {
+			throw new IllegalArgumentException("keySelector must not be null.");
+		}
+
+		if (seedFactory == null) {
+			throw new IllegalArgumentException("seedFactory must not be null.");
+		}
+
+		if (accumulator == null) {
+			throw new IllegalArgumentException("accumulator must not be null.");
+		}
+
+		if (comparator == null) {
+			throw new IllegalArgumentException("comparator must not be null.");
+		}
+
+		return new Sequence<Tuple<K, S>>(
+			new GroupAggregateIterable<T, K, S>(this.source, keySelector, seedFactory, accumulator, comparator)
+		);
+	}
+
+	/**
+	 * Aggregates the elements per key with a memory budget, spilling to the default temporary
+	 * directory, see {@link #groupAggregate(Func, Func, Accumulator, Accumulator, EqualityComparator, Serializer, Serializer, int, File)}.
+	 *
+	 * @param keySelector a function to extract the key of an element
+	 * @param seedFactory a function to create the initial state of a key
+	 * @param accumulator the accumulator to fold an element into the state of its key
+	 * @param combiner the accumulator to merge two partial states of the same key
+	 * @param keySerializer the serializer of the spilled keys
+	 * @param stateSerializer the serializer of the spilled states
+	 * @param budget the maximum number of keys held in memory at once
+	 * @param <K> the type of the key
+	 * @param <S> the type of the state
+	 * @return a sequence of the keys and their aggregated states
+	 * @throws IllegalArgumentException if any argument is {@code null} or {@code budget} is not positive
+	 */
+	public final <K, S> Sequence<Tuple<K, S>> groupAggregate(Func<? super T, ? extends K> keySelector,
+		Func<? super K, ? extends S> seedFactory, Accumulator<S, ? super T> accumulator, Accumulator<S, S> combiner,
+		Serializer<K> keySerializer, Serializer<S> stateSerializer, int budget) {
+
+		return groupAggregate(keySelector, seedFactory, accumulator, combiner, new DefaultEqualityComparator<K>(), keySerializer,
+			stateSerializer, budget, null);
+	}
+
+	/**
+	 * Aggregates the elements per key without storing them. Every element is folded into the
+	 * state of its key as it arrives, the state of a new key is created by the {@code seedFactory}.
+	 *
+	 * At most {@code budget} keys are held in memory. When another key arrives, all partial
+	 * states are written to hash partitions in the {@code directory} and folding starts over with
+	 * fresh states. Iterating the result reads the partitions one at a time and merges the partial
+	 * states of every key with the {@code combiner}, so the combiner has to give the same result
+	 * as folding all elements into one state. The keys are spread over the partitions by the hash
+	 * of the {@code comparator}, so it has to be a {@link HashingEqualityComparator}: without a
+	 * hash all keys would end up in a single partition, which is read into memory as a whole.
+	 *
+	 * The elements are aggregated each time the result is iterated. Without spilling, the keys
+	 * are in order of their first appearance, otherwise their order is unspecified.
+	 *
+	 * @param keySelector a function to extract the key of an element
+	 * @param seedFactory a function to create the initial state of a key
+	 * @param accumulator the accumulator to fold an element into the state of its key
+	 * @param combiner the accumulator to merge two partial states of the same key
+	 * @param comparator the comparator to compare the keys
+	 * @param keySerializer the serializer of the spilled keys
+	 * @param stateSerializer the serializer of the spilled states
+	 * @param budget the maximum number of keys held in memory at once
+	 * @param directory the directory of the temporary files, {@code null} for the default temporary directory
+	 * @param <K> the type of the key
+	 * @param <S> the type of the state
+	 * @return a sequence of the keys and their aggregated states
+	 * @throws IllegalArgumentException if any argument but {@code directory} is {@code null}, {@code budget} is not
+	 *                                  positive or {@code comparator} is not a {@link HashingEqualityComparator}
+	 */
+	public final <K, S> Sequence<Tuple<K, S>> groupAggregate(final Func<? super T, ? extends K> keySelector,
+		final Func<? super K, ? extends S> seedFactory, final Accumulator<S, ? super T> accumulator, final Accumulator<S, S> combiner,
+		final EqualityComparator<? super K> comparator, final Serializer<K> keySerializer, final Serializer<S> stateSerializer,
+		final int budget, final File directory) {
+
+		if (keySelector == null) {
+			throw new IllegalArgumentException("keySelector must not be null.");
+		}
+
+		if (seedFactory == null) {
+			throw new IllegalArgumentException("seedFactory must not be null.");
+		}
+
+		if (accumulator == null) {
+			throw new IllegalArgumentException("accumulator must not be null.");
+		}
+
+		if (combiner == null) {
+			throw new IllegalArgumentException("combiner must not be null.");
+		}
+
+		if (comparator == null) {
+			throw new IllegalArgumentException("comparator must not be null.");
+		}
+
+		if (!(comparator instanceof HashingEqualityComparator)) {
+			throw new IllegalArgumentException("comparator must be a HashingEqualityComparator.");
+		}
+
+		if (keySerializer == null) {
+			throw new IllegalArgumentException("keySerializer must not be null.");
+		}
+
+		if (stateSerializer == null) {
+			throw new IllegalArgumentException("stateSerializer must not be null.");
+		}
+
+		if (budget <= 0) {
+			throw new IllegalArgumentException("budget must be positive.");
+		}
+
+		return new Sequence<Tuple<K, S>>(
+			new SpillingGroupAggregateIterable<T, K, S>(this.source, keySelector, seedFactory, accumulator, combiner,
+				(HashingEqualityComparator<? super K>)comparator, keySerializer, stateSerializer, budget, directory)
+		);
+	}
+
+	/**
+	 * Groups the elements of this sequence by their keys. The groups are ordered by the
+	 * first appearance of their key in this sequence, and the elements of every group keep
+	 * their encounter order.
+	 *
+	 * The result is immediatly evaluated and holds all elements of this sequence. For input
+	 * which is already clustered by key, {@link #groupAdjacent(Func)} needs far less memory.
+	 *
+	 * @param keySelector a function to extract the key of an element
+	 * @param <K> the type of the key
+	 * @return a sequence of the groups, in order of first appearance
 	 */
 	public final <K> Sequence<GroupedSequence<K, T>> groupBy(Func<? super T, ? extends K> keySelector) {
 		return groupBy(keySelector, new DefaultEqualityComparator<K>());
@@ -908,9 +1904,9 @@ public class Sequence<T> implements Iterable<T> {
 			throw new IllegalArgumentException("comparator must not be null.");
 		}
 
-		// HashMap allows to have null keys. Thats just fine for the grouping.
-		// TODO: Test this behaviour!
-		Map<Key<K>, List<R>> map = new HashMap<Key<K>, List<R>>();
+		// LinkedHashMap allows to have null keys. Thats just fine for the grouping.
+		// It also keeps the groups in the order their keys first appear.
+		Map<Key<K>, List<R>> map = new LinkedHashMap<Key<K>, List<R>>();
 
 		for (T source : this.source) {
 			Key<K> key = new Key<K>(keySelector.invoke(source), comparator);
@@ -935,6 +1931,173 @@ public class Sequence<T> implements Iterable<T> {
 		);
 	}
 
+	/**
+	 * Groups the elements of this sequence by their keys with a memory budget, spilling to the
+	 * default temporary directory, see
+	 * {@link #groupBy(Func, Func, EqualityComparator, Serializer, int, File)}.
+	 *
+	 * @param keySelector a function to extract the key of an element
+	 * @param elementSelector a function to produce the grouped element from an element
+	 * @param serializer the serializer of the spilled elements
+	 * @param budget the maximum number of elements held in memory at once
+	 * @param <K> the type of the key
+	 * @param <R> the type of the grouped elements
+	 * @return a sequence of the groups
+	 * @throws IllegalArgumentException if any argument is {@code null} or {@code budget} is not positive
+	 */
+	public final <K, R> Sequence<GroupedSequence<K, R>> groupBy(Func<? super T, ? extends K> keySelector,
+		Func<? super T, ? extends R> elementSelector, Serializer<T> serializer, int budget) {
+
+		return groupBy(keySelector, elementSelector, new DefaultEqualityComparator<K>(), serializer, budget, null);
+	}
+
+	/**
+	 * Groups the elements of this sequence by their keys with at most {@code budget} elements
+	 * held in memory. A sequence which fits into the budget is grouped like
+	 * {@link #groupBy(Func, Func, EqualityComparator)}. Otherwise all elements are written to hash
+	 * partitions of their keys in the {@code directory}, and iterating the groups reads one
+	 * partition at a time; a partition which still exceeds the budget is partitioned again. The
+	 * keys are spread over the partitions by the hash of the {@code comparator}, so it has to be
+	 * a {@link HashingEqualityComparator}: without a hash all elements would end up in a single
+	 * partition, which is read into memory as a whole.
+	 *
+	 * The elements are grouped each time the result is iterated. Every group is complete and
+	 * keeps the encounter order of its elements. Without spilling, the groups are in order of
+	 * first appearance of their keys, otherwise their order is unspecified. The key and element
+	 * selectors are invoked again for the spilled elements.
+	 *
+	 * To count, sum or otherwise reduce the groups, {@link #groupAggregate(Func, Func, Accumulator,
+	 * Accumulator, Serializer, Serializer, int)} does not store the elements at all.
+	 *
+	 * @param keySelector a function to extract the key of an element
+	 * @param elementSelector a function to produce the grouped element from an element
+	 * @param comparator the comparator to compare the keys
+	 * @param serializer the serializer of the spilled elements
+	 * @param budget the maximum number of elements held in memory at once
+	 * @param directory the directory of the temporary files, {@code null} for the default temporary directory
+	 * @param <K> the type of the key
+	 * @param <R> the type of the grouped elements
+	 * @return a sequence of the groups
+	 * @throws IllegalArgumentException if any argument but {@code directory} is {@code null}, {@code budget} is not
+	 *                                  positive or {@code comparator} is not a {@link HashingEqualityComparator}
+	 */
+	public final <K, R> Sequence<GroupedSequence<K, R>> groupBy(Func<? super T, ? extends K> keySelector,
+		Func<? super T, ? extends R> elementSelector, EqualityComparator<? super K> comparator, Serializer<T> serializer,
+		int budget, File directory) {
+
+		if (keySelector == null) {
+			throw new IllegalArgumentException("keySelector must not be null.");
+		}
+
+		if (elementSelector == null) {
+			throw new IllegalArgumentException("elementSelector must not be null.");
+		}
+
+		if (comparator == null) {
+			throw new IllegalArgumentException("comparator must not be null.");
+		}
+
+		if (!(comparator instanceof HashingEqualityComparator)) {
+			throw new IllegalArgumentException("comparator must be a HashingEqualityComparator.");
+		}
+
+		if (serializer == null) {
+			throw new IllegalArgumentException("serializer must not be null.");
+		}
+
+		if (budget <= 0) {
+			throw new IllegalArgumentException("budget must be positive.");
+		}
+
+		return new Sequence<GroupedSequence<K, R>>(
+			new SpillingGroupByIterable<T, K, R>(this.source, keySelector, elementSelector,
+				(HashingEqualityComparator<? super K>)comparator, serializer, budget, directory)
+		);
+	}
+
+	/**
+	 * Correlates every element of this sequence with the group of inner elements with an equal
+	 * key, see {@link #groupJoin(Iterable, Func, Func, Func2, EqualityComparator)}.
+	 *
+	 * @param <T2> the type of the inner elements
+	 * @param <K> the type of the key
+	 * @param <R> the type of the result
+	 * @param inner the inner elements
+	 * @param outerKeySelector a function to extract the key of an element of this sequence
+	 * @param innerKeySelector a function to extract the key of an inner element
+	 * @param resultSelector a function to produce the result of an element and its group
+	 * @return the joined sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <T2, K, R> Sequence<R> groupJoin(Iterable<? extends T2> inner, Func<? super T, ? extends K> outerKeySelector,
+		Func<? super T2, ? extends K> innerKeySelector, Func2<? super T, ? super GroupedSequence<K, T2>, ? extends R> resultSelector) {
+
+		return groupJoin(inner, outerKeySelector, innerKeySelector, resultSelector, new DefaultEqualityComparator<K>());
+	}
+
+	/**
+	 * Correlates every element of this sequence with the group of inner elements with a key that
+	 * is equal according to the {@code comparator}. Every element of this sequence produces exactly
+	 * one result, in order; the group of an element without matches, or with a {@code null} key,
+	 * is empty. The groups are views of the hash table built when the joined sequence is iterated,
+	 * see {@link #join(Iterable, Func, Func, Func2, EqualityComparator)}.
+	 *
+	 * @param <T2> the type of the inner elements
+	 * @param <K> the type of the key
+	 * @param <R> the type of the result
+	 * @param inner the inner elements
+	 * @param outerKeySelector a function to extract the key of an element of this sequence
+	 * @param innerKeySelector a function to extract the key of an inner element
+	 * @param resultSelector a function to produce the result of an element and its group
+	 * @param comparator the comparator to compare the keys
+	 * @return the joined sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <T2, K, R> Sequence<R> groupJoin(final Iterable<? extends T2> inner, final Func<? super T, ? extends K> outerKeySelector,
+		final Func<? super T2, ? extends K> innerKeySelector, final Func2<? super T, ? super GroupedSequence<K, T2>, ? extends R> resultSelector,
+		final EqualityComparator<? super K> comparator) {
+
+		if (inner == null) {
+			throw new IllegalArgumentException("inner must not be null.");
+		}
+
+		if (outerKeySelector == null) {
+			throw new IllegalArgumentException("outerKeySelector must not be null.");
+		}
+
+		if (innerKeySelector == null) {
+			throw new IllegalArgumentException("innerKeySelector must not be null.");
+		}
+
+		if (resultSelector == null) {
+			throw new IllegalArgumentException("resultSelector must not be null.");
+		}
+
+		if (comparator == null) {
+			throw new IllegalArgumentException("comparator must not be null.");
+		}
+
+		return new Sequence<R>(
+			new Iterable<R>() {
+				@Override
+				public Iterator<R> iterator() {
+					final JoinTable<K, T2> table = JoinTable.build(source, inner, outerKeySelector, innerKeySelector, comparator, false);
+
+					return new MapIterator<T, R>(source.iterator(),
+						new Func<T, R>() {
+							@Override
+							public R invoke(T outer) {
+								K key = outerKeySelector.invoke(outer);
+
+								return resultSelector.invoke(outer, GroupedSequence.create(key, table.rows(table.find(key))));
+							}
+						}
+					);
+				}
+			}
+		);
+	}
+
 	/**
 	 * Produces the set intersection of two sequences by using the default equality comparer to compare values.
 	 * The intersection of two sets A and B is defined as the set that contains all the elements of A that also appear
@@ -986,6 +2149,25 @@ public class Sequence<T> implements Iterable<T> {
 	 * @return
 	 */
 	public final Sequence<T> intersect(Iterable<? extends T> other, final EqualityComparator<? super T> comparator) {
+		if (other == null) {
+			throw new IllegalArgumentException("other must not be null.");
+		}
+
+		if (comparator == null) {
+			throw new IllegalArgumentException("comparator must not be null.");
+		}
+
+		// primitive sources are intersected without boxing
+		if (comparator instanceof DefaultEqualityComparator) {
+			if (this.source instanceof IntIterable) {
+				return new Sequence<T>(Sequence.<T>unchecked(intersectInts((IntIterable)this.source, other)));
+			}
+
+			if (this.source instanceof LongIterable) {
+				return new Sequence<T>(Sequence.<T>unchecked(intersectLongs((LongIterable)this.source, other)));
+			}
+		}
+
 		final List<Key<T>> keys = new ArrayList<Key<T>>();
 		final Map<Key<T>, Boolean> flags = new HashMap<Key<T>, Boolean>();
 
@@ -1042,164 +2224,726 @@ public class Sequence<T> implements Iterable<T> {
 		);
 	}
 
+	/**
+	 * Intersects the ints of {@code source} with {@code other} in an {@link IntHashSet}. Every value
+	 * is removed from the set as it is found, so it is returned only once.
+	 */
+	private static Iterable<Integer> intersectInts(final IntIterable source, final Iterable<?> other) {
+		return new IntSequence(
+			new IntIterable() {
+				@Override
+				public IntIterator intIterator() {
+					final IntHashSet others = new IntHashSet();
+
+					if (other instanceof IntIterable) {
+						for (IntIterator iterator = ((IntIterable)other).intIterator(); iterator.hasNext(); ) {
+							others.add(iterator.nextInt());
+						}
+					} else {
+						for (Object element : other) {
+							// anything else is never equal to an Integer
+							if (element instanceof Integer) {
+								others.add((Integer)element);
+							}
+						}
+					}
+
+					return new IntSelectIterator(source.intIterator(),
+						new IntPredicate() {
+							@Override
+							public boolean invoke(int element) {
+								return others.remove(element);
+							}
+						}
+					);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Intersects the longs of {@code source} with {@code other} in a {@link LongHashSet}. Every value
+	 * is removed from the set as it is found, so it is returned only once.
+	 */
+	private static Iterable<Long> intersectLongs(final LongIterable source, final Iterable<?> other) {
+		return new LongSequence(
+			new LongIterable() {
+				@Override
+				public LongIterator longIterator() {
+					final LongHashSet others = new LongHashSet();
+
+					if (other instanceof LongIterable) {
+						for (LongIterator iterator = ((LongIterable)other).longIterator(); iterator.hasNext(); ) {
+							others.add(iterator.nextLong());
+						}
+					} else {
+						for (Object element : other) {
+							// anything else is never equal to a Long
+							if (element instanceof Long) {
+								others.add((Long)element);
+							}
+						}
+					}
+
+					return new LongSelectIterator(source.longIterator(),
+						new LongPredicate() {
+							@Override
+							public boolean invoke(long element) {
+								return others.remove(element);
+							}
+						}
+					);
+				}
+			}
+		);
+	}
+
 	private <T> Sequence<T> create(Iterable<T> source) {
 		return new Sequence<T>(source);
 	}
 
 	/**
+	 * Returns whether the terminal operations of this sequence may run in parallel,
+	 * see {@link #parallel()}.
 	 *
-	 * @param <T2>
-	 * @param <K>
-	 * @param <R>
-	 * @param inner
-	 * @param outerKeySelector
-	 * @param innerKeySelector
-	 * @param f
-	 * @return
+	 * @return {@code true} if this sequence is parallel, {@code false} otherwise
+	 */
+	public final boolean isParallel() {
+		return this.source instanceof PipelineIterable && ((PipelineIterable<?, ?>)this.source).isParallel();
+	}
+
+	/**
+	 * Correlates the elements of this sequence and {@code inner} by equal keys, see
+	 * {@link #join(Iterable, Func, Func, Func2, EqualityComparator)}.
+	 *
+	 * @param <T2> the type of the inner elements
+	 * @param <K> the type of the key
+	 * @param <R> the type of the result
+	 * @param inner the inner elements
+	 * @param outerKeySelector a function to extract the key of an element of this sequence
+	 * @param innerKeySelector a function to extract the key of an inner element
+	 * @param f a function to produce the result of a pair of elements
+	 * @return the joined sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
 	 */
 	public final <T2, K, R> Sequence<R> join(T2[] inner, Func<? super T, ? extends K> outerKeySelector, Func<? super T2, ? extends K> innerKeySelector, Func2<? super T, ? super T2, ? extends R> f) {
+		if (inner == null) {
+			throw new IllegalArgumentException("inner must not be null.");
+		}
+
 		return join(array(inner), outerKeySelector, innerKeySelector, f);
 	}
 
 	/**
+	 * Correlates the elements of this sequence and {@code inner} by equal keys, see
+	 * {@link #join(Iterable, Func, Func, Func2, EqualityComparator)}.
+	 *
+	 * @param <T2> the type of the inner elements
+	 * @param <K> the type of the key
+	 * @param <R> the type of the result
+	 * @param inner the inner elements
+	 * @param outerKeySelector a function to extract the key of an element of this sequence
+	 * @param innerKeySelector a function to extract the key of an inner element
+	 * @param f a function to produce the result of a pair of elements
+	 * @return the joined sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <T2, K, R> Sequence<R> join(Iterable<T2> inner, Func<? super T, ? extends K> outerKeySelector, Func<? super T2, ? extends K> innerKeySelector, Func2<? super T, ? super T2, ? extends R> f) {
+		return join(inner, outerKeySelector, innerKeySelector, f, new DefaultEqualityComparator<K>());
+	}
+
+	/**
+	 * Correlates the elements of this sequence and {@code inner} by keys that are equal
+	 * according to the {@code comparator}, see {@link #join(Iterable, Func, Func, Func2, EqualityComparator)}.
+	 *
+	 * @param <T2> the type of the inner elements
+	 * @param <K> the type of the key
+	 * @param <R> the type of the result
+	 * @param inner the inner elements
+	 * @param outerKey a function to extract the key of an element of this sequence
+	 * @param innerKey a function to extract the key of an inner element
+	 * @param f a function to produce the result of a pair of elements
+	 * @param comparator the comparator to compare the keys
+	 * @return the joined sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <T2, K, R> Sequence<R> join(T2[] inner, Func<? super T, ? extends K> outerKey,
+											 Func<? super T2, ? extends K> innerKey, Func2<? super T, ? super T2, ? extends R> f,
+											 EqualityComparator<? super K> comparator) {
+
+		if (inner == null) {
+			throw new IllegalArgumentException("inner must not be null.");
+		}
+
+		return join(array(inner), outerKey, innerKey, f, comparator);
+	}
+
+	/**
+	 * Correlates the elements of this sequence and {@code inner} by keys that are equal
+	 * according to the {@code comparator}. Every pair of elements with equal keys produces
+	 * a result, in the order of this sequence and then of {@code inner}. Elements with a
+	 * {@code null} key never match.
+	 *
+	 * This is a hash join, the hash table is built each time the joined sequence is iterated.
+	 * A {@link HashingEqualityComparator} is used to hash the keys, any other comparator has
+	 * to compare every pair of keys. The table holds all inner elements, unless the sizes of
+	 * both sides are known without iterating them (collections and arrays) and this sequence
+	 * is smaller: then the table is built from the keys of this sequence, which is iterated
+	 * twice, and holds only the matching inner elements.
+	 *
+	 * A.k.a. inner join
+	 *
+	 * @param <T2> the type of the inner elements
+	 * @param <K> the type of the key
+	 * @param <R> the type of the result
+	 * @param inner the inner elements
+	 * @param outerKey a function to extract the key of an element of this sequence
+	 * @param innerKey a function to extract the key of an inner element
+	 * @param f a function to produce the result of a pair of elements
+	 * @param comparator the comparator to compare the keys
+	 * @return the joined sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <T2, K, R> Sequence<R> join(Iterable<T2> inner, Func<? super T, ? extends K> outerKey,
+											Func<? super T2, ? extends K> innerKey, Func2<? super T, ? super T2, ? extends R> f,
+											EqualityComparator<? super K> comparator) {
+
+		if (inner == null) {
+			throw new IllegalArgumentException("inner must not be null.");
+		}
+
+		if (outerKey == null) {
+			throw new IllegalArgumentException("outerKey must not be null.");
+		}
+
+		if (innerKey == null) {
+			throw new IllegalArgumentException("innerKey must not be null.");
+		}
+
+		if (f == null) {
+			throw new IllegalArgumentException("f must not be null.");
+		}
+
+		if (comparator == null) {
+			throw new IllegalArgumentException("comparator must not be null.");
+		}
+
+		return new Sequence<R>(new HashJoinIterable<T, T2, K, R>(this.source, inner, outerKey, innerKey, comparator, f, null, null));
+	}
+
+	/**
+	 * Returns an {@link ninja.sequence.monad.Option} with the last element of
+	 * this sequence or an {@code Option} of none if this sequence does not have
+	 * any elements.
+	 *
+	 * @return an {@code Option} with the last element of this sequence or an
+	 * {@code Option} of none if this sequence does not have any elements
+	 */
+	public final Option<T> last() {
+		if (this.source instanceof List) {
+			List<T> list = (List<T>)this.source;
+
+			return !list.isEmpty() ? Option.some(list.get(list.size() - 1)) : Option.<T>none();
+		}
+
+		RandomAccessIterable<T> indexed = Iterables.randomAccess(this.source);
+
+		if (indexed != null) {
+			long size = indexed.size();
+
+			return size > 0 ? Option.some(indexed.get(size - 1)) : Option.<T>none();
+		}
+
+		class Last implements Sink<T> {
+			boolean empty = true;
+			T element;
+
+			@Override
+			public boolean accept(T element) {
+				this.empty = false;
+				this.element = element;
+				return true;
+			}
+		}
+
+		Last last = new Last();
+		push(last);
+
+		return last.empty ? Option.<T>none() : Option.some(last.element);
+	}
+
+	/**
+	 * Returns an {@link ninja.sequence.monad.Option} with the last element in
+	 * this sequence that satisfies a condition or an {@code Option} of none if
+	 * this sequence does not have any elements or none of the elements satsify
+	 * the condition.
+	 *
+	 * @param predicate A function to test each element for a condition
+	 * @return an {@code Option} with the last element in this sequence that satisfies
+	 * a condition or an{@code Option} of none if this sequence does not have any
+	 * elements or none of the elements satsify the condition
+	 * @throws java.lang.IllegalArgumentException if the specified predicate is {@code null}
+	 */
+	public final Option<T> last(Predicate<? super T> predicate) {
+		return select(predicate).last();
+	}
+
+	/**
+	 * Correlates the elements of this sequence and {@code inner} by equal keys like
+	 * {@link #join(Iterable, Func, Func, Func2)}, but also produces a result for every element
+	 * of this sequence without a match, with an option of none as the inner element.
+	 *
+	 * A.k.a. left outer join
+	 *
+	 * @param <T2> the type of the inner elements
+	 * @param <K> the type of the key
+	 * @param <R> the type of the result
+	 * @param inner the inner elements
+	 * @param outerKeySelector a function to extract the key of an element of this sequence
+	 * @param innerKeySelector a function to extract the key of an inner element
+	 * @param resultSelector a function to produce the result of a pair of elements
+	 * @return the joined sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <T2, K, R> Sequence<R> leftJoin(Iterable<? extends T2> inner, Func<? super T, ? extends K> outerKeySelector,
+		Func<? super T2, ? extends K> innerKeySelector, Func2<? super T, ? super Option<T2>, ? extends R> resultSelector) {
+
+		return leftJoin(inner, outerKeySelector, innerKeySelector, resultSelector, new DefaultEqualityComparator<K>());
+	}
+
+	/**
+	 * Correlates the elements of this sequence and {@code inner} by keys that are equal according
+	 * to the {@code comparator} like {@link #join(Iterable, Func, Func, Func2, EqualityComparator)},
+	 * but also produces a result for every element of this sequence without a match, with an
+	 * option of none as the inner element. This sequence is streamed in order.
+	 *
+	 * A.k.a. left outer join
+	 *
+	 * @param <T2> the type of the inner elements
+	 * @param <K> the type of the key
+	 * @param <R> the type of the result
+	 * @param inner the inner elements
+	 * @param outerKeySelector a function to extract the key of an element of this sequence
+	 * @param innerKeySelector a function to extract the key of an inner element
+	 * @param resultSelector a function to produce the result of a pair of elements
+	 * @param comparator the comparator to compare the keys
+	 * @return the joined sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <T2, K, R> Sequence<R> leftJoin(Iterable<? extends T2> inner, Func<? super T, ? extends K> outerKeySelector,
+		Func<? super T2, ? extends K> innerKeySelector, final Func2<? super T, ? super Option<T2>, ? extends R> resultSelector,
+		EqualityComparator<? super K> comparator) {
+
+		if (inner == null) {
+			throw new IllegalArgumentException("inner must not be null.");
+		}
+
+		if (outerKeySelector == null) {
+			throw new IllegalArgumentException("outerKeySelector must not be null.");
+		}
+
+		if (innerKeySelector == null) {
+			throw new IllegalArgumentException("innerKeySelector must not be null.");
+		}
+
+		if (resultSelector == null) {
+			throw new IllegalArgumentException("resultSelector must not be null.");
+		}
+
+		if (comparator == null) {
+			throw new IllegalArgumentException("comparator must not be null.");
+		}
+
+		return new Sequence<R>(
+			new HashJoinIterable<T, T2, K, R>(this.source, inner, outerKeySelector, innerKeySelector, comparator,
+				new Func2<T, T2, R>() {
+					@Override
+					public R invoke(T outer, T2 inner) {
+						return resultSelector.invoke(outer, Option.some(inner));
+					}
+				},
+				new Func<T, R>() {
+					@Override
+					public R invoke(T outer) {
+						return resultSelector.invoke(outer, Option.<T2>none());
+					}
+				},
+				null
+			)
+		);
+	}
+
+	/**
+	 * Correlates the elements of this sequence and {@code inner} by their keys like
+	 * {@link #mergeJoin(Iterable, Func, Func, Func2)}, but also produces a result for every
+	 * element of this sequence without a match, with an option of none as the inner element.
+	 *
+	 * A.k.a. left outer join
+	 *
+	 * @param <T2> the type of the inner elements
+	 * @param <K> the type of the key
+	 * @param <R> the type of the result
+	 * @param inner the inner elements, sorted ascending by their keys
+	 * @param outerKeySelector a function to extract the key of an element of this sequence
+	 * @param innerKeySelector a function to extract the key of an inner element
+	 * @param resultSelector a function to produce the result of a pair of elements
+	 * @return the joined sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <T2, K, R> Sequence<R> leftMergeJoin(Iterable<? extends T2> inner, Func<? super T, ? extends K> outerKeySelector,
+		Func<? super T2, ? extends K> innerKeySelector, Func2<? super T, ? super Option<T2>, ? extends R> resultSelector) {
+
+		return leftMergeJoin(inner, outerKeySelector, innerKeySelector, resultSelector, new DefaultComparator<K>());
+	}
+
+	/**
+	 * Correlates the elements of this sequence and {@code inner} by their keys like
+	 * {@link #mergeJoin(Iterable, Func, Func, Func2, Comparator)}, but also produces a result for
+	 * every element of this sequence without a match, with an option of none as the inner element.
+	 *
+	 * A.k.a. left outer join
+	 *
+	 * @param <T2> the type of the inner elements
+	 * @param <K> the type of the key
+	 * @param <R> the type of the result
+	 * @param inner the inner elements, sorted ascending by their keys
+	 * @param outerKeySelector a function to extract the key of an element of this sequence
+	 * @param innerKeySelector a function to extract the key of an inner element
+	 * @param resultSelector a function to produce the result of a pair of elements
+	 * @param comparator the comparator both sides are sorted by
+	 * @return the joined sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <T2, K, R> Sequence<R> leftMergeJoin(Iterable<? extends T2> inner, Func<? super T, ? extends K> outerKeySelector,
+		Func<? super T2, ? extends K> innerKeySelector, final Func2<? super T, ? super Option<T2>, ? extends R> resultSelector,
+		Comparator<? super K> comparator) {
+
+		if (resultSelector == null) {
+			throw new IllegalArgumentException("resultSelector must not be null.");
+		}
+
+		return mergeJoin(inner, outerKeySelector, innerKeySelector, comparator,
+			new Func2<T, T2, R>() {
+				@Override
+				public R invoke(T outer, T2 inner) {
+					return resultSelector.invoke(outer, Option.some(inner));
+				}
+			},
+			new Func<T, R>() {
+				@Override
+				public R invoke(T outer) {
+					return resultSelector.invoke(outer, Option.<T2>none());
+				}
+			},
+			null
+		);
+	}
+
+	/**
+	 * Projects each element of a sequence into a new form.
+	 * This projection method requires the transform function, selector, to produce one value for each value in the
+	 * source sequence, source. If selector returns a value that is itself a collection, it is up to the consumer to
+	 * traverse the subsequences manually. In such a situation, it might be better for your query to return a single
+	 * coalesced sequence of values. To achieve this, use the bind method instead of map. Although bind
+	 * works similarly to map, it differs in that the transform function returns a collection that is then expanded
+	 * by bind before it is returned.
+	 *
+	 * If this sequence can be accessed by index, e.g. an array, a range or a list, the result can be
+	 * as well: {@code count}, {@code last}, {@code elementAt} and {@code skip} then compute only the
+	 * elements they return and do not invoke the {@code resultSelector} for any other element. A
+	 * selector with side effects sees fewer invocations than there are elements.
+	 *
+	 * @param <R>
+	 * @param resultSelector
+	 * @throws IllegalArgumentException if the specified resultSelector is null
+	 * @return
+	 */
+	public final <R> Sequence<R> map(final Func<? super T, ? extends R> resultSelector) {
+		if (resultSelector == null) {
+			throw new IllegalArgumentException("resultSelector must not be null.");
+		}
+
+		return new Sequence<R>(PipelineIterable.of(this.source).map(resultSelector));
+	}
+
+	/**
+	 * Projects each element of this sequence into a primitive int.
+	 *
+	 * @param resultSelector A function to produce the resulting int of an element
+	 * @return a sequence of primitive ints
+	 * @throws IllegalArgumentException if the specified resultSelector is null
+	 */
+	public final IntSequence mapToInt(final ToIntFunc<? super T> resultSelector) {
+		if (resultSelector == null) {
+			throw new IllegalArgumentException("resultSelector must not be null.");
+		}
+
+		return new IntSequence(
+			new IntIterable() {
+				@Override
+				public IntIterator intIterator() {
+					return new MapToIntIterator<T>(source.iterator(), resultSelector);
+				}
+			}
+		);
+	}
+
+	/**
+	 * Projects each element of this sequence into a primitive long.
 	 *
-	 * @param <T2>
-	 * @param <K>
-	 * @param <R>
-	 * @param inner
-	 * @param outerKeySelector
-	 * @param innerKeySelector
-	 * @param f
-	 * @return
+	 * @param resultSelector A function to produce the resulting long of an element
+	 * @return a sequence of primitive longs
+	 * @throws IllegalArgumentException if the specified resultSelector is null
 	 */
-	public final <T2, K, R> Sequence<R> join(Iterable<T2> inner, final Func<? super T, ? extends K> outerKeySelector, final Func<? super T2, ? extends K> innerKeySelector, final Func2<? super T, ? super T2, ? extends R> f) {
-		final Map<K, GroupedSequence<K, T2>> map = new Sequence<T2>(inner).groupBy(innerKeySelector).asHashMap(
-			new Func<GroupedSequence<K, T2>, K>() {
+	public final LongSequence mapToLong(final ToLongFunc<? super T> resultSelector) {
+		if (resultSelector == null) {
+			throw new IllegalArgumentException("resultSelector must not be null.");
+		}
+
+		return new LongSequence(
+			new LongIterable() {
 				@Override
-				public K invoke(GroupedSequence<K, T2> arg) {
-					return arg.getKey();
+				public LongIterator longIterator() {
+					return new MapToLongIterator<T>(source.iterator(), resultSelector);
 				}
 			}
 		);
+	}
 
-		return new Sequence<R>(
-			new Iterable<R>() {
+	/**
+	 * Projects each element of this sequence into a primitive double.
+	 *
+	 * @param resultSelector A function to produce the resulting double of an element
+	 * @return a sequence of primitive doubles
+	 * @throws IllegalArgumentException if the specified resultSelector is null
+	 */
+	public final DoubleSequence mapToDouble(final ToDoubleFunc<? super T> resultSelector) {
+		if (resultSelector == null) {
+			throw new IllegalArgumentException("resultSelector must not be null.");
+		}
+
+		return new DoubleSequence(
+			new DoubleIterable() {
 				@Override
-				public Iterator<R> iterator() {
-					return new JoinIterator<T, T2, K, R>(source.iterator(), map, outerKeySelector, f);
+				public DoubleIterator doubleIterator() {
+					return new MapToDoubleIterator<T>(source.iterator(), resultSelector);
 				}
 			}
 		);
 	}
 
 	/**
+	 * Computes the largest value of the elements of this sequence per key, in a single pass over
+	 * primitive counters. The keys are ordered by their first appearance.
 	 *
-	 * @param <T2>
-	 * @param <K>
-	 * @param <R>
-	 * @param inner
-	 * @param outerKey
-	 * @param innerKey
-	 * @param f
-	 * @param comparator
-	 * @return
+	 * @param keySelector a function to extract the key of an element
+	 * @param valueSelector a function to extract the value of an element
+	 * @param <K> the type of the key
+	 * @return a sequence of the keys and the largest of the values of their elements
+	 * @throws IllegalArgumentException if any argument is {@code null}
 	 */
-	public final <T2, K, R> Sequence<R> join(T2[] inner, Func<? super T, ? extends K> outerKey,
-											 Func<? super T2, ? extends K> innerKey, Func2<? super T, ? super T2, ? extends R> f,
-											 EqualityComparator<? super K> comparator) {
-
-		return join(array(inner), outerKey, innerKey, f, comparator);
+	public final <K> Sequence<Tuple<K, Long>> maxLongBy(Func<? super T, ? extends K> keySelector, ToLongFunc<? super T> valueSelector) {
+		return reduceBy(keySelector, valueSelector, Reduction.MAX);
 	}
 
 	/**
+	 * Computes the largest value of the elements of this sequence per key, in a single pass over
+	 * primitive counters. The keys are ordered by their first appearance.
 	 *
-	 * @param <T2>
-	 * @param <K>
-	 * @param <R>
-	 * @param inner
-	 * @param outerKey
-	 * @param innerKey
-	 * @param f
-	 * @param comparator
-	 * @return
+	 * @param keySelector a function to extract the key of an element
+	 * @param valueSelector a function to extract the value of an element
+	 * @param <K> the type of the key
+	 * @return a sequence of the keys and the largest of the values of their elements
+	 * @throws IllegalArgumentException if any argument is {@code null}
 	 */
-	public final <T2, K, R> Sequence<R> join(Iterable<T2> inner, Func<? super T, ? extends K> outerKey,
-											Func<? super T2, ? extends K> innerKey, Func2<? super T, ? super T2, ? extends R> f,
-											EqualityComparator<? super K> comparator) {
-
-		return null;
+	public final <K> Sequence<Tuple<K, Double>> maxDoubleBy(Func<? super T, ? extends K> keySelector, ToDoubleFunc<? super T> valueSelector) {
+		return reduceBy(keySelector, valueSelector, Reduction.MAX);
 	}
 
 	/**
-	 * Returns an {@link ninja.sequence.monad.Option} with the last element of
-	 * this sequence or an {@code Option} of none if this sequence does not have
-	 * any elements.
+	 * Caches the elements of this sequence as they are pulled by the first iterator of the
+	 * returned sequence. Later iterators, and iterators running at the same time in other
+	 * threads, replay the cached elements instead of running the pipeline again. This
+	 * sequence is iterated at most once and never by two threads at once.
 	 *
-	 * @return an {@code Option} with the last element of this sequence or an
-	 * {@code Option} of none if this sequence does not have any elements
+	 * All elements pulled are kept in memory as long as the returned sequence is reachable.
+	 *
+	 * @return the memoized sequence
 	 */
-	public final Option<T> last() {
-		if (this.source instanceof List) {
-			List<T> list = (List<T>)this.source;
+	public final Sequence<T> memoize() {
+		return new Sequence<T>(new MemoizeIterable<T>(this.source, Integer.MAX_VALUE, false));
+	}
 
-			return !list.isEmpty() ? Option.some(list.get(list.size() - 1)) : Option.<T>none();
+	/**
+	 * Caches the first {@code maxSize} elements of this sequence as they are pulled by the
+	 * first iterator of the returned sequence, like {@link #memoize()}. The iterator which
+	 * goes past the cached elements takes over the iteration of this sequence, every other
+	 * iterator going past them iterates this sequence again from its start.
+	 *
+	 * @param maxSize the maximum number of cached elements
+	 * @return the memoized sequence
+	 * @throws IllegalArgumentException if {@code maxSize} is not positive
+	 */
+	public final Sequence<T> memoize(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("maxSize must be positive.");
 		}
 
-		Iterator<? extends T> iterator = this.source.iterator();
-
-		if (!iterator.hasNext()) {
-			return Option.none();
-		}
+		return new Sequence<T>(new MemoizeIterable<T>(this.source, maxSize, false));
+	}
 
-		T last = iterator.next();
-		while (iterator.hasNext()) {
-			last = iterator.next();
+	/**
+	 * Caches the last {@code size} elements of this sequence pulled by the iterators of the
+	 * returned sequence. Iterators running close to each other share a single iteration of
+	 * this sequence, an iterator which falls behind by more than {@code size} elements
+	 * iterates this sequence again from its start.
+	 *
+	 * @param size the number of cached elements
+	 * @return the memoized sequence
+	 * @throws IllegalArgumentException if {@code size} is not positive
+	 */
+	public final Sequence<T> memoizeLast(int size) {
+		if (size <= 0) {
+			throw new IllegalArgumentException("size must be positive.");
 		}
 
-		return Option.some(last);
+		return new Sequence<T>(new MemoizeIterable<T>(this.source, size, true));
 	}
 
 	/**
-	 * Returns an {@link ninja.sequence.monad.Option} with the last element in
-	 * this sequence that satisfies a condition or an {@code Option} of none if
-	 * this sequence does not have any elements or none of the elements satsify
-	 * the condition.
+	 * Correlates the elements of this sequence and {@code inner} by their keys, both sides
+	 * must be sorted ascending by their keys in the natural order. Every pair of elements
+	 * with equal keys produces a result, in the order of this sequence and then of
+	 * {@code inner}. Elements with a {@code null} key never match.
 	 *
-	 * @param predicate A function to test each element for a condition
-	 * @return an {@code Option} with the last element in this sequence that satisfies
-	 * a condition or an{@code Option} of none if this sequence does not have any
-	 * elements or none of the elements satsify the condition
-	 * @throws java.lang.IllegalArgumentException if the specified predicate is {@code null}
+	 * Both sides are streamed in lockstep, only the current run of inner elements with the
+	 * same key is held in memory. Unsorted input gives incomplete results.
+	 *
+	 * @param <T2> the type of the inner elements
+	 * @param <K> the type of the key
+	 * @param <R> the type of the result
+	 * @param inner the inner elements, sorted ascending by their keys
+	 * @param outerKeySelector a function to extract the key of an element of this sequence
+	 * @param innerKeySelector a function to extract the key of an inner element
+	 * @param resultSelector a function to produce the result of a pair of elements
+	 * @return the joined sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
 	 */
-	public final Option<T> last(Predicate<? super T> predicate) {
-		return select(predicate).last();
+	public final <T2, K, R> Sequence<R> mergeJoin(Iterable<? extends T2> inner, Func<? super T, ? extends K> outerKeySelector,
+		Func<? super T2, ? extends K> innerKeySelector, Func2<? super T, ? super T2, ? extends R> resultSelector) {
+
+		return mergeJoin(inner, outerKeySelector, innerKeySelector, resultSelector, new DefaultComparator<K>());
 	}
 
 	/**
-	 * Projects each element of a sequence into a new form.
-	 * This projection method requires the transform function, selector, to produce one value for each value in the
-	 * source sequence, source. If selector returns a value that is itself a collection, it is up to the consumer to
-	 * traverse the subsequences manually. In such a situation, it might be better for your query to return a single
-	 * coalesced sequence of values. To achieve this, use the bind method instead of map. Although bind
-	 * works similarly to map, it differs in that the transform function returns a collection that is then expanded
-	 * by bind before it is returned.
+	 * Correlates the elements of this sequence and {@code inner} by their keys, both sides
+	 * must be sorted ascending by their keys according to the {@code comparator}, see
+	 * {@link #mergeJoin(Iterable, Func, Func, Func2)}.
 	 *
-	 * @param <R>
-	 * @param resultSelector
-	 * @throws IllegalArgumentException if the specified resultSelector is null
-	 * @return
-	 */
-	public final <R> Sequence<R> map(final Func<? super T, ? extends R> resultSelector) {
+	 * @param <T2> the type of the inner elements
+	 * @param <K> the type of the key
+	 * @param <R> the type of the result
+	 * @param inner the inner elements, sorted ascending by their keys
+	 * @param outerKeySelector a function to extract the key of an element of this sequence
+	 * @param innerKeySelector a function to extract the key of an inner element
+	 * @param resultSelector a function to produce the result of a pair of elements
+	 * @param comparator the comparator both sides are sorted by
+	 * @return the joined sequence
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <T2, K, R> Sequence<R> mergeJoin(Iterable<? extends T2> inner, Func<? super T, ? extends K> outerKeySelector,
+		Func<? super T2, ? extends K> innerKeySelector, Func2<? super T, ? super T2, ? extends R> resultSelector,
+		Comparator<? super K> comparator) {
+
+		if (resultSelector == null) {
+			throw new IllegalArgumentException("resultSelector must not be null.");
+		}
+
+		return mergeJoin(inner, outerKeySelector, innerKeySelector, comparator, resultSelector, null, null);
+	}
+
+	private <T2, K, R> Sequence<R> mergeJoin(final Iterable<? extends T2> inner, final Func<? super T, ? extends K> outerKeySelector,
+		final Func<? super T2, ? extends K> innerKeySelector, final Comparator<? super K> comparator,
+		final Func2<? super T, ? super T2, ? extends R> matched, final Func<? super T, ? extends R> outerOnly,
+		final Func<? super T2, ? extends R> innerOnly) {
+
+		if (inner == null) {
+			throw new IllegalArgumentException("inner must not be null.");
+		}
+
+		if (outerKeySelector == null) {
+			throw new IllegalArgumentException("outerKeySelector must not be null.");
+		}
+
+		if (innerKeySelector == null) {
+			throw new IllegalArgumentException("innerKeySelector must not be null.");
+		}
+
+		if (comparator == null) {
+			throw new IllegalArgumentException("comparator must not be null.");
+		}
+
 		return new Sequence<R>(
 			new Iterable<R>() {
 				@Override
 				public Iterator<R> iterator() {
-					return new MapIterator<T, R>(source.iterator(), resultSelector);
+					return new MergeJoinIterator<T, T2, K, R>(source.iterator(), inner.iterator(), outerKeySelector, innerKeySelector,
+						comparator, matched, outerOnly, innerOnly);
 				}
 			}
 		);
 	}
 
+	/**
+	 * Computes the smallest value of the elements of this sequence per key, in a single pass over
+	 * primitive counters. The keys are ordered by their first appearance.
+	 *
+	 * @param keySelector a function to extract the key of an element
+	 * @param valueSelector a function to extract the value of an element
+	 * @param <K> the type of the key
+	 * @return a sequence of the keys and the smallest of the values of their elements
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <K> Sequence<Tuple<K, Long>> minLongBy(Func<? super T, ? extends K> keySelector, ToLongFunc<? super T> valueSelector) {
+		return reduceBy(keySelector, valueSelector, Reduction.MIN);
+	}
+
+	/**
+	 * Computes the smallest value of the elements of this sequence per key, in a single pass over
+	 * primitive counters. The keys are ordered by their first appearance.
+	 *
+	 * @param keySelector a function to extract the key of an element
+	 * @param valueSelector a function to extract the value of an element
+	 * @param <K> the type of the key
+	 * @return a sequence of the keys and the smallest of the values of their elements
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <K> Sequence<Tuple<K, Double>> minDoubleBy(Func<? super T, ? extends K> keySelector, ToDoubleFunc<? super T> valueSelector) {
+		return reduceBy(keySelector, valueSelector, Reduction.MIN);
+	}
+
+	/**
+	 * Returns an equivalent sequence whose terminal operations may run in parallel.
+	 *
+	 * If the source can be split by index (an array, a {@link java.util.RandomAccess} list,
+	 * a range or a repetition) and the sequence is large enough, {@link #aggregate(Object, Accumulator, Accumulator)},
+	 * {@link #all(Predicate)}, {@link #any(Predicate)}, {@link #collect(Collection)} and
+	 * {@link #count()} split it into contiguous chunks and run the {@link #map(Func) map} and
+	 * {@link #select(Predicate) select} stages of every chunk on a shared fork/join pool.
+	 * The results of the chunks are merged in encounter order. Sequences with
+	 * {@link #skip(long) skip} or {@link #take(long) take} stages and all other operations
+	 * still run sequentially. Sorting a parallel sequence runs the merge sort on the same
+	 * pool, see {@link SortedSequence}.
+	 *
+	 * The delegates of a parallel sequence, including the comparators of its sort keys, may be
+	 * invoked concurrently and must be thread-safe.
+	 *
+	 * @return the parallel sequence
+	 */
+	public final Sequence<T> parallel() {
+		return new Sequence<T>(PipelineIterable.of(this.source).parallel(true));
+	}
+
 	/**
 	 * Concatenates two sequences by prepending {@code other} to this sequence.
 	 *
@@ -1235,10 +2979,15 @@ public class Sequence<T> implements Iterable<T> {
 
 	/**
 	 * Inverts the order of the elements in a sequence.
+	 * The default implementation of this method is using deferred execution.
+	 *
+	 * Lists, navigable sets and sequences which can be accessed by index, e.g. arrays, ranges
+	 * and their maps, skips and takes, are iterated backwards without buffering. Any other
+	 * sequence is buffered into an array each time the returned sequence is iterated.
 	 *
 	 * @return a sequence whose elements correspond to those of the input sequence in reverse order.
-	 * @throws IllegalArgumentException if other is {@code null}
 	 */
+	@SuppressWarnings("unchecked")
 	public final Sequence<T> reverse() {
 		Iterable<T> iterable;
 
@@ -1258,19 +3007,10 @@ public class Sequence<T> implements Iterable<T> {
 					return ((NavigableSet<T>)source).descendingIterator();
 				}
 			};
+		} else if (Iterables.randomAccess(this.source) != null) {
+			iterable = new ReverseRandomAccessIterable<T>(Iterables.randomAccess(this.source));
 		} else {
-			final ListIterator<T> listIterator = new ArrayList<T>().listIterator();
-
-			for (T element : source) {
-				listIterator.add(element);
-			}
-
-			iterable = new Iterable<T>() {
-				@Override
-				public Iterator<T> iterator() {
-					return new InvertedListIterator<T>(listIterator);
-				}
-			};
+			iterable = new ReverseIterable<T>(this.source);
 		}
 
 		return new Sequence<T>(iterable);
@@ -1287,14 +3027,26 @@ public class Sequence<T> implements Iterable<T> {
 	 * @return An IEnumerable<T> that contains elements of the input sequence that satisfy the condition.
 	 */
 	public final Sequence<T> select(final Predicate<? super T> predicate) {
-		return new Sequence<T>(
-			new Iterable<T>() {
-				@Override
-				public Iterator<T> iterator() {
-					return new SelectIterator<T>(source.iterator(), predicate);
-				}
-			}
-		);
+		if (predicate == null) {
+			throw new IllegalArgumentException("predicate must not be null.");
+		}
+
+		return new Sequence<T>(PipelineIterable.of(this.source).select(predicate));
+	}
+
+	/**
+	 * Returns an equivalent sequence whose terminal operations run on the calling thread,
+	 * undoing {@link #parallel()}.
+	 *
+	 * @return the sequential sequence
+	 */
+	@SuppressWarnings("unchecked")
+	public final Sequence<T> sequential() {
+		if (!isParallel()) {
+			return this;
+		}
+
+		return new Sequence<T>(((PipelineIterable<?, T>)this.source).parallel(false));
 	}
 
 	/**
@@ -1305,14 +3057,7 @@ public class Sequence<T> implements Iterable<T> {
 	 * @return
 	 */
 	public final Sequence<T> skip(final long count) {
-		return new Sequence<T>(
-			new Iterable<T>() {
-				@Override
-				public Iterator<T> iterator() {
-					return new SkipIterator<T>(source.iterator(), count);
-				}
-			}
-		);
+		return new Sequence<T>(PipelineIterable.of(this.source).skip(count));
 	}
 
 	/**
@@ -1344,14 +3089,7 @@ public class Sequence<T> implements Iterable<T> {
 	 * @return
 	 */
 	public final Sequence<T> take(final long count) {
-		return new Sequence<T>(
-			new Iterable<T>() {
-				@Override
-				public Iterator<T> iterator() {
-					return new TakeIterator<T>(source.iterator(), count);
-				}
-			}
-		);
+		return new Sequence<T>(PipelineIterable.of(this.source).take(count));
 	}
 
 	/**
@@ -1422,6 +3160,66 @@ public class Sequence<T> implements Iterable<T> {
 		return SortedSequence.create(this, keySelector, comparator, true);
 	}
 
+	/**
+	 * Computes the sum of the values of the elements of this sequence per key, in a single pass
+	 * over primitive counters. The keys are ordered by their first appearance.
+	 *
+	 * @param keySelector a function to extract the key of an element
+	 * @param valueSelector a function to extract the value of an element
+	 * @param <K> the type of the key
+	 * @return a sequence of the keys and the sum of the values of their elements
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <K> Sequence<Tuple<K, Long>> sumLongBy(Func<? super T, ? extends K> keySelector, ToLongFunc<? super T> valueSelector) {
+		return reduceBy(keySelector, valueSelector, Reduction.SUM);
+	}
+
+	/**
+	 * Computes the sum of the values of the elements of this sequence per key, in a single pass
+	 * over primitive counters. The keys are ordered by their first appearance.
+	 *
+	 * @param keySelector a function to extract the key of an element
+	 * @param valueSelector a function to extract the value of an element
+	 * @param <K> the type of the key
+	 * @return a sequence of the keys and the sum of the values of their elements
+	 * @throws IllegalArgumentException if any argument is {@code null}
+	 */
+	public final <K> Sequence<Tuple<K, Double>> sumDoubleBy(Func<? super T, ? extends K> keySelector, ToDoubleFunc<? super T> valueSelector) {
+		return reduceBy(keySelector, valueSelector, Reduction.SUM);
+	}
+
+	private <K> Sequence<Tuple<K, Long>> reduceBy(Func<? super T, ? extends K> keySelector, ToLongFunc<? super T> valueSelector,
+		Reduction reduction) {
+
+		if (keySelector == null) {
+			throw new IllegalArgumentException("keySelector must not be null.");
+		}
+
+		if (valueSelector == null) {
+			throw new IllegalArgumentException("valueSelector must not be null.");
+		}
+
+		return new Sequence<Tuple<K, Long>>(
+			new LongGroupAggregateIterable<T, K>(this.source, keySelector, valueSelector, new DefaultEqualityComparator<K>(), reduction)
+		);
+	}
+
+	private <K> Sequence<Tuple<K, Double>> reduceBy(Func<? super T, ? extends K> keySelector, ToDoubleFunc<? super T> valueSelector,
+		Reduction reduction) {
+
+		if (keySelector == null) {
+			throw new IllegalArgumentException("keySelector must not be null.");
+		}
+
+		if (valueSelector == null) {
+			throw new IllegalArgumentException("valueSelector must not be null.");
+		}
+
+		return new Sequence<Tuple<K, Double>>(
+			new DoubleGroupAggregateIterable<T, K>(this.source, keySelector, valueSelector, new DefaultEqualityComparator<K>(), reduction)
+		);
+	}
+
 	/**
 	 *
 	 * @param other
@@ -1485,6 +3283,17 @@ public class Sequence<T> implements Iterable<T> {
 	 * @return
 	 */
 	public final <T2> Sequence<Tuple<T, T2>> zip(final Iterable<? extends T2> other) {
+		if (other == null) {
+			throw new IllegalArgumentException("other must no be null.");
+		}
+
+		RandomAccessIterable<T> indexed = Iterables.randomAccess(this.source);
+		RandomAccessIterable<? extends T2> otherIndexed = randomAccess(other);
+
+		if (indexed != null && otherIndexed != null) {
+			return new Sequence<Tuple<T, T2>>(new ZipRandomAccessIterable<T, T2>(indexed, otherIndexed));
+		}
+
 		return new Sequence<Tuple<T, T2>>(
 			new Iterable<Tuple<T, T2>>() {
 				@Override
@@ -1504,6 +3313,10 @@ public class Sequence<T> implements Iterable<T> {
 	 * @return
 	 */
 	public final <T2, R> Sequence<R> zip(T2[] other, Func2<? super T, ? super T2, ? extends R> f) {
+		if (other == null) {
+			throw new IllegalArgumentException("other must no be null.");
+		}
+
 		return zip(array(other), f);
 	}
 
@@ -1515,8 +3328,19 @@ public class Sequence<T> implements Iterable<T> {
 	 * @param f
 	 * @return
 	 */
-	public final <T2, R> Sequence<R> zip(Iterable<? extends T2> other, Func2<? super T, ? super T2, ? extends R> f) {
-		return null;
+	public final <T2, R> Sequence<R> zip(Iterable<? extends T2> other, final Func2<? super T, ? super T2, ? extends R> f) {
+		if (f == null) {
+			throw new IllegalArgumentException("f must not be null.");
+		}
+
+		return zip(other).map(
+			new Func<Tuple<T, T2>, R>() {
+				@Override
+				public R invoke(Tuple<T, T2> tuple) {
+					return f.invoke(tuple.getFirst(), tuple.getSecond());
+				}
+			}
+		);
 	}
 
 	/**
@@ -1540,6 +3364,10 @@ public class Sequence<T> implements Iterable<T> {
 	 * @return
 	 */
 	public final <T2> Sequence<Tuple<Option<T>, Option<T2>>> zipAll(final Iterable<? extends T2> other) {
+		if (other == null) {
+			throw new IllegalArgumentException("other must no be null.");
+		}
+
 		return new Sequence<Tuple<Option<T>, Option<T2>>>(
 			new Iterable<Tuple<Option<T>, Option<T2>>>() {
 				@Override
@@ -1559,7 +3387,11 @@ public class Sequence<T> implements Iterable<T> {
 	 * @return
 	 */
 	public final <T2, R> Sequence<R> zipAll(T2[] other, Func2<Option<? super T>, Option<? super T2>, ? extends R> f) {
-		return null;
+		if (other == null) {
+			throw new IllegalArgumentException("other must no be null.");
+		}
+
+		return zipAll(array(other), f);
 	}
 
 	/**
@@ -1570,8 +3402,19 @@ public class Sequence<T> implements Iterable<T> {
 	 * @param f
 	 * @return
 	 */
-	public final <T2, R> Sequence<R> zipAll(Iterable<? extends T2> other, Func2<Option<? super T>, Option<? super T2>, ? extends R> f) {
-		return null;
+	public final <T2, R> Sequence<R> zipAll(Iterable<? extends T2> other, final Func2<Option<? super T>, Option<? super T2>, ? extends R> f) {
+		if (f == null) {
+			throw new IllegalArgumentException("f must not be null.");
+		}
+
+		return zipAll(other).map(
+			new Func<Tuple<Option<T>, Option<T2>>, R>() {
+				@Override
+				public R invoke(Tuple<Option<T>, Option<T2>> tuple) {
+					return f.invoke(tuple.getFirst(), tuple.getSecond());
+				}
+			}
+		);
 	}
 
 	@Override
@@ -1579,12 +3422,52 @@ public class Sequence<T> implements Iterable<T> {
 		return this.source.iterator();
 	}
 
-	private <T> Iterable<T> array(final T... elements) {
-		return new Iterable<T>() {
-			@Override
-			public Iterator<T> iterator() {
-				return new ArrayIterator<T>(elements);
+	/**
+	 * Feeds all elements of this sequence into the sink, see {@link Iterables#forEach(Iterable, Sink)}.
+	 */
+	private boolean push(Sink<? super T> sink) {
+		return Iterables.forEach(this.source, sink);
+	}
+
+	/**
+	 * Feeds all elements of this sequence into sinks created by the factory, one per chunk
+	 * if this sequence is parallel, see {@link PipelineIterable#push(SinkFactory)}.
+	 */
+	@SuppressWarnings("unchecked")
+	private <S extends Sink<? super T>> List<S> push(SinkFactory<S> factory) {
+		if (this.source instanceof PipelineIterable) {
+			return ((PipelineIterable<?, T>)this.source).push(factory);
+		}
+
+		S sink = factory.create();
+		push(sink);
+
+		return Collections.singletonList(sink);
+	}
+
+	private List<Buffer> pushBuffers() {
+		return push(
+			new SinkFactory<Buffer>() {
+				@Override
+				public Buffer create() {
+					return new Buffer();
+				}
 			}
-		};
+		);
+	}
+
+	private final class Buffer implements Sink<T> {
+		final List<T> elements = new ArrayList<T>();
+
+		@Override
+		public boolean accept(T element) {
+			this.elements.add(element);
+			return true;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> Iterable<T> array(final T... elements) {
+		return new ArrayIterable<T>(elements);
 	}
 }
@@ -1,32 +1,96 @@
 package ninja.sequence;
 
+import java.io.File;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 
 import ninja.sequence.contract.Check;
 import ninja.sequence.delegate.Func;
-import ninja.sequence.internal.MapIterator;
-import ninja.sequence.internal.util.DefaultComparator;
-import ninja.sequence.monad.Indexed;
+import ninja.sequence.internal.AbstractArrayIterator;
+import ninja.sequence.internal.ExternalSortIterable;
+import ninja.sequence.internal.LimitableIterable;
+import ninja.sequence.internal.SortOrder;
+import ninja.sequence.internal.util.IntComparator;
+import ninja.sequence.internal.util.MergeSort;
+import ninja.sequence.io.Serializer;
 
+/**
+ * A sequence sorted by one or more keys. Elements with equal keys keep their original order.
+ *
+ * The elements are sorted by a stable merge sort each time the sequence is iterated. Every
+ * key is extracted exactly once per element and sort level before sorting, so the key
+ * selectors may be expensive. The sort only runs on the shared fork/join pool if the sorted
+ * sequence is {@link Sequence#parallel() parallel}; the comparators are then invoked
+ * concurrently and must be thread-safe. Otherwise they are only invoked by the iterating thread.
+ *
+ * Followed by {@link #take(long)} or {@link #first()}, only the first elements are selected
+ * with a bounded heap instead, in O(n log k) time and O(k) memory for k elements.
+ *
+ * A sequence which does not fit on the heap can be sorted {@link #external(Serializer, int) externally}.
+ */
 public class SortedSequence<T, K> extends Sequence<T> {
-	private final List<Comparator<? super T>> comparators;
+	private final OrderedIterable<T> ordered;
 
 	public static <T, K> SortedSequence<T, K> create(Iterable<T> source, Func<? super T, ? extends K> keySelector,
 		Comparator<? super K> comparator, boolean descending) {
 
+		Check.argumentNotNull(source, "source must not be null.");
+
 		return new SortedSequence<T, K>(
-			new OrderedIterable<T, K>(source, keySelector, comparator, descending)
+			new OrderedIterable<T>(source, SortOrder.<T>create(), source instanceof Sequence && ((Sequence<T>)source).isParallel(),
+				null, 0, null)
+				.then(keySelector, comparator, descending)
 		);
 	}
 
-	private SortedSequence(OrderedIterable<T, K> source) {
+	private SortedSequence(OrderedIterable<T> source) {
 		super(source);
 
-		this.comparators = source.comparators;
+		this.ordered = source;
+	}
+
+	/**
+	 * Sorts with a memory budget of {@code runSize} elements, spilling to the default temporary directory.
+	 *
+	 * @see #external(Serializer, int, File)
+	 */
+	public final SortedSequence<T, K> external(Serializer<T> serializer, int runSize) {
+		return external(serializer, runSize, null);
+	}
+
+	/**
+	 * Sorts with a memory budget of {@code runSize} elements. Every {@code runSize} elements are
+	 * sorted in memory and written to a temporary file in the {@code directory} with the
+	 * {@code serializer}; iterating the sequence merges the sorted files lazily, holding only one
+	 * element per file in memory. At most 64 files are merged at once, more files are first merged
+	 * into fewer, longer ones. The order is the same as without a budget, including the levels
+	 * added with {@code thenBy} later on. A sequence of at most {@code runSize} elements is sorted
+	 * without touching the disk.
+	 *
+	 * The files are deleted as soon as they are merged, and all of them once a limited iteration
+	 * such as {@code take} reaches its limit. An iterator which is abandoned before its end leaves
+	 * its files behind. Failing to write or read them throws a
+	 * {@link ninja.sequence.io.SequenceIOException}.
+	 *
+	 * @param serializer the serializer to write the elements to and read them back from the files
+	 * @param runSize the maximum number of elements held in memory at once
+	 * @param directory the directory of the temporary files, {@code null} for the default temporary directory
+	 * @return the sorted sequence with the memory budget
+	 * @throws IllegalArgumentException if {@code serializer} is {@code null} or {@code runSize} is not positive
+	 */
+	public final SortedSequence<T, K> external(Serializer<T> serializer, int runSize, File directory) {
+		if (serializer == null) {
+			throw new IllegalArgumentException("serializer must not be null.");
+		}
+
+		if (runSize <= 0) {
+			throw new IllegalArgumentException("runSize must be positive.");
+		}
+
+		return new SortedSequence<T, K>(this.ordered.external(serializer, runSize, directory));
 	}
 
 	public final SortedSequence<T, K> thenBy(Func<? super T, ? extends K> keySelector) {
@@ -34,9 +98,7 @@ public class SortedSequence<T, K> extends Sequence<T> {
 	}
 
 	public final SortedSequence<T, K> thenBy(Func<? super T, ? extends K> keySelector, Comparator<? super K> comparator) {
-		return new SortedSequence<T, K>(
-			new OrderedIterable<T, K>(this, keySelector, comparator, false, this.comparators)
-		);
+		return new SortedSequence<T, K>(this.ordered.then(keySelector, comparator, false));
 	}
 
 	public final SortedSequence<T, K> thenByDescending(Func<? super T, ? extends K> keySelector) {
@@ -44,88 +106,240 @@ public class SortedSequence<T, K> extends Sequence<T> {
 	}
 
 	public final SortedSequence<T, K> thenByDescending(Func<? super T, ? extends K> keySelector, Comparator<? super K> comparator) {
-		return new SortedSequence<T, K>(
-			new OrderedIterable<T, K>(this, keySelector, comparator, true, this.comparators)
-		);
+		return new SortedSequence<T, K>(this.ordered.then(keySelector, comparator, true));
 	}
 
-	private static class OrderedIterable<TSource, TKey> implements Iterable<TSource> {
+	private static class OrderedIterable<TSource> implements LimitableIterable<TSource> {
+		// the unsorted elements, further levels are added to the same source instead of sorting a sorted sequence again
 		private final Iterable<TSource> source;
-		private final List<Comparator<? super TSource>> comparators;
+		private final SortOrder<TSource> order;
+		private final boolean parallel;
+
+		// spills runs of runSize elements to the directory if the serializer is set
+		private final Serializer<TSource> serializer;
+		private final int runSize;
+		private final File directory;
 
-		public OrderedIterable(Iterable<TSource> source, final Func<? super TSource, ? extends TKey> keySelector,
-			final Comparator<? super TKey> comparator, final boolean descending) {
+		OrderedIterable(Iterable<TSource> source, SortOrder<TSource> order, boolean parallel, Serializer<TSource> serializer,
+			int runSize, File directory) {
 
-			this(source, keySelector, comparator, descending, new ArrayList<Comparator<? super TSource>>());
+			this.source = source;
+			this.order = order;
+			this.parallel = parallel;
+			this.serializer = serializer;
+			this.runSize = runSize;
+			this.directory = directory;
 		}
 
-		private Comparator<? super TKey> ensureComparator(Comparator<? super TKey> comparator) {
-			if (comparator == null) {
-				return new DefaultComparator<TKey>();
-			}
+		<TKey> OrderedIterable<TSource> then(Func<? super TSource, ? extends TKey> keySelector, Comparator<? super TKey> comparator,
+			boolean descending) {
 
-			return comparator;
+			return new OrderedIterable<TSource>(this.source, this.order.then(keySelector, comparator, descending), this.parallel,
+				this.serializer, this.runSize, this.directory);
 		}
 
-		public OrderedIterable(Iterable<TSource> source, final Func<? super TSource, ? extends TKey> keySelector,
-			final Comparator<? super TKey> comparator, final boolean descending, List<Comparator<? super TSource>> comparators) {
+		OrderedIterable<TSource> external(Serializer<TSource> serializer, int runSize, File directory) {
+			return new OrderedIterable<TSource>(this.source, this.order, this.parallel, serializer, runSize, directory);
+		}
 
-			Check.argumentNotNull(source, "source must not be null.");
-			Check.argumentNotNull(keySelector, "keySelector must not be null.");
+		@Override
+		@SuppressWarnings("unchecked")
+		public Iterator<TSource> iterator() {
+			if (this.serializer != null) {
+				return iterator(Long.MAX_VALUE);
+			}
 
-			this.source = source;
+			List<TSource> list = new ArrayList<TSource>();
+			for (TSource item : this.source) {
+				list.add(item);
+			}
 
-			final Comparator<? super TKey> comparer = ensureComparator(comparator);
+			final TSource[] items = (TSource[])list.toArray();
+			final int[] order = this.order.sort(items, this.parallel);
 
-			comparators.add(
-				new Comparator<TSource>() {
-					@Override
-					public int compare(TSource a, TSource b) {
-						return (descending ? -1 : 1) * comparer.compare(
-							keySelector.invoke(a), keySelector.invoke(b)
-						);
-					}
+			return new AbstractArrayIterator<TSource>(order.length) {
+				@Override
+				protected TSource next(int index) {
+					return items[order[index]];
 				}
-			);
-
-			this.comparators = comparators;
+			};
 		}
 
 		@Override
-		public Iterator<TSource> iterator() {
-			List<Indexed<TSource>> items = new ArrayList<Indexed<TSource>>();
+		public Iterator<TSource> iterator(long limit) {
+			if (this.serializer != null && limit > this.runSize) {
+				return new ExternalSortIterable<TSource>(this.source, this.order, this.serializer, this.runSize, this.directory,
+					this.parallel).iterator(limit);
+			}
+
+			// the selected elements have to fit into an array
+			if (limit >= Integer.MAX_VALUE - 1) {
+				return iterator();
+			}
 
-			int index = 0;
+			Selection<TSource> selection = new Selection<TSource>(this.order, (int)limit);
 			for (TSource item : this.source) {
-				items.add(new Indexed<TSource>(index++, item));
+				selection.offer(item);
 			}
 
-			Collections.sort(items,
-				new Comparator<Indexed<TSource>>() {
-					@Override
-					public int compare(Indexed<TSource> a, Indexed<TSource> b) {
-						for (Comparator<? super TSource> comparator : comparators) {
-							int result = comparator.compare(a.getValue(), b.getValue());
+			return selection.iterator();
+		}
+	}
+
+	/**
+	 * Selects the smallest elements with a bounded max-heap. The heap is only built once
+	 * {@code limit} elements have been offered, so less elements are just sorted.
+	 *
+	 * Every element occupies a slot holding the element, its keys and its original position;
+	 * the position breaks ties, so later elements never displace equal earlier ones. The slot
+	 * after the last used one takes the offered candidate.
+	 */
+	private static final class Selection<TSource> {
+		private final SortOrder<TSource> order;
+		private final int limit;
+
+		private Object[] items;
+		private Object[][] keys;
+		private long[] positions;
+
+		private int size;
+		private long position;
+
+		Selection(SortOrder<TSource> order, int limit) {
+			this.order = order;
+			this.limit = limit;
+
+			int capacity = Math.min(limit, 16) + 1;
+
+			this.items = new Object[capacity];
+			this.keys = new Object[order.levels()][capacity];
+			this.positions = new long[capacity];
+		}
+
+		void offer(TSource item) {
+			if (this.limit == 0) {
+				return;
+			}
 
-							if (result != 0) {
-								return result;
-							}
-						}
+			if (this.size == this.items.length - 1 && this.size < this.limit) {
+				grow();
+			}
+
+			int candidate = this.size;
+			this.items[candidate] = item;
+			this.positions[candidate] = this.position++;
+
+			for (int i = 0; i < this.keys.length; i++) {
+				this.keys[i][candidate] = this.order.key(i, item);
+			}
 
-						// preserve initial order
-						return Long.valueOf(a.getIndex()).compareTo(b.getIndex());
+			if (this.size < this.limit) {
+				if (++this.size == this.limit) {
+					for (int i = this.size / 2 - 1; i >= 0; i--) {
+						siftDown(i);
 					}
 				}
-			);
+			} else if (compare(candidate, 0) < 0) {
+				move(candidate, 0);
+				siftDown(0);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		Iterator<TSource> iterator() {
+			final int[] order = new int[this.size];
 
-			return new MapIterator<Indexed<TSource>, TSource>(items.iterator(),
-				new Func<Indexed<TSource>, TSource>() {
+			for (int i = 0; i < order.length; i++) {
+				order[i] = i;
+			}
+
+			MergeSort.sort(order,
+				new IntComparator() {
 					@Override
-					public TSource invoke(Indexed<TSource> item) {
-						return item.getValue();
+					public int compare(int a, int b) {
+						return Selection.this.compare(a, b);
 					}
-				}
+				},
+				false
 			);
+
+			final Object[] items = this.items;
+
+			return new AbstractArrayIterator<TSource>(order.length) {
+				@Override
+				protected TSource next(int index) {
+					return (TSource)items[order[index]];
+				}
+			};
+		}
+
+		private int compare(int a, int b) {
+			int result = this.order.compare(this.keys, a, b);
+
+			if (result != 0) {
+				return result;
+			}
+
+			return this.positions[a] < this.positions[b] ? -1 : (this.positions[a] == this.positions[b] ? 0 : 1);
+		}
+
+		private void siftDown(int slot) {
+			while (true) {
+				int largest = slot;
+				int left = 2 * slot + 1;
+				int right = left + 1;
+
+				if (left < this.size && compare(left, largest) > 0) {
+					largest = left;
+				}
+
+				if (right < this.size && compare(right, largest) > 0) {
+					largest = right;
+				}
+
+				if (largest == slot) {
+					return;
+				}
+
+				swap(slot, largest);
+				slot = largest;
+			}
+		}
+
+		private void move(int from, int to) {
+			this.items[to] = this.items[from];
+			this.positions[to] = this.positions[from];
+
+			for (Object[] levelKeys : this.keys) {
+				levelKeys[to] = levelKeys[from];
+			}
+		}
+
+		private void swap(int a, int b) {
+			Object item = this.items[a];
+			this.items[a] = this.items[b];
+			this.items[b] = item;
+
+			long position = this.positions[a];
+			this.positions[a] = this.positions[b];
+			this.positions[b] = position;
+
+			for (Object[] levelKeys : this.keys) {
+				Object key = levelKeys[a];
+				levelKeys[a] = levelKeys[b];
+				levelKeys[b] = key;
+			}
+		}
+
+		private void grow() {
+			int capacity = (int)Math.min((long)this.items.length * 2, (long)this.limit + 1);
+
+			this.items = Arrays.copyOf(this.items, capacity);
+			this.positions = Arrays.copyOf(this.positions, capacity);
+
+			for (int i = 0; i < this.keys.length; i++) {
+				this.keys[i] = Arrays.copyOf(this.keys[i], capacity);
+			}
 		}
 	}
 }
@@ -0,0 +1,5 @@
+package ninja.sequence.delegate;
+
+public interface DoubleAccumulator {
+	double accumulate(double a, double b);
+}
@@ -0,0 +1,5 @@
+package ninja.sequence.delegate;
+
+public interface DoubleFunc {
+	double invoke(double arg);
+}
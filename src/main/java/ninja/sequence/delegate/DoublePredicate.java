@@ -0,0 +1,5 @@
+package ninja.sequence.delegate;
+
+public interface DoublePredicate {
+	boolean invoke(double arg);
+}
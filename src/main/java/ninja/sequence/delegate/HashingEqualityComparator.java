@@ -0,0 +1,17 @@
+package ninja.sequence.delegate;
+
+/**
+ * An {@link EqualityComparator} that is also able to compute a hash code for
+ * the elements it compares.
+ *
+ * Implementations must be consistent: if {@code equals(first, second)} returns
+ * {@code true}, {@code hash(first)} must be equal to {@code hash(second)}.
+ * Hash based operators like {@code distinct}, {@code groupBy} or {@code intersect}
+ * only run in expected linear time if the comparator implements this interface,
+ * plain {@code EqualityComparator}s force them to compare every pair of elements.
+ *
+ * @param <T> the type of the elements to compare
+ */
+public interface HashingEqualityComparator<T> extends EqualityComparator<T> {
+	int hash(T value);
+}
@@ -0,0 +1,5 @@
+package ninja.sequence.delegate;
+
+public interface IntAccumulator {
+	int accumulate(int a, int b);
+}
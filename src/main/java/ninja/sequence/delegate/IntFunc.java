@@ -0,0 +1,5 @@
+package ninja.sequence.delegate;
+
+public interface IntFunc {
+	int invoke(int arg);
+}
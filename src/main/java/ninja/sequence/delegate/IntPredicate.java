@@ -0,0 +1,5 @@
+package ninja.sequence.delegate;
+
+public interface IntPredicate {
+	boolean invoke(int arg);
+}
@@ -0,0 +1,5 @@
+package ninja.sequence.delegate;
+
+public interface LongAccumulator {
+	long accumulate(long a, long b);
+}
@@ -0,0 +1,5 @@
+package ninja.sequence.delegate;
+
+public interface LongFunc {
+	long invoke(long arg);
+}
@@ -0,0 +1,5 @@
+package ninja.sequence.delegate;
+
+public interface LongPredicate {
+	boolean invoke(long arg);
+}
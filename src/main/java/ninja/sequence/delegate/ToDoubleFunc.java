@@ -0,0 +1,5 @@
+package ninja.sequence.delegate;
+
+public interface ToDoubleFunc<T> {
+	double invoke(T arg);
+}
@@ -0,0 +1,5 @@
+package ninja.sequence.delegate;
+
+public interface ToIntFunc<T> {
+	int invoke(T arg);
+}
@@ -0,0 +1,5 @@
+package ninja.sequence.delegate;
+
+public interface ToLongFunc<T> {
+	long invoke(T arg);
+}
@@ -0,0 +1,53 @@
+package ninja.sequence.internal;
+
+import java.util.NoSuchElementException;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.primitive.DoubleIterator;
+
+/**
+ * The primitive counterpart of {@link AbstractIterator}.
+ */
+public abstract class AbstractDoubleIterator implements DoubleIterator {
+	protected final DoubleIterator parent;
+
+	private boolean ready;
+	private boolean done;
+
+	private double next;
+
+	public AbstractDoubleIterator(DoubleIterator parent) {
+		this.parent = Check.argumentNotNull(parent, "parent must not be null.");
+	}
+
+	/**
+	 * Computes the next element and reports it with {@link #computed(double)}, or
+	 * returns without doing so if there are no more elements.
+	 */
+	protected abstract void computeNext();
+
+	protected final void computed(double next) {
+		this.next = next;
+		this.ready = true;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (!this.ready && !this.done) {
+			computeNext();
+			this.done = !this.ready;
+		}
+
+		return this.ready;
+	}
+
+	@Override
+	public double nextDouble() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		this.ready = false;
+		return this.next;
+	}
+}
@@ -0,0 +1,53 @@
+package ninja.sequence.internal;
+
+import java.util.NoSuchElementException;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.primitive.IntIterator;
+
+/**
+ * The primitive counterpart of {@link AbstractIterator}.
+ */
+public abstract class AbstractIntIterator implements IntIterator {
+	protected final IntIterator parent;
+
+	private boolean ready;
+	private boolean done;
+
+	private int next;
+
+	public AbstractIntIterator(IntIterator parent) {
+		this.parent = Check.argumentNotNull(parent, "parent must not be null.");
+	}
+
+	/**
+	 * Computes the next element and reports it with {@link #computed(int)}, or
+	 * returns without doing so if there are no more elements.
+	 */
+	protected abstract void computeNext();
+
+	protected final void computed(int next) {
+		this.next = next;
+		this.ready = true;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (!this.ready && !this.done) {
+			computeNext();
+			this.done = !this.ready;
+		}
+
+		return this.ready;
+	}
+
+	@Override
+	public int nextInt() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		this.ready = false;
+		return this.next;
+	}
+}
@@ -0,0 +1,53 @@
+package ninja.sequence.internal;
+
+import java.util.NoSuchElementException;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.primitive.LongIterator;
+
+/**
+ * The primitive counterpart of {@link AbstractIterator}.
+ */
+public abstract class AbstractLongIterator implements LongIterator {
+	protected final LongIterator parent;
+
+	private boolean ready;
+	private boolean done;
+
+	private long next;
+
+	public AbstractLongIterator(LongIterator parent) {
+		this.parent = Check.argumentNotNull(parent, "parent must not be null.");
+	}
+
+	/**
+	 * Computes the next element and reports it with {@link #computed(long)}, or
+	 * returns without doing so if there are no more elements.
+	 */
+	protected abstract void computeNext();
+
+	protected final void computed(long next) {
+		this.next = next;
+		this.ready = true;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (!this.ready && !this.done) {
+			computeNext();
+			this.done = !this.ready;
+		}
+
+		return this.ready;
+	}
+
+	@Override
+	public long nextLong() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		this.ready = false;
+		return this.next;
+	}
+}
@@ -2,13 +2,34 @@ package ninja.sequence.internal;
 
 import java.util.Iterator;
 
-public class ArrayIterable<T> implements Iterable<T> {
+public class ArrayIterable<T> implements PushIterable<T>, RandomAccessIterable<T> {
 	private final T[] array;
 
 	public ArrayIterable(T[] array) {
 		this.array = array;
 	}
 
+	@Override
+	public long size() {
+		return this.array.length;
+	}
+
+	@Override
+	public T get(long index) {
+		return this.array[(int)index];
+	}
+
+	@Override
+	public boolean push(Sink<? super T> sink) {
+		for (T element : this.array) {
+			if (!sink.accept(element)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public Iterator<T> iterator() {
 		return new ArrayIterator<T>(this.array);
@@ -2,7 +2,7 @@ package ninja.sequence.internal;
 
 import java.util.Iterator;
 
-public class BooleanArrayIterable implements Iterable<Boolean> {
+public class BooleanArrayIterable implements PushIterable<Boolean>, RandomAccessIterable<Boolean> {
 	private final boolean[] array;
 
 	public BooleanArrayIterable(boolean[] array) {
@@ -13,6 +13,27 @@ public class BooleanArrayIterable implements Iterable<Boolean> {
 		this.array = array;
 	}
 
+	@Override
+	public long size() {
+		return this.array.length;
+	}
+
+	@Override
+	public Boolean get(long index) {
+		return this.array[(int)index];
+	}
+
+	@Override
+	public boolean push(Sink<? super Boolean> sink) {
+		for (boolean element : this.array) {
+			if (!sink.accept(element)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public Iterator<Boolean> iterator() {
 		return new BooleanArrayIterator();
@@ -0,0 +1,22 @@
+package ninja.sequence.internal;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.primitive.DoubleIterator;
+
+public class BoxedDoubleIterator extends ImmutableIterator<Double> {
+	private final DoubleIterator parent;
+
+	public BoxedDoubleIterator(DoubleIterator parent) {
+		this.parent = Check.argumentNotNull(parent, "parent must not be null.");
+	}
+
+	@Override
+	public boolean hasNext() {
+		return this.parent.hasNext();
+	}
+
+	@Override
+	public Double next() {
+		return this.parent.nextDouble();
+	}
+}
@@ -0,0 +1,22 @@
+package ninja.sequence.internal;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.primitive.IntIterator;
+
+public class BoxedIntIterator extends ImmutableIterator<Integer> {
+	private final IntIterator parent;
+
+	public BoxedIntIterator(IntIterator parent) {
+		this.parent = Check.argumentNotNull(parent, "parent must not be null.");
+	}
+
+	@Override
+	public boolean hasNext() {
+		return this.parent.hasNext();
+	}
+
+	@Override
+	public Integer next() {
+		return this.parent.nextInt();
+	}
+}
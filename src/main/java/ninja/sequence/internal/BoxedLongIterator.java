@@ -0,0 +1,22 @@
+package ninja.sequence.internal;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.primitive.LongIterator;
+
+public class BoxedLongIterator extends ImmutableIterator<Long> {
+	private final LongIterator parent;
+
+	public BoxedLongIterator(LongIterator parent) {
+		this.parent = Check.argumentNotNull(parent, "parent must not be null.");
+	}
+
+	@Override
+	public boolean hasNext() {
+		return this.parent.hasNext();
+	}
+
+	@Override
+	public Long next() {
+		return this.parent.nextLong();
+	}
+}
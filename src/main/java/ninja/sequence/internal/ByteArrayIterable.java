@@ -2,7 +2,7 @@ package ninja.sequence.internal;
 
 import java.util.Iterator;
 
-public class ByteArrayIterable implements Iterable<Byte> {
+public class ByteArrayIterable implements PushIterable<Byte>, RandomAccessIterable<Byte> {
 	private final byte[] array;
 
 	public ByteArrayIterable(byte[] array) {
@@ -13,6 +13,27 @@ public class ByteArrayIterable implements Iterable<Byte> {
 		this.array = array;
 	}
 
+	@Override
+	public long size() {
+		return this.array.length;
+	}
+
+	@Override
+	public Byte get(long index) {
+		return this.array[(int)index];
+	}
+
+	@Override
+	public boolean push(Sink<? super Byte> sink) {
+		for (byte element : this.array) {
+			if (!sink.accept(element)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public Iterator<Byte> iterator() {
 		return new ByteArrayIterator();
@@ -2,7 +2,7 @@ package ninja.sequence.internal;
 
 import java.util.Iterator;
 
-public class CharArrayIterable implements Iterable<Character> {
+public class CharArrayIterable implements PushIterable<Character>, RandomAccessIterable<Character> {
 	private final char[] array;
 
 	public CharArrayIterable(char[] array) {
@@ -13,6 +13,27 @@ public class CharArrayIterable implements Iterable<Character> {
 		this.array = array;
 	}
 
+	@Override
+	public long size() {
+		return this.array.length;
+	}
+
+	@Override
+	public Character get(long index) {
+		return this.array[(int)index];
+	}
+
+	@Override
+	public boolean push(Sink<? super Character> sink) {
+		for (char element : this.array) {
+			if (!sink.accept(element)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public Iterator<Character> iterator() {
 		return new CharArrayIterator();
@@ -1,10 +1,11 @@
 package ninja.sequence.internal;
 
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
+import java.util.Set;
 
 import ninja.sequence.delegate.EqualityComparator;
+import ninja.sequence.internal.util.Key;
 
 public class DifferenceIterable<T> implements Iterable<T> {
 	private final Iterable<? extends T> parent;
@@ -20,26 +21,27 @@ public class DifferenceIterable<T> implements Iterable<T> {
 
 	@Override
 	public Iterator<T> iterator() {
-		return new DifferenceIterator(this.parent.iterator(), this.other.iterator());
+		return new DifferenceIterator(this.parent.iterator());
 	}
 
 	private class DifferenceIterator extends AbstractIterator<T, T> {
-		private final Iterator<? extends T> other;
+		// built on the first computation, so the other side is not touched until the difference is iterated
+		private Set<Key<T>> others;
 
-		private final List<T> others = new ArrayList<T>();
-
-		public DifferenceIterator(Iterator<? extends T> parent, Iterator<? extends T> other) {
+		public DifferenceIterator(Iterator<? extends T> parent) {
 			super(parent);
-
-			this.other = other;
 		}
 
 		@Override
 		protected T computeNext() {
+			if (this.others == null) {
+				this.others = buildOthers();
+			}
+
 			while (super.parent.hasNext()) {
 				T parentElement = super.parent.next();
 
-				if (!otherContains(parentElement)) {
+				if (!this.others.contains(new Key<T>(parentElement, comparator))) {
 					return parentElement;
 				}
 			}
@@ -47,18 +49,14 @@ public class DifferenceIterable<T> implements Iterable<T> {
 			return computationEnd();
 		}
 
-		private boolean otherContains(T parentElement) {
-			while (this.other.hasNext()) {
-				this.others.add(this.other.next());
-			}
+		private Set<Key<T>> buildOthers() {
+			Set<Key<T>> set = new HashSet<Key<T>>();
 
-			for (T otherElement : this.others) {
-				if (comparator.equals(otherElement, parentElement)) {
-					return true;
-				}
+			for (T otherElement : other) {
+				set.add(new Key<T>(otherElement, comparator));
 			}
 
-			return false;
+			return set;
 		}
 	}
 }
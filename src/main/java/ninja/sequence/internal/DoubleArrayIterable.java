@@ -1,8 +1,12 @@
 package ninja.sequence.internal;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
-public class DoubleArrayIterable implements Iterable<Double> {
+import ninja.sequence.primitive.DoubleIterable;
+import ninja.sequence.primitive.DoubleIterator;
+
+public class DoubleArrayIterable implements PushIterable<Double>, RandomAccessIterable<Double>, DoubleIterable {
 	private final double[] array;
 
 	public DoubleArrayIterable(double[] array) {
@@ -13,11 +17,37 @@ public class DoubleArrayIterable implements Iterable<Double> {
 		this.array = array;
 	}
 
+	@Override
+	public long size() {
+		return this.array.length;
+	}
+
+	@Override
+	public Double get(long index) {
+		return this.array[(int)index];
+	}
+
+	@Override
+	public boolean push(Sink<? super Double> sink) {
+		for (double element : this.array) {
+			if (!sink.accept(element)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public Iterator<Double> iterator() {
 		return new DoubleArrayIterator();
 	}
 
+	@Override
+	public DoubleIterator doubleIterator() {
+		return new PrimitiveDoubleArrayIterator();
+	}
+
 	private class DoubleArrayIterator extends AbstractArrayIterator<Double> {
 		public DoubleArrayIterator() {
 			super(array.length);
@@ -28,4 +58,22 @@ public class DoubleArrayIterable implements Iterable<Double> {
 			return array[index];
 		}
 	}
+
+	private class PrimitiveDoubleArrayIterator implements DoubleIterator {
+		private int index = 0;
+
+		@Override
+		public boolean hasNext() {
+			return this.index < array.length;
+		}
+
+		@Override
+		public double nextDouble() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			return array[this.index++];
+		}
+	}
 }
@@ -0,0 +1,99 @@
+package ninja.sequence.internal;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import ninja.sequence.datastructure.Tuple;
+import ninja.sequence.delegate.EqualityComparator;
+import ninja.sequence.delegate.Func;
+import ninja.sequence.delegate.ToDoubleFunc;
+import ninja.sequence.internal.util.Key;
+
+/**
+ * Reduces the double values of the elements per key into a primitive counter, without boxing
+ * per element. The results are ordered by the first appearance of their keys.
+ *
+ * @param <TSource> the type of the elements
+ * @param <TKey> the type of the keys
+ */
+public class DoubleGroupAggregateIterable<TSource, TKey> implements Iterable<Tuple<TKey, Double>> {
+	private final Iterable<? extends TSource> source;
+	private final Func<? super TSource, ? extends TKey> keySelector;
+	private final ToDoubleFunc<? super TSource> valueSelector;
+	private final EqualityComparator<? super TKey> comparator;
+	private final Reduction reduction;
+
+	/**
+	 * @param valueSelector the function to extract the value of an element, not used to {@link Reduction#COUNT count}
+	 */
+	public DoubleGroupAggregateIterable(Iterable<? extends TSource> source, Func<? super TSource, ? extends TKey> keySelector,
+		ToDoubleFunc<? super TSource> valueSelector, EqualityComparator<? super TKey> comparator, Reduction reduction) {
+
+		this.source = source;
+		this.keySelector = keySelector;
+		this.valueSelector = valueSelector;
+		this.comparator = comparator;
+		this.reduction = reduction;
+	}
+
+	@Override
+	public Iterator<Tuple<TKey, Double>> iterator() {
+		Map<Key<TKey>, Counter> counters = new LinkedHashMap<Key<TKey>, Counter>();
+
+		for (TSource element : this.source) {
+			Key<TKey> key = new Key<TKey>(this.keySelector.invoke(element), this.comparator);
+
+			Counter counter = counters.get(key);
+
+			if (counter == null) {
+				counter = new Counter();
+				counters.put(key, counter);
+			}
+
+			counter.add(this.reduction == Reduction.COUNT ? 1 : this.valueSelector.invoke(element), this.reduction);
+		}
+
+		final Iterator<Map.Entry<Key<TKey>, Counter>> entries = counters.entrySet().iterator();
+
+		return new ImmutableIterator<Tuple<TKey, Double>>() {
+			@Override
+			public boolean hasNext() {
+				return entries.hasNext();
+			}
+
+			@Override
+			public Tuple<TKey, Double> next() {
+				Map.Entry<Key<TKey>, Counter> entry = entries.next();
+
+				return Tuple.create(entry.getKey().getValue(), entry.getValue().value);
+			}
+		};
+	}
+
+	private static final class Counter {
+		private double value;
+		private boolean empty = true;
+
+		void add(double value, Reduction reduction) {
+			if (this.empty) {
+				this.value = value;
+				this.empty = false;
+				return;
+			}
+
+			switch (reduction) {
+				case COUNT:
+				case SUM:
+					this.value += value;
+					break;
+				case MIN:
+					this.value = Math.min(this.value, value);
+					break;
+				case MAX:
+					this.value = Math.max(this.value, value);
+					break;
+			}
+		}
+	}
+}
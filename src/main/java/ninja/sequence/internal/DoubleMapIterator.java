@@ -0,0 +1,22 @@
+package ninja.sequence.internal;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.delegate.DoubleFunc;
+import ninja.sequence.primitive.DoubleIterator;
+
+public class DoubleMapIterator extends AbstractDoubleIterator {
+	private final DoubleFunc resultSelector;
+
+	public DoubleMapIterator(DoubleIterator parent, DoubleFunc resultSelector) {
+		super(parent);
+
+		this.resultSelector = Check.argumentNotNull(resultSelector, "resultSelector must not be null.");
+	}
+
+	@Override
+	protected void computeNext() {
+		if (this.parent.hasNext()) {
+			computed(this.resultSelector.invoke(this.parent.nextDouble()));
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package ninja.sequence.internal;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.delegate.DoublePredicate;
+import ninja.sequence.primitive.DoubleIterator;
+
+public class DoubleSelectIterator extends AbstractDoubleIterator {
+	private final DoublePredicate predicate;
+
+	public DoubleSelectIterator(DoubleIterator parent, DoublePredicate predicate) {
+		super(parent);
+
+		this.predicate = Check.argumentNotNull(predicate, "predicate must not be null.");
+	}
+
+	@Override
+	protected void computeNext() {
+		while (this.parent.hasNext()) {
+			double element = this.parent.nextDouble();
+
+			if (this.predicate.invoke(element)) {
+				computed(element);
+				return;
+			}
+		}
+	}
+}
@@ -0,0 +1,324 @@
+package ninja.sequence.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import ninja.sequence.io.SequenceIOException;
+import ninja.sequence.io.Serializer;
+
+/**
+ * Sorts more elements than fit on the heap. The source is cut into runs of at most
+ * {@code runSize} elements, every run is sorted in memory and written to a temporary
+ * file, and the runs are merged lazily with a heap while iterating. Runs are consecutive
+ * parts of the source and ties between runs go to the earlier run, so the sort is stable.
+ *
+ * At most {@link #MAX_FAN_IN} runs are open at once. If there are more runs, consecutive
+ * groups of them are merged into longer runs first, pass by pass, which keeps the sort stable.
+ *
+ * A source which fits into a single run is sorted in memory without touching the disk.
+ * A run file is deleted as soon as it is merged completely, and all of them once a limited
+ * iteration reaches its limit; the files of an abandoned iteration are left behind. The keys
+ * of the elements are extracted once when their run is sorted and once more every time they
+ * are read back for a merge.
+ *
+ * @param <T> the type of the elements
+ */
+public class ExternalSortIterable<T> implements LimitableIterable<T> {
+	// keeps the open files and their buffers per merge well below common descriptor limits
+	static final int MAX_FAN_IN = 64;
+
+	private final Iterable<? extends T> source;
+	private final SortOrder<T> order;
+	private final Serializer<T> serializer;
+	private final int runSize;
+	private final File directory;
+	private final boolean parallel;
+
+	/**
+	 * @param directory the directory of the run files, {@code null} for the default temporary directory
+	 */
+	public ExternalSortIterable(Iterable<? extends T> source, SortOrder<T> order, Serializer<T> serializer, int runSize,
+		File directory, boolean parallel) {
+
+		this.source = source;
+		this.order = order;
+		this.serializer = serializer;
+		this.runSize = runSize;
+		this.directory = directory;
+		this.parallel = parallel;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return iterator(Long.MAX_VALUE);
+	}
+
+	@Override
+	public Iterator<T> iterator(long limit) {
+		List<T> run = new ArrayList<T>(Math.min(this.runSize, 1 << 10));
+		List<SpillFile<T>> files = new ArrayList<SpillFile<T>>();
+		boolean merging = false;
+
+		try {
+			for (T element : this.source) {
+				run.add(element);
+
+				if (run.size() == this.runSize) {
+					files.add(write(sort(run)));
+					run.clear();
+				}
+			}
+
+			if (files.isEmpty()) {
+				return new ArrayIterator<T>(sort(run));
+			}
+
+			if (!run.isEmpty()) {
+				files.add(write(sort(run)));
+				run = null;
+			}
+
+			files = reduce(files);
+			MergeIterator iterator = new MergeIterator(files, limit);
+			merging = true;
+
+			return iterator;
+		} catch (IOException e) {
+			throw new SequenceIOException("failed to spill a sorted run.", e);
+		} finally {
+			// the source, the keys or the serializer may fail as well
+			if (!merging) {
+				delete(files);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private T[] sort(List<T> run) {
+		T[] elements = (T[])run.toArray();
+		int[] positions = this.order.sort(elements, this.parallel);
+
+		T[] sorted = (T[])new Object[elements.length];
+		for (int i = 0; i < positions.length; i++) {
+			sorted[i] = elements[positions[i]];
+		}
+
+		return sorted;
+	}
+
+	private SpillFile<T> write(T[] run) throws IOException {
+		SpillFile<T> file = SpillFile.create(this.serializer, this.directory);
+		boolean written = false;
+
+		try {
+			for (T element : run) {
+				file.write(element);
+			}
+
+			file.finish();
+			written = true;
+		} finally {
+			if (!written) {
+				file.delete();
+			}
+		}
+
+		return file;
+	}
+
+	/**
+	 * Merges consecutive groups of runs into single runs until at most {@link #MAX_FAN_IN} are left.
+	 * All runs are deleted if a merge fails.
+	 */
+	private List<SpillFile<T>> reduce(List<SpillFile<T>> files) throws IOException {
+		while (files.size() > MAX_FAN_IN) {
+			List<SpillFile<T>> merged = new ArrayList<SpillFile<T>>(files.size() / MAX_FAN_IN + 1);
+			boolean passed = false;
+
+			try {
+				for (int from = 0; from < files.size(); from += MAX_FAN_IN) {
+					List<SpillFile<T>> group = files.subList(from, Math.min(from + MAX_FAN_IN, files.size()));
+
+					merged.add(group.size() == 1 ? group.get(0) : merge(group));
+				}
+
+				passed = true;
+			} finally {
+				if (!passed) {
+					delete(merged);
+					delete(files);
+				}
+			}
+
+			files = merged;
+		}
+
+		return files;
+	}
+
+	private static void delete(List<? extends SpillFile<?>> files) {
+		for (SpillFile<?> file : files) {
+			file.delete();
+		}
+	}
+
+	private SpillFile<T> merge(List<SpillFile<T>> group) throws IOException {
+		SpillFile<T> file = SpillFile.create(this.serializer, this.directory);
+		MergeIterator iterator = null;
+		boolean written = false;
+
+		try {
+			iterator = new MergeIterator(group, Long.MAX_VALUE);
+
+			while (iterator.hasNext()) {
+				file.write(iterator.next());
+			}
+
+			file.finish();
+			written = true;
+		} finally {
+			if (!written) {
+				if (iterator != null) {
+					iterator.close();
+				}
+
+				file.delete();
+			}
+		}
+
+		return file;
+	}
+
+	/**
+	 * The position in a run file, with the element read last and its keys.
+	 */
+	private final class Run implements Comparable<Run> {
+		private final int index;
+		private final SpillFile<T>.Reader reader;
+
+		private T element;
+		private final Object[] keys;
+
+		Run(int index, SpillFile<T> file) throws IOException {
+			this.index = index;
+			this.reader = file.open();
+			this.keys = new Object[order.levels()];
+		}
+
+		/**
+		 * @return {@code false} and deletes the file once the run is exhausted
+		 */
+		boolean advance() throws IOException {
+			if (!this.reader.hasNext()) {
+				return false;
+			}
+
+			this.element = this.reader.next();
+
+			for (int level = 0; level < this.keys.length; level++) {
+				this.keys[level] = order.key(level, this.element);
+			}
+
+			return true;
+		}
+
+		void close() {
+			this.reader.close();
+		}
+
+		@Override
+		public int compareTo(Run other) {
+			for (int level = 0; level < this.keys.length; level++) {
+				int result = order.compare(level, this.keys[level], other.keys[level]);
+
+				if (result != 0) {
+					return result;
+				}
+			}
+
+			return this.index < other.index ? -1 : (this.index == other.index ? 0 : 1);
+		}
+	}
+
+	private final class MergeIterator extends ImmutableIterator<T> {
+		private final PriorityQueue<Run> heap;
+		private long remaining;
+
+		MergeIterator(List<SpillFile<T>> files, long limit) throws IOException {
+			this.heap = new PriorityQueue<Run>(files.size());
+			this.remaining = limit;
+			boolean opened = false;
+
+			try {
+				for (int i = 0; i < files.size(); i++) {
+					Run run = new Run(i, files.get(i));
+
+					if (run.advance()) {
+						this.heap.add(run);
+					}
+				}
+
+				opened = true;
+			} finally {
+				if (!opened) {
+					close();
+					delete(files);
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !this.heap.isEmpty();
+		}
+
+		@Override
+		public T next() {
+			if (this.heap.isEmpty()) {
+				throw new NoSuchElementException();
+			}
+
+			Run run = this.heap.poll();
+			T element = run.element;
+
+			if (--this.remaining == 0) {
+				run.close();
+				close();
+
+				return element;
+			}
+
+			boolean advanced = false;
+
+			try {
+				if (run.advance()) {
+					this.heap.add(run);
+				}
+
+				advanced = true;
+			} catch (IOException e) {
+				throw new SequenceIOException("failed to read a sorted run.", e);
+			} finally {
+				if (!advanced) {
+					run.close();
+					close();
+				}
+			}
+
+			return element;
+		}
+
+		private void close() {
+			for (Run run : this.heap) {
+				run.close();
+			}
+
+			this.heap.clear();
+		}
+	}
+}
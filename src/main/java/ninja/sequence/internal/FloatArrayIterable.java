@@ -2,7 +2,7 @@ package ninja.sequence.internal;
 
 import java.util.Iterator;
 
-public class FloatArrayIterable implements Iterable<Float> {
+public class FloatArrayIterable implements PushIterable<Float>, RandomAccessIterable<Float> {
 	private final float[] array;
 
 	public FloatArrayIterable(float[] array) {
@@ -13,6 +13,27 @@ public class FloatArrayIterable implements Iterable<Float> {
 		this.array = array;
 	}
 
+	@Override
+	public long size() {
+		return this.array.length;
+	}
+
+	@Override
+	public Float get(long index) {
+		return this.array[(int)index];
+	}
+
+	@Override
+	public boolean push(Sink<? super Float> sink) {
+		for (float element : this.array) {
+			if (!sink.accept(element)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public Iterator<Float> iterator() {
 		return new FloatArrayIterator();
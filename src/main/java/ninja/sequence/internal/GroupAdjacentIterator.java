@@ -0,0 +1,67 @@
+package ninja.sequence.internal;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import ninja.sequence.GroupedSequence;
+import ninja.sequence.contract.Check;
+import ninja.sequence.delegate.EqualityComparator;
+import ninja.sequence.delegate.Func;
+
+public class GroupAdjacentIterator<TSource, TKey, TResult> extends AbstractIterator<TSource, GroupedSequence<TKey, TResult>> {
+	private final Func<? super TSource, ? extends TKey> keySelector;
+	private final Func<? super TSource, ? extends TResult> elementSelector;
+	private final EqualityComparator<? super TKey> comparator;
+
+	// the first element of the next group, pulled from the parent to detect the end of the previous group
+	private boolean pending;
+	private TSource pendingElement;
+	private TKey pendingKey;
+
+	public GroupAdjacentIterator(Iterator<? extends TSource> parent, Func<? super TSource, ? extends TKey> keySelector,
+		Func<? super TSource, ? extends TResult> elementSelector, EqualityComparator<? super TKey> comparator) {
+
+		super(parent);
+
+		this.keySelector = Check.argumentNotNull(keySelector, "keySelector must not be null.");
+		this.elementSelector = Check.argumentNotNull(elementSelector, "elementSelector must not be null.");
+		this.comparator = Check.argumentNotNull(comparator, "comparator must not be null.");
+	}
+
+	@Override
+	protected GroupedSequence<TKey, TResult> computeNext() {
+		if (!this.pending) {
+			if (!super.parent.hasNext()) {
+				return computationEnd();
+			}
+
+			this.pendingElement = super.parent.next();
+			this.pendingKey = this.keySelector.invoke(this.pendingElement);
+		}
+
+		TKey key = this.pendingKey;
+		List<TResult> elements = new ArrayList<TResult>();
+		elements.add(this.elementSelector.invoke(this.pendingElement));
+
+		this.pending = false;
+		this.pendingElement = null;
+		this.pendingKey = null;
+
+		while (super.parent.hasNext()) {
+			TSource element = super.parent.next();
+			TKey elementKey = this.keySelector.invoke(element);
+
+			if (!this.comparator.equals(key, elementKey)) {
+				this.pending = true;
+				this.pendingElement = element;
+				this.pendingKey = elementKey;
+				break;
+			}
+
+			elements.add(this.elementSelector.invoke(element));
+		}
+
+		return GroupedSequence.create(key, elements);
+	}
+}
@@ -0,0 +1,83 @@
+package ninja.sequence.internal;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import ninja.sequence.datastructure.Tuple;
+import ninja.sequence.delegate.Accumulator;
+import ninja.sequence.delegate.EqualityComparator;
+import ninja.sequence.delegate.Func;
+import ninja.sequence.internal.util.Key;
+
+/**
+ * Folds every element into the state of its key as it arrives, in a single pass and with
+ * memory for the distinct keys only. The states are ordered by the first appearance of
+ * their keys.
+ *
+ * @param <TSource> the type of the elements
+ * @param <TKey> the type of the keys
+ * @param <TState> the type of the aggregated states
+ */
+public class GroupAggregateIterable<TSource, TKey, TState> implements Iterable<Tuple<TKey, TState>> {
+	private final Iterable<? extends TSource> source;
+	private final Func<? super TSource, ? extends TKey> keySelector;
+	private final Func<? super TKey, ? extends TState> seedFactory;
+	private final Accumulator<TState, ? super TSource> accumulator;
+	private final EqualityComparator<? super TKey> comparator;
+
+	public GroupAggregateIterable(Iterable<? extends TSource> source, Func<? super TSource, ? extends TKey> keySelector,
+		Func<? super TKey, ? extends TState> seedFactory, Accumulator<TState, ? super TSource> accumulator,
+		EqualityComparator<? super TKey> comparator) {
+
+		this.source = source;
+		this.keySelector = keySelector;
+		this.seedFactory = seedFactory;
+		this.accumulator = accumulator;
+		this.comparator = comparator;
+	}
+
+	@Override
+	public Iterator<Tuple<TKey, TState>> iterator() {
+		// the state is updated in its slot, so every element costs a single lookup
+		Map<Key<TKey>, Slot<TState>> slots = new LinkedHashMap<Key<TKey>, Slot<TState>>();
+
+		for (TSource element : this.source) {
+			TKey value = this.keySelector.invoke(element);
+			Key<TKey> key = new Key<TKey>(value, this.comparator);
+
+			Slot<TState> slot = slots.get(key);
+
+			if (slot == null) {
+				slot = new Slot<TState>(this.seedFactory.invoke(value));
+				slots.put(key, slot);
+			}
+
+			slot.state = this.accumulator.accumulate(slot.state, element);
+		}
+
+		final Iterator<Map.Entry<Key<TKey>, Slot<TState>>> entries = slots.entrySet().iterator();
+
+		return new ImmutableIterator<Tuple<TKey, TState>>() {
+			@Override
+			public boolean hasNext() {
+				return entries.hasNext();
+			}
+
+			@Override
+			public Tuple<TKey, TState> next() {
+				Map.Entry<Key<TKey>, Slot<TState>> entry = entries.next();
+
+				return Tuple.create(entry.getKey().getValue(), entry.getValue().state);
+			}
+		};
+	}
+
+	private static final class Slot<TState> {
+		private TState state;
+
+		Slot(TState state) {
+			this.state = state;
+		}
+	}
+}
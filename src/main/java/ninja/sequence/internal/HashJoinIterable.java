@@ -0,0 +1,50 @@
+package ninja.sequence.internal;
+
+import java.util.Iterator;
+
+import ninja.sequence.delegate.EqualityComparator;
+import ninja.sequence.delegate.Func;
+import ninja.sequence.delegate.Func2;
+
+/**
+ * A hash join which builds its {@link JoinTable} each time it is iterated and probes it with a
+ * {@link JoinIterator}, in outer order. {@code outerOnly} and {@code innerOnly} produce the results
+ * of unmatched elements of an outer join, or are {@code null} to drop them.
+ */
+public class HashJoinIterable<TOuter, TInner, TKey, TResult> implements Iterable<TResult> {
+	private final Iterable<? extends TOuter> outer;
+	private final Iterable<? extends TInner> inner;
+
+	private final Func<? super TOuter, ? extends TKey> outerKeySelector;
+	private final Func<? super TInner, ? extends TKey> innerKeySelector;
+	private final EqualityComparator<? super TKey> comparator;
+
+	private final Func2<? super TOuter, ? super TInner, ? extends TResult> matched;
+	private final Func<? super TOuter, ? extends TResult> outerOnly;
+	private final Func<? super TInner, ? extends TResult> innerOnly;
+
+	public HashJoinIterable(Iterable<? extends TOuter> outer, Iterable<? extends TInner> inner,
+		Func<? super TOuter, ? extends TKey> outerKeySelector, Func<? super TInner, ? extends TKey> innerKeySelector,
+		EqualityComparator<? super TKey> comparator, Func2<? super TOuter, ? super TInner, ? extends TResult> matched,
+		Func<? super TOuter, ? extends TResult> outerOnly, Func<? super TInner, ? extends TResult> innerOnly) {
+
+		this.outer = outer;
+		this.inner = inner;
+		this.outerKeySelector = outerKeySelector;
+		this.innerKeySelector = innerKeySelector;
+		this.comparator = comparator;
+		this.matched = matched;
+		this.outerOnly = outerOnly;
+		this.innerOnly = innerOnly;
+	}
+
+	@Override
+	public Iterator<TResult> iterator() {
+		// unmatched inner elements can only be produced from a table holding all of them
+		JoinTable<TKey, TInner> table = JoinTable.build(this.outer, this.inner, this.outerKeySelector, this.innerKeySelector,
+			this.comparator, this.innerOnly != null);
+
+		return new JoinIterator<TOuter, TInner, TKey, TResult>(this.outer.iterator(), table, this.outerKeySelector,
+			this.matched, this.outerOnly, this.innerOnly);
+	}
+}
@@ -0,0 +1,81 @@
+package ninja.sequence.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import ninja.sequence.io.Serializer;
+
+/**
+ * Distributes records over {@value #FAN_OUT} spill files by the hash of their keys. Every
+ * depth of partitioning looks at different bits of the hash, so a partition which is still
+ * too large can be partitioned again, up to {@link #MAX_DEPTH} times.
+ *
+ * @param <TRecord> the type of the records
+ */
+public class HashPartitions<TRecord> {
+	private static final int BITS = 4;
+	private static final int FAN_OUT = 1 << BITS;
+
+	public static final int MAX_DEPTH = Integer.SIZE / BITS;
+
+	private final Serializer<TRecord> serializer;
+	private final File directory;
+	private final int depth;
+
+	// created on the first record of a partition
+	private final List<SpillFile<TRecord>> files = new ArrayList<SpillFile<TRecord>>(FAN_OUT);
+
+	public HashPartitions(Serializer<TRecord> serializer, File directory, int depth) {
+		this.serializer = serializer;
+		this.directory = directory;
+		this.depth = depth;
+
+		for (int i = 0; i < FAN_OUT; i++) {
+			this.files.add(null);
+		}
+	}
+
+	public final int depth() {
+		return this.depth;
+	}
+
+	public final void add(int hash, TRecord record) throws IOException {
+		// spread the hash, the top bits are used first
+		int partition = (hash * 0x9E3779B9) >>> (Integer.SIZE - BITS * (this.depth + 1)) & (FAN_OUT - 1);
+
+		SpillFile<TRecord> file = this.files.get(partition);
+
+		if (file == null) {
+			file = SpillFile.create(this.serializer, this.directory);
+			this.files.set(partition, file);
+		}
+
+		file.write(record);
+	}
+
+	/**
+	 * @return the partitions which received records, ready to be read
+	 */
+	public final List<SpillFile<TRecord>> finish() throws IOException {
+		List<SpillFile<TRecord>> result = new ArrayList<SpillFile<TRecord>>();
+
+		for (SpillFile<TRecord> file : this.files) {
+			if (file != null) {
+				file.finish();
+				result.add(file);
+			}
+		}
+
+		return result;
+	}
+
+	public final void delete() {
+		for (SpillFile<TRecord> file : this.files) {
+			if (file != null) {
+				file.delete();
+			}
+		}
+	}
+}
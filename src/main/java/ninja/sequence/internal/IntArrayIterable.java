@@ -1,8 +1,12 @@
 package ninja.sequence.internal;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
-public class IntArrayIterable implements Iterable<Integer> {
+import ninja.sequence.primitive.IntIterable;
+import ninja.sequence.primitive.IntIterator;
+
+public class IntArrayIterable implements PushIterable<Integer>, RandomAccessIterable<Integer>, IntIterable {
 	private final int[] array;
 
 	public IntArrayIterable(int[] array) {
@@ -13,11 +17,37 @@ public class IntArrayIterable implements Iterable<Integer> {
 		this.array = array;
 	}
 
+	@Override
+	public long size() {
+		return this.array.length;
+	}
+
+	@Override
+	public Integer get(long index) {
+		return this.array[(int)index];
+	}
+
+	@Override
+	public boolean push(Sink<? super Integer> sink) {
+		for (int element : this.array) {
+			if (!sink.accept(element)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public Iterator<Integer> iterator() {
 		return new IntArrayIterator();
 	}
 
+	@Override
+	public IntIterator intIterator() {
+		return new PrimitiveIntArrayIterator();
+	}
+
 	private class IntArrayIterator extends AbstractArrayIterator<Integer> {
 		public IntArrayIterator() {
 			super(array.length);
@@ -28,4 +58,22 @@ public class IntArrayIterable implements Iterable<Integer> {
 			return array[index];
 		}
 	}
+
+	private class PrimitiveIntArrayIterator implements IntIterator {
+		private int index = 0;
+
+		@Override
+		public boolean hasNext() {
+			return this.index < array.length;
+		}
+
+		@Override
+		public int nextInt() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			return array[this.index++];
+		}
+	}
 }
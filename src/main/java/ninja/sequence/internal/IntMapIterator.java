@@ -0,0 +1,22 @@
+package ninja.sequence.internal;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.delegate.IntFunc;
+import ninja.sequence.primitive.IntIterator;
+
+public class IntMapIterator extends AbstractIntIterator {
+	private final IntFunc resultSelector;
+
+	public IntMapIterator(IntIterator parent, IntFunc resultSelector) {
+		super(parent);
+
+		this.resultSelector = Check.argumentNotNull(resultSelector, "resultSelector must not be null.");
+	}
+
+	@Override
+	protected void computeNext() {
+		if (this.parent.hasNext()) {
+			computed(this.resultSelector.invoke(this.parent.nextInt()));
+		}
+	}
+}
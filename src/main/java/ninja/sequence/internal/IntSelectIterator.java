@@ -0,0 +1,27 @@
+package ninja.sequence.internal;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.delegate.IntPredicate;
+import ninja.sequence.primitive.IntIterator;
+
+public class IntSelectIterator extends AbstractIntIterator {
+	private final IntPredicate predicate;
+
+	public IntSelectIterator(IntIterator parent, IntPredicate predicate) {
+		super(parent);
+
+		this.predicate = Check.argumentNotNull(predicate, "predicate must not be null.");
+	}
+
+	@Override
+	protected void computeNext() {
+		while (this.parent.hasNext()) {
+			int element = this.parent.nextInt();
+
+			if (this.predicate.invoke(element)) {
+				computed(element);
+				return;
+			}
+		}
+	}
+}
@@ -1,50 +1,82 @@
 package ninja.sequence.internal;
 
+import java.util.BitSet;
 import java.util.Iterator;
-import java.util.Map;
 
-import ninja.sequence.GroupedSequence;
 import ninja.sequence.contract.Check;
 import ninja.sequence.delegate.Func;
 import ninja.sequence.delegate.Func2;
 
+/**
+ * Probes a {@link JoinTable} with the keys of the outer elements, streaming the outer side in order.
+ *
+ * Every match is passed to {@code matched}. Outer elements without a match are passed to
+ * {@code outerOnly} and, after the outer side is exhausted, the rows that were never matched to
+ * {@code innerOnly}; either may be {@code null} to drop them. Matched rows are only tracked, in a
+ * bitset, if {@code innerOnly} is set.
+ */
 public class JoinIterator<TSource, TInner, TKey, TResult> extends AbstractIterator<TSource, TResult> {
-	private final Map<TKey, GroupedSequence<TKey, TInner>> map;
+	private final JoinTable<TKey, TInner> table;
 
 	private final Func<? super TSource, ? extends TKey> outerKeySelector;
-	private final Func2<? super TSource, ? super TInner, ? extends TResult> resultSelector;
+	private final Func2<? super TSource, ? super TInner, ? extends TResult> matched;
+	private final Func<? super TSource, ? extends TResult> outerOnly;
+	private final Func<? super TInner, ? extends TResult> innerOnly;
+
+	private final BitSet matchedRows;
 
 	private TSource outerElement;
-	private Iterator<TInner> iterator;
+	private JoinTable.Group group;
+	private int groupIndex;
+
+	// the next row to check once the outer side is exhausted
+	private int unmatchedRow;
 
-	public JoinIterator(Iterator<? extends TSource> parent, Map<TKey, GroupedSequence<TKey, TInner>> map,
-		Func<? super TSource, ? extends TKey> outerKeySelector, Func2<? super TSource, ? super TInner, ? extends TResult> resultSelector) {
+	public JoinIterator(Iterator<? extends TSource> parent, JoinTable<TKey, TInner> table,
+		Func<? super TSource, ? extends TKey> outerKeySelector, Func2<? super TSource, ? super TInner, ? extends TResult> matched,
+		Func<? super TSource, ? extends TResult> outerOnly, Func<? super TInner, ? extends TResult> innerOnly) {
 
 		super(parent);
 
+		this.table = Check.argumentNotNull(table, "table must not be null.");
 		this.outerKeySelector = Check.argumentNotNull(outerKeySelector, "outerKeySelector must not be null.");
-		this.resultSelector = Check.argumentNotNull(resultSelector, "resultSelector must not be null.");
-		this.map = Check.argumentNotNull(map, "map must not be null.");
+		this.matched = Check.argumentNotNull(matched, "matched must not be null.");
+		this.outerOnly = outerOnly;
+		this.innerOnly = innerOnly;
+		this.matchedRows = innerOnly != null ? new BitSet(table.size()) : null;
 	}
 
 	@Override
 	protected TResult computeNext() {
-		if (this.outerElement != null && this.iterator != null && this.iterator.hasNext()) {
-			return this.resultSelector.invoke(this.outerElement, this.iterator.next());
-		}
+		while (this.group == null || this.groupIndex == this.group.size()) {
+			if (!super.parent.hasNext()) {
+				return unmatchedRow();
+			}
 
-		while (super.parent.hasNext()) {
 			this.outerElement = super.parent.next();
-			TKey outerKey = this.outerKeySelector.invoke(this.outerElement);
+			this.group = this.table.find(this.outerKeySelector.invoke(this.outerElement));
+			this.groupIndex = 0;
 
-			if (outerKey != null) {
-				GroupedSequence<TKey, TInner> groupedTraversable = this.map.get(outerKey);
+			if (this.group == null && this.outerOnly != null) {
+				return this.outerOnly.invoke(this.outerElement);
+			}
+		}
+
+		int position = this.group.position(this.groupIndex++);
+
+		if (this.matchedRows != null) {
+			this.matchedRows.set(position);
+		}
+
+		return this.matched.invoke(this.outerElement, this.table.row(position));
+	}
 
-				if (groupedTraversable != null) {
-					this.iterator = groupedTraversable.iterator();
+	private TResult unmatchedRow() {
+		if (this.innerOnly != null) {
+			this.unmatchedRow = this.matchedRows.nextClearBit(this.unmatchedRow);
 
-					return this.resultSelector.invoke(this.outerElement, this.iterator.next());
-				}
+			if (this.unmatchedRow < this.table.size()) {
+				return this.innerOnly.invoke(this.table.row(this.unmatchedRow++));
 			}
 		}
 
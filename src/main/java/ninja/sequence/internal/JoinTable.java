@@ -0,0 +1,163 @@
+package ninja.sequence.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import ninja.sequence.delegate.EqualityComparator;
+import ninja.sequence.delegate.Func;
+import ninja.sequence.internal.util.Iterables;
+import ninja.sequence.internal.util.Key;
+
+/**
+ * The build side of a hash join: the stored inner elements (rows) in inner order and, per key,
+ * the positions of the rows with that key. Rows are addressed by their position, so a prober
+ * can mark matched rows in a {@link java.util.BitSet}.
+ *
+ * @param <TKey> the type of the key
+ * @param <TInner> the type of the inner elements
+ */
+public class JoinTable<TKey, TInner> {
+	private final EqualityComparator<? super TKey> comparator;
+	private final Map<Key<TKey>, Group> groups = new HashMap<Key<TKey>, Group>();
+	private final List<TInner> rows = new ArrayList<TInner>();
+
+	private JoinTable(EqualityComparator<? super TKey> comparator) {
+		this.comparator = comparator;
+	}
+
+	/**
+	 * Builds the table of a join. It normally holds all inner elements with a key. If both sizes
+	 * are known without iterating and the outer side is smaller, it is keyed by the outer keys
+	 * instead and only holds the matching inner elements; the outer side is iterated twice then.
+	 *
+	 * @param allRows whether the table has to hold every inner element, including the ones with
+	 *                a {@code null} key, e.g. to produce the unmatched ones of a full join
+	 */
+	public static <TOuter, TInner, TKey> JoinTable<TKey, TInner> build(Iterable<? extends TOuter> outer, Iterable<? extends TInner> inner,
+		Func<? super TOuter, ? extends TKey> outerKeySelector, Func<? super TInner, ? extends TKey> innerKeySelector,
+		EqualityComparator<? super TKey> comparator, boolean allRows) {
+
+		JoinTable<TKey, TInner> table = new JoinTable<TKey, TInner>(comparator);
+
+		long outerSize = Iterables.size(outer);
+		long innerSize = Iterables.size(inner);
+
+		if (allRows || outerSize < 0 || innerSize < 0 || outerSize >= innerSize) {
+			for (TInner element : inner) {
+				TKey key = innerKeySelector.invoke(element);
+
+				if (key != null) {
+					table.group(key, true).add(table.rows.size());
+					table.rows.add(element);
+				} else if (allRows) {
+					table.rows.add(element);
+				}
+			}
+		} else {
+			for (TOuter element : outer) {
+				TKey key = outerKeySelector.invoke(element);
+
+				if (key != null) {
+					table.group(key, true);
+				}
+			}
+
+			for (TInner element : inner) {
+				TKey key = innerKeySelector.invoke(element);
+				Group group = key != null ? table.group(key, false) : null;
+
+				if (group != null) {
+					group.add(table.rows.size());
+					table.rows.add(element);
+				}
+			}
+		}
+
+		return table;
+	}
+
+	/**
+	 * @param key the key to look up, may be {@code null}
+	 * @return the group of the rows with the key, or {@code null} if there are none
+	 */
+	public Group find(TKey key) {
+		if (key == null) {
+			return null;
+		}
+
+		Group group = this.groups.get(new Key<TKey>(key, this.comparator));
+
+		return group != null && group.size > 0 ? group : null;
+	}
+
+	public int size() {
+		return this.rows.size();
+	}
+
+	public TInner row(int position) {
+		return this.rows.get(position);
+	}
+
+	/**
+	 * @param group a group of this table, may be {@code null}
+	 * @return a view of the rows of the group, in inner order
+	 */
+	public Iterable<TInner> rows(final Group group) {
+		if (group == null) {
+			return Collections.emptyList();
+		}
+
+		return new Iterable<TInner>() {
+			@Override
+			public Iterator<TInner> iterator() {
+				return new AbstractArrayIterator<TInner>(group.size) {
+					@Override
+					protected TInner next(int index) {
+						return rows.get(group.positions[index]);
+					}
+				};
+			}
+		};
+	}
+
+	private Group group(TKey key, boolean create) {
+		Key<TKey> tableKey = new Key<TKey>(key, this.comparator);
+		Group group = this.groups.get(tableKey);
+
+		if (group == null && create) {
+			group = new Group();
+			this.groups.put(tableKey, group);
+		}
+
+		return group;
+	}
+
+	/**
+	 * The positions of the rows with the same key, in inner order.
+	 */
+	public static final class Group {
+		private int[] positions = new int[1];
+		private int size;
+
+		public int size() {
+			return this.size;
+		}
+
+		public int position(int index) {
+			return this.positions[index];
+		}
+
+		void add(int position) {
+			if (this.size == this.positions.length) {
+				this.positions = Arrays.copyOf(this.positions, this.size * 2);
+			}
+
+			this.positions[this.size++] = position;
+		}
+	}
+}
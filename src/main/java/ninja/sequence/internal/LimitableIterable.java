@@ -0,0 +1,17 @@
+package ninja.sequence.internal;
+
+import java.util.Iterator;
+
+/**
+ * An iterable which can produce its first elements cheaper than all of them,
+ * e.g. a sorted iterable which only has to select the smallest elements.
+ *
+ * @param <T> the type of the elements
+ */
+public interface LimitableIterable<T> extends Iterable<T> {
+	/**
+	 * @param limit the maximum number of elements the caller will consume, at least 0
+	 * @return an iterator over at most the first {@code limit} elements of {@link #iterator()}
+	 */
+	Iterator<T> iterator(long limit);
+}
@@ -0,0 +1,77 @@
+package ninja.sequence.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import ninja.sequence.io.SequenceIOException;
+
+/**
+ * The lines of a file, mapped again and read lazily on every {@link #iterator()} call.
+ */
+public class LineIterable implements Iterable<String> {
+	private final File file;
+	private final Charset charset;
+
+	public LineIterable(File file, Charset charset) {
+		this.file = file;
+		this.charset = charset;
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		final LineScanner scanner = open(this.file, this.charset);
+
+		return new ImmutableIterator<String>() {
+			private boolean advanced;
+			private boolean hasNext;
+
+			@Override
+			public boolean hasNext() {
+				if (!this.advanced) {
+					this.hasNext = advance(scanner);
+					this.advanced = true;
+				}
+
+				return this.hasNext;
+			}
+
+			@Override
+			public String next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				this.advanced = false;
+
+				return new String(scanner.chars(), scanner.start(), scanner.end() - scanner.start());
+			}
+		};
+	}
+
+	static LineScanner open(File file, Charset charset) {
+		try {
+			return new LineScanner(file, charset);
+		} catch (IOException e) {
+			throw new SequenceIOException("failed to map " + file + ".", e);
+		}
+	}
+
+	static boolean hasNext(LineScanner scanner) {
+		try {
+			return scanner.hasNext();
+		} catch (IOException e) {
+			throw new SequenceIOException("failed to read the next line.", e);
+		}
+	}
+
+	static boolean advance(LineScanner scanner) {
+		try {
+			return scanner.next();
+		} catch (IOException e) {
+			throw new SequenceIOException("failed to read the next line.", e);
+		}
+	}
+}
@@ -0,0 +1,202 @@
+package ninja.sequence.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Splits a file into lines, decoding the mapped windows of the file straight into a reusable
+ * char buffer. A line ends at {@code \n}, {@code \r} or {@code \r\n} like with
+ * {@link java.io.BufferedReader#readLine()}, the terminator is not part of the line. Malformed
+ * input is replaced like with an {@link java.io.InputStreamReader}.
+ *
+ * The current line is the range from {@link #start()} to {@link #end()} of {@link #chars()};
+ * the buffer is reused, so the range is only valid until the next call of {@link #next()}.
+ * {@link #hasNext()} keeps the chars of the current line, but may move them, so the range
+ * has to be read again afterwards.
+ */
+public class LineScanner {
+	private static final int INITIAL_CAPACITY = 1 << 13;
+
+	private final File file;
+	private final long length;
+	private final CharsetDecoder decoder;
+	private final int windowSize;
+
+	private ByteBuffer window;
+	private long windowPosition;
+
+	private char[] chars = new char[INITIAL_CAPACITY];
+	private int position;
+	private int limit;
+	private boolean endOfInput;
+
+	private int start;
+	private int end;
+	private long generation;
+
+	public LineScanner(File file, Charset charset) throws IOException {
+		this(file, charset, MappedFile.WINDOW_SIZE);
+	}
+
+	/**
+	 * @param windowSize the number of bytes mapped at once, small windows let tests split chars and line terminators
+	 */
+	LineScanner(File file, Charset charset, int windowSize) throws IOException {
+		this.file = file;
+		this.windowSize = windowSize;
+		this.length = file.length();
+		this.decoder = charset.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.window = map(0);
+	}
+
+	/**
+	 * Advances to the next line.
+	 *
+	 * @return {@code false} if there are no more lines
+	 */
+	public final boolean next() throws IOException {
+		this.generation++;
+
+		int scanned = this.position;
+
+		while (true) {
+			for (int i = scanned; i < this.limit; i++) {
+				char c = this.chars[i];
+
+				if (c == '\n' || c == '\r') {
+					// a \r at the end of the decoded chars may be followed by a \n still to decode
+					if (c == '\r' && i + 1 == this.limit && !this.endOfInput) {
+						break;
+					}
+
+					this.start = this.position;
+					this.end = i;
+					this.position = c == '\r' && i + 1 < this.limit && this.chars[i + 1] == '\n' ? i + 2 : i + 1;
+					return true;
+				}
+
+				scanned = i + 1;
+			}
+
+			if (this.endOfInput) {
+				if (this.position == this.limit) {
+					return false;
+				}
+
+				this.start = this.position;
+				this.end = this.limit;
+				this.position = this.limit;
+				return true;
+			}
+
+			scanned -= this.position;
+			fill();
+		}
+	}
+
+	/**
+	 * Looks ahead for another line without leaving the current one.
+	 *
+	 * @return {@code false} if there are no more lines
+	 */
+	public final boolean hasNext() throws IOException {
+		// every char behind the terminator of the current line starts another line
+		if (this.position == this.limit && !this.endOfInput) {
+			keep(this.start);
+			decode();
+		}
+
+		return this.position < this.limit;
+	}
+
+	public final char[] chars() {
+		return this.chars;
+	}
+
+	public final int start() {
+		return this.start;
+	}
+
+	public final int end() {
+		return this.end;
+	}
+
+	/**
+	 * @return the number of calls of {@link #next()}, each of which may overwrite the chars of the current line
+	 */
+	public final long generation() {
+		return this.generation;
+	}
+
+	/**
+	 * Moves the unscanned chars to the front, growing the buffer if a single line fills it,
+	 * and decodes more chars behind them.
+	 */
+	private void fill() throws IOException {
+		keep(this.position);
+		decode();
+	}
+
+	/**
+	 * Moves the chars from {@code from} on to the front, growing the buffer if they fill it.
+	 */
+	private void keep(int from) {
+		int remaining = this.limit - from;
+
+		char[] target = this.chars;
+
+		// a surrogate pair needs room for two chars
+		if (remaining > this.chars.length - 2) {
+			target = new char[this.chars.length * 2];
+		}
+
+		System.arraycopy(this.chars, from, target, 0, remaining);
+		this.chars = target;
+
+		this.start -= from;
+		this.end -= from;
+		this.position -= from;
+		this.limit = remaining;
+	}
+
+	/**
+	 * Decodes at least one more char behind the {@code limit}, unless the input has ended.
+	 */
+	private void decode() throws IOException {
+		CharBuffer output = CharBuffer.wrap(this.chars, this.limit, this.chars.length - this.limit);
+
+		while (output.position() == this.limit && !this.endOfInput) {
+			long windowEnd = this.windowPosition + this.window.limit();
+
+			CoderResult result = this.decoder.decode(this.window, output, windowEnd == this.length);
+
+			if (result.isUnderflow()) {
+				if (windowEnd == this.length) {
+					this.decoder.flush(output);
+					this.endOfInput = true;
+				} else {
+					// a char split between two windows is decoded from the start of the next one
+					this.window = map(this.windowPosition + this.window.position());
+				}
+			} else if (result.isError()) {
+				result.throwException();
+			}
+		}
+
+		this.limit = output.position();
+	}
+
+	private ByteBuffer map(long position) throws IOException {
+		this.windowPosition = position;
+
+		return MappedFile.map(this.file, position, Math.min(this.length - position, this.windowSize));
+	}
+}
@@ -0,0 +1,92 @@
+package ninja.sequence.internal;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import ninja.sequence.io.LineView;
+
+/**
+ * The lines of a file as views into the buffer of the {@link LineScanner}, mapped again and
+ * read lazily on every {@link #iterator()} call. Only {@code next()} advances to the next line,
+ * {@code hasNext()} looks ahead and keeps the current one. A single view is reused for every
+ * line, unless assertions are enabled: then every line gets a view of its own which checks
+ * that its line is still the current one.
+ */
+public class LineViewIterable implements Iterable<LineView> {
+	private static final boolean CHECKED;
+
+	static {
+		boolean assertions = false;
+		assert assertions = true;
+		CHECKED = assertions;
+	}
+
+	private final File file;
+	private final Charset charset;
+
+	public LineViewIterable(File file, Charset charset) {
+		this.file = file;
+		this.charset = charset;
+	}
+
+	@Override
+	public Iterator<LineView> iterator() {
+		final LineScanner scanner = LineIterable.open(this.file, this.charset);
+
+		return new ImmutableIterator<LineView>() {
+			private final ScannerLineView view = new ScannerLineView(scanner, -1);
+
+			@Override
+			public boolean hasNext() {
+				return LineIterable.hasNext(scanner);
+			}
+
+			@Override
+			public LineView next() {
+				if (!LineIterable.advance(scanner)) {
+					throw new NoSuchElementException();
+				}
+
+				return CHECKED ? new ScannerLineView(scanner, scanner.generation()) : this.view;
+			}
+		};
+	}
+
+	private static final class ScannerLineView extends LineView {
+		private final LineScanner scanner;
+		// the generation of the scanner the view is valid for, -1 for a reused view
+		private final long generation;
+
+		ScannerLineView(LineScanner scanner, long generation) {
+			this.scanner = scanner;
+			this.generation = generation;
+		}
+
+		@Override
+		protected char[] array() {
+			check();
+
+			return this.scanner.chars();
+		}
+
+		@Override
+		protected int offset() {
+			return this.scanner.start();
+		}
+
+		@Override
+		public int length() {
+			check();
+
+			return this.scanner.end() - this.scanner.start();
+		}
+
+		private void check() {
+			if (this.generation != -1 && this.generation != this.scanner.generation()) {
+				throw new IllegalStateException("The line has been left, materialize() a line view to keep it.");
+			}
+		}
+	}
+}
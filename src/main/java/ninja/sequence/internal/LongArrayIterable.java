@@ -1,8 +1,12 @@
 package ninja.sequence.internal;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
-public class LongArrayIterable implements Iterable<Long> {
+import ninja.sequence.primitive.LongIterable;
+import ninja.sequence.primitive.LongIterator;
+
+public class LongArrayIterable implements PushIterable<Long>, RandomAccessIterable<Long>, LongIterable {
 	private final long[] array;
 
 	public LongArrayIterable(long[] array) {
@@ -13,11 +17,37 @@ public class LongArrayIterable implements Iterable<Long> {
 		this.array = array;
 	}
 
+	@Override
+	public long size() {
+		return this.array.length;
+	}
+
+	@Override
+	public Long get(long index) {
+		return this.array[(int)index];
+	}
+
+	@Override
+	public boolean push(Sink<? super Long> sink) {
+		for (long element : this.array) {
+			if (!sink.accept(element)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public Iterator<Long> iterator() {
 		return new LongArrayIterator();
 	}
 
+	@Override
+	public LongIterator longIterator() {
+		return new PrimitiveLongArrayIterator();
+	}
+
 	private class LongArrayIterator extends AbstractArrayIterator<Long> {
 		public LongArrayIterator() {
 			super(array.length);
@@ -28,5 +58,22 @@ public class LongArrayIterable implements Iterable<Long> {
 			return array[index];
 		}
 	}
-}
 
+	private class PrimitiveLongArrayIterator implements LongIterator {
+		private int index = 0;
+
+		@Override
+		public boolean hasNext() {
+			return this.index < array.length;
+		}
+
+		@Override
+		public long nextLong() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			return array[this.index++];
+		}
+	}
+}
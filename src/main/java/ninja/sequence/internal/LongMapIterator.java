@@ -0,0 +1,22 @@
+package ninja.sequence.internal;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.delegate.LongFunc;
+import ninja.sequence.primitive.LongIterator;
+
+public class LongMapIterator extends AbstractLongIterator {
+	private final LongFunc resultSelector;
+
+	public LongMapIterator(LongIterator parent, LongFunc resultSelector) {
+		super(parent);
+
+		this.resultSelector = Check.argumentNotNull(resultSelector, "resultSelector must not be null.");
+	}
+
+	@Override
+	protected void computeNext() {
+		if (this.parent.hasNext()) {
+			computed(this.resultSelector.invoke(this.parent.nextLong()));
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package ninja.sequence.internal;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import ninja.sequence.primitive.LongIterable;
+import ninja.sequence.primitive.LongIterator;
+
+/**
+ * An arithmetic progression of {@code count} longs starting at {@code from}, each one
+ * {@code step} apart. The step may be negative. Every element is computed from its index,
+ * so the progression is never materialized.
+ */
+public class LongRangeIterable implements PushIterable<Long>, RandomAccessIterable<Long>, LongIterable {
+	private final long from;
+	private final long step;
+	private final long count;
+
+	public LongRangeIterable(long from, long step, long count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("count must be greater or equal 0.");
+		}
+
+		this.from = from;
+		this.step = step;
+		this.count = count;
+	}
+
+	public long from() {
+		return this.from;
+	}
+
+	public long step() {
+		return this.step;
+	}
+
+	@Override
+	public long size() {
+		return this.count;
+	}
+
+	@Override
+	public Long get(long index) {
+		return getLong(index);
+	}
+
+	/**
+	 * @param index the index of the element, between 0 inclusive and {@link #size()} exclusive
+	 * @return the element at the given index, without boxing it
+	 */
+	public long getLong(long index) {
+		// wraps around like the elements do when the progression spans more than a long
+		return this.from + index * this.step;
+	}
+
+	@Override
+	public boolean push(Sink<? super Long> sink) {
+		long element = this.from;
+
+		for (long i = 0; i < this.count; i++, element += this.step) {
+			if (!sink.accept(element)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public Iterator<Long> iterator() {
+		return new BoxedLongIterator(longIterator());
+	}
+
+	@Override
+	public LongIterator longIterator() {
+		return new LongIterator() {
+			private long index = 0;
+			private long next = from;
+
+			@Override
+			public boolean hasNext() {
+				return this.index < count;
+			}
+
+			@Override
+			public long nextLong() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				long element = this.next;
+
+				this.index++;
+				this.next += step;
+
+				return element;
+			}
+		};
+	}
+}
@@ -0,0 +1,27 @@
+package ninja.sequence.internal;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.delegate.LongPredicate;
+import ninja.sequence.primitive.LongIterator;
+
+public class LongSelectIterator extends AbstractLongIterator {
+	private final LongPredicate predicate;
+
+	public LongSelectIterator(LongIterator parent, LongPredicate predicate) {
+		super(parent);
+
+		this.predicate = Check.argumentNotNull(predicate, "predicate must not be null.");
+	}
+
+	@Override
+	protected void computeNext() {
+		while (this.parent.hasNext()) {
+			long element = this.parent.nextLong();
+
+			if (this.predicate.invoke(element)) {
+				computed(element);
+				return;
+			}
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package ninja.sequence.internal;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.delegate.ToDoubleFunc;
+import ninja.sequence.primitive.DoubleIterator;
+
+public class MapToDoubleIterator<TSource> implements DoubleIterator {
+	private final Iterator<? extends TSource> parent;
+	private final ToDoubleFunc<? super TSource> resultSelector;
+
+	public MapToDoubleIterator(Iterator<? extends TSource> parent, ToDoubleFunc<? super TSource> resultSelector) {
+		this.parent = Check.argumentNotNull(parent, "parent must not be null.");
+		this.resultSelector = Check.argumentNotNull(resultSelector, "resultSelector must not be null.");
+	}
+
+	@Override
+	public boolean hasNext() {
+		return this.parent.hasNext();
+	}
+
+	@Override
+	public double nextDouble() {
+		if (!this.parent.hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		return this.resultSelector.invoke(this.parent.next());
+	}
+}
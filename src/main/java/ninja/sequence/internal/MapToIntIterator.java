@@ -0,0 +1,32 @@
+package ninja.sequence.internal;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.delegate.ToIntFunc;
+import ninja.sequence.primitive.IntIterator;
+
+public class MapToIntIterator<TSource> implements IntIterator {
+	private final Iterator<? extends TSource> parent;
+	private final ToIntFunc<? super TSource> resultSelector;
+
+	public MapToIntIterator(Iterator<? extends TSource> parent, ToIntFunc<? super TSource> resultSelector) {
+		this.parent = Check.argumentNotNull(parent, "parent must not be null.");
+		this.resultSelector = Check.argumentNotNull(resultSelector, "resultSelector must not be null.");
+	}
+
+	@Override
+	public boolean hasNext() {
+		return this.parent.hasNext();
+	}
+
+	@Override
+	public int nextInt() {
+		if (!this.parent.hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		return this.resultSelector.invoke(this.parent.next());
+	}
+}
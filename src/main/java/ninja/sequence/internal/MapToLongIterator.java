@@ -0,0 +1,32 @@
+package ninja.sequence.internal;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.delegate.ToLongFunc;
+import ninja.sequence.primitive.LongIterator;
+
+public class MapToLongIterator<TSource> implements LongIterator {
+	private final Iterator<? extends TSource> parent;
+	private final ToLongFunc<? super TSource> resultSelector;
+
+	public MapToLongIterator(Iterator<? extends TSource> parent, ToLongFunc<? super TSource> resultSelector) {
+		this.parent = Check.argumentNotNull(parent, "parent must not be null.");
+		this.resultSelector = Check.argumentNotNull(resultSelector, "resultSelector must not be null.");
+	}
+
+	@Override
+	public boolean hasNext() {
+		return this.parent.hasNext();
+	}
+
+	@Override
+	public long nextLong() {
+		if (!this.parent.hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		return this.resultSelector.invoke(this.parent.next());
+	}
+}
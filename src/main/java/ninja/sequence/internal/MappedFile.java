@@ -0,0 +1,32 @@
+package ninja.sequence.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Maps a file window by window. The channel is only open while a window is mapped, a
+ * mapping stays valid after its channel is closed, so an abandoned iteration never holds
+ * a file descriptor; the mapping itself is released when the buffer is garbage collected.
+ */
+public abstract class MappedFile {
+	/**
+	 * The size of a mapped window, small enough to keep the address space of many
+	 * concurrent iterations in check and large enough to make remapping rare.
+	 */
+	public static final int WINDOW_SIZE = 1 << 26;
+
+	private MappedFile() {}
+
+	public static MappedByteBuffer map(File file, long position, long size) throws IOException {
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+
+		try {
+			return randomAccessFile.getChannel().map(FileChannel.MapMode.READ_ONLY, position, size);
+		} finally {
+			randomAccessFile.close();
+		}
+	}
+}
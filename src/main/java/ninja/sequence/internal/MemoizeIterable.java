@@ -0,0 +1,210 @@
+package ninja.sequence.internal;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Caches the elements of the source as the first iterator pulls them, so later and concurrent
+ * iterators replay them from the cache. All iterators share a single iterator of the source,
+ * only the iterator at the front pulls from it.
+ *
+ * Two locks keep the source from being iterated by two threads at once without making readers
+ * of the cache wait for it: the cache is guarded by this iterable and only held for reading or
+ * storing a single element, the shared iterator is guarded by a separate pull lock which is held
+ * while the source computes the next element.
+ *
+ * The cache keeps either the first {@code capacity} elements or, if it is {@code sliding}, the
+ * last {@code capacity} elements pulled. An iterator which needs an element the cache does
+ * not keep falls back to a fresh iterator of the source and skips to its position, which
+ * recomputes the skipped elements; it does so without holding any lock. When the cache of the
+ * first elements is full, the shared iterator of the source is handed over to the iterator at
+ * the front, so it is not recomputed.
+ *
+ * @param <T> the type of the elements
+ */
+public class MemoizeIterable<T> implements Iterable<T> {
+	// where an iterator stands, see MemoizeIterator#locate()
+	private static final int CACHED = 0;
+	private static final int FRONT = 1;
+	private static final int READY = 2;
+	private static final int ENDED = 3;
+	private static final int FALLBACK = 4;
+	private static final int HANDED_OVER = 5;
+
+	private final Iterable<? extends T> source;
+	private final int capacity;
+	private final boolean sliding;
+
+	private final Object pullLock = new Object();
+
+	// guarded by this, pulled and exhausted are only changed while also holding the pull lock
+	private Object[] cache = new Object[0];
+	private long pulled;
+	private boolean exhausted;
+
+	// guarded by the pull lock
+	private Iterator<? extends T> upstream;
+	private boolean handedOver;
+
+	/**
+	 * @param capacity the maximum number of cached elements, {@code Integer.MAX_VALUE} to cache all
+	 * @param sliding whether to keep the last elements instead of the first ones
+	 */
+	public MemoizeIterable(Iterable<? extends T> source, int capacity, boolean sliding) {
+		this.source = source;
+		this.capacity = capacity;
+		this.sliding = sliding;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new MemoizeIterator();
+	}
+
+	private boolean cached(long index) {
+		return this.sliding ? index >= this.pulled - this.capacity : index < this.capacity;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T get(long index) {
+		return (T)this.cache[(int)(index % this.cache.length)];
+	}
+
+	private void put(long index, T element) {
+		// the cache grows until it reaches its capacity, then a sliding cache wraps around
+		if (index >= this.cache.length && this.cache.length < this.capacity) {
+			this.cache = Arrays.copyOf(this.cache, (int)Math.min(this.capacity, Math.max(16, this.cache.length * 2L)));
+		}
+
+		this.cache[(int)(index % this.cache.length)] = element;
+	}
+
+	private final class MemoizeIterator extends ImmutableIterator<T> {
+		private long index;
+		// the own iterator of the source, once the cache cannot serve this iterator anymore
+		private Iterator<? extends T> own;
+
+		@Override
+		public boolean hasNext() {
+			if (this.own != null) {
+				return this.own.hasNext();
+			}
+
+			int state = locate();
+
+			if (state == FRONT) {
+				state = front();
+			}
+
+			switch (state) {
+				case ENDED:
+					return false;
+				case FALLBACK:
+					return fallBack();
+				default:
+					return true;
+			}
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			if (this.own != null) {
+				this.index++;
+				return this.own.next();
+			}
+
+			synchronized (MemoizeIterable.this) {
+				if (this.index < pulled && cached(this.index)) {
+					return get(this.index++);
+				}
+			}
+
+			synchronized (pullLock) {
+				// another iterator may have pulled or finished the shared iterator since hasNext
+				if (this.index == pulled && upstream != null) {
+					T element = upstream.next();
+
+					synchronized (MemoizeIterable.this) {
+						put(pulled, element);
+						pulled++;
+					}
+
+					this.index++;
+					return element;
+				}
+			}
+
+			return next();
+		}
+
+		private int locate() {
+			synchronized (MemoizeIterable.this) {
+				if (this.index < pulled) {
+					return cached(this.index) ? CACHED : FALLBACK;
+				}
+
+				return exhausted ? ENDED : FRONT;
+			}
+		}
+
+		/**
+		 * Checks the shared iterator of the source for the element at the front.
+		 */
+		private int front() {
+			synchronized (pullLock) {
+				int state = locate();
+
+				if (state != FRONT) {
+					return state;
+				}
+
+				if (upstream == null) {
+					if (handedOver) {
+						return FALLBACK;
+					}
+
+					upstream = source.iterator();
+				}
+
+				if (!upstream.hasNext()) {
+					upstream = null;
+
+					synchronized (MemoizeIterable.this) {
+						exhausted = true;
+						cache = sliding ? cache : Arrays.copyOf(cache, (int)pulled);
+					}
+
+					return ENDED;
+				}
+
+				if (!sliding && pulled == capacity) {
+					this.own = upstream;
+					upstream = null;
+					handedOver = true;
+
+					return HANDED_OVER;
+				}
+
+				return READY;
+			}
+		}
+
+		/**
+		 * Recomputes the elements up to the position of this iterator, outside of any lock.
+		 */
+		private boolean fallBack() {
+			this.own = source.iterator();
+
+			for (long i = 0; i < this.index && this.own.hasNext(); i++) {
+				this.own.next();
+			}
+
+			return this.own.hasNext();
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package ninja.sequence.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.delegate.Func;
+import ninja.sequence.delegate.Func2;
+
+/**
+ * Joins two iterators which are both sorted ascending by their keys, advancing them in lockstep.
+ * Only the current run of inner elements with the same key is held in memory, it is reused by
+ * consecutive outer elements with that key.
+ *
+ * Elements with a {@code null} key never match. Unmatched outer elements are passed to
+ * {@code outerOnly} and unmatched inner elements to {@code innerOnly}; either may be {@code null}
+ * to drop them, which gives the inner, left outer and full outer join.
+ */
+public class MergeJoinIterator<TOuter, TInner, TKey, TResult> extends AbstractIterator<TOuter, TResult> {
+	private final Iterator<? extends TInner> inner;
+
+	private final Func<? super TOuter, ? extends TKey> outerKeySelector;
+	private final Func<? super TInner, ? extends TKey> innerKeySelector;
+	private final Comparator<? super TKey> comparator;
+
+	private final Func2<? super TOuter, ? super TInner, ? extends TResult> matched;
+	private final Func<? super TOuter, ? extends TResult> outerOnly;
+	private final Func<? super TInner, ? extends TResult> innerOnly;
+
+	// the outer element being joined
+	private boolean outerPending;
+	private TOuter outerElement;
+	private TKey outerKey;
+
+	// the next inner element, looked ahead to find the end of a run
+	private boolean innerPeeked;
+	private TInner innerElement;
+	private TKey innerKey;
+
+	// the inner elements with the key of the run and the next one to pair with the outer element
+	private final List<TInner> run = new ArrayList<TInner>();
+	private boolean hasRun;
+	private TKey runKey;
+	private int runIndex = -1;
+
+	public MergeJoinIterator(Iterator<? extends TOuter> parent, Iterator<? extends TInner> inner,
+		Func<? super TOuter, ? extends TKey> outerKeySelector, Func<? super TInner, ? extends TKey> innerKeySelector,
+		Comparator<? super TKey> comparator, Func2<? super TOuter, ? super TInner, ? extends TResult> matched,
+		Func<? super TOuter, ? extends TResult> outerOnly, Func<? super TInner, ? extends TResult> innerOnly) {
+
+		super(parent);
+
+		this.inner = Check.argumentNotNull(inner, "inner must not be null.");
+		this.outerKeySelector = Check.argumentNotNull(outerKeySelector, "outerKeySelector must not be null.");
+		this.innerKeySelector = Check.argumentNotNull(innerKeySelector, "innerKeySelector must not be null.");
+		this.comparator = Check.argumentNotNull(comparator, "comparator must not be null.");
+		this.matched = Check.argumentNotNull(matched, "matched must not be null.");
+		this.outerOnly = outerOnly;
+		this.innerOnly = innerOnly;
+	}
+
+	@Override
+	protected TResult computeNext() {
+		while (true) {
+			if (this.runIndex >= 0) {
+				if (this.runIndex < this.run.size()) {
+					return this.matched.invoke(this.outerElement, this.run.get(this.runIndex++));
+				}
+
+				this.runIndex = -1;
+				this.outerPending = false;
+			}
+
+			if (!this.outerPending) {
+				if (!super.parent.hasNext()) {
+					break;
+				}
+
+				this.outerElement = super.parent.next();
+				this.outerKey = this.outerKeySelector.invoke(this.outerElement);
+				this.outerPending = true;
+			}
+
+			if (this.outerKey == null) {
+				this.outerPending = false;
+
+				if (this.outerOnly != null) {
+					return this.outerOnly.invoke(this.outerElement);
+				}
+
+				continue;
+			}
+
+			if (this.hasRun && this.comparator.compare(this.runKey, this.outerKey) == 0) {
+				this.runIndex = 0;
+				continue;
+			}
+
+			// the outer side moved past the run
+			this.run.clear();
+			this.hasRun = false;
+
+			if (peekInner() && (this.innerKey == null || this.comparator.compare(this.innerKey, this.outerKey) < 0)) {
+				TInner unmatched = takeInner();
+
+				if (this.innerOnly != null) {
+					return this.innerOnly.invoke(unmatched);
+				}
+
+				continue;
+			}
+
+			if (peekInner() && this.comparator.compare(this.innerKey, this.outerKey) == 0) {
+				this.runKey = this.outerKey;
+				this.hasRun = true;
+
+				while (peekInner() && this.innerKey != null && this.comparator.compare(this.innerKey, this.runKey) == 0) {
+					this.run.add(takeInner());
+				}
+
+				this.runIndex = 0;
+				continue;
+			}
+
+			this.outerPending = false;
+
+			if (this.outerOnly != null) {
+				return this.outerOnly.invoke(this.outerElement);
+			}
+		}
+
+		// the outer side is exhausted, only unmatched inner elements are left
+		if (this.innerOnly != null && peekInner()) {
+			return this.innerOnly.invoke(takeInner());
+		}
+
+		return computationEnd();
+	}
+
+	private boolean peekInner() {
+		if (!this.innerPeeked && this.inner.hasNext()) {
+			this.innerElement = this.inner.next();
+			this.innerKey = this.innerKeySelector.invoke(this.innerElement);
+			this.innerPeeked = true;
+		}
+
+		return this.innerPeeked;
+	}
+
+	private TInner takeInner() {
+		TInner element = this.innerElement;
+
+		this.innerPeeked = false;
+		this.innerElement = null;
+		this.innerKey = null;
+
+		return element;
+	}
+}
@@ -0,0 +1,164 @@
+package ninja.sequence.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import ninja.sequence.io.SequenceIOException;
+import ninja.sequence.io.Serializer;
+
+/**
+ * Processes spilled hash partitions one at a time. A partition of at most {@code budget}
+ * records is read into memory and turned into results at once, a larger one is partitioned
+ * again by the next bits of the hash first. A partition is read into memory regardless of
+ * its size once its records turn out to share a single hash, e.g. all of one large group.
+ * Every partition file is deleted once it is read.
+ *
+ * @param <TRecord> the type of the spilled records
+ * @param <TResult> the type of the results
+ */
+public abstract class PartitionIterator<TRecord, TResult> extends ImmutableIterator<TResult> {
+	private final Serializer<TRecord> serializer;
+	private final File directory;
+	private final int budget;
+
+	// the partitions still to read and their depths
+	private final LinkedList<SpillFile<TRecord>> pending = new LinkedList<SpillFile<TRecord>>();
+	private final LinkedList<Integer> depths = new LinkedList<Integer>();
+
+	private Iterator<? extends TResult> current;
+
+	protected PartitionIterator(HashPartitions<TRecord> partitions, Serializer<TRecord> serializer, File directory, int budget)
+		throws IOException {
+
+		this.serializer = serializer;
+		this.directory = directory;
+		this.budget = budget;
+
+		enqueue(partitions.finish(), partitions.depth());
+	}
+
+	/**
+	 * @return the hash of the key of the record, as it was partitioned by
+	 */
+	protected abstract int hash(TRecord record);
+
+	/**
+	 * @return the results of all records of one partition
+	 */
+	protected abstract Iterator<? extends TResult> results(List<TRecord> records);
+
+	@Override
+	public final boolean hasNext() {
+		while (this.current == null || !this.current.hasNext()) {
+			if (this.pending.isEmpty()) {
+				return false;
+			}
+
+			SpillFile<TRecord> file = this.pending.removeFirst();
+			int depth = this.depths.removeFirst();
+			boolean processed = false;
+
+			try {
+				if (file.size() > this.budget && depth + 1 < HashPartitions.MAX_DEPTH) {
+					partition(file, depth + 1);
+				} else {
+					this.current = results(read(file));
+				}
+
+				processed = true;
+			} catch (IOException e) {
+				throw new SequenceIOException("failed to read a spilled partition.", e);
+			} finally {
+				// the serializer or the results of a partition may fail as well
+				if (!processed) {
+					file.delete();
+
+					for (SpillFile<TRecord> other : this.pending) {
+						other.delete();
+					}
+
+					this.pending.clear();
+					this.depths.clear();
+				}
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public final TResult next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		return this.current.next();
+	}
+
+	private void partition(SpillFile<TRecord> file, int depth) throws IOException {
+		HashPartitions<TRecord> partitions = new HashPartitions<TRecord>(this.serializer, this.directory, depth);
+
+		SpillFile<TRecord>.Reader reader = file.open();
+		boolean partitioned = false;
+
+		try {
+			// records of a single hash cannot be split by any bits of it
+			boolean splittable = false;
+			int first = 0;
+
+			for (long i = 0; reader.hasNext(); i++) {
+				TRecord record = reader.next();
+				int hash = hash(record);
+
+				if (i == 0) {
+					first = hash;
+				} else if (hash != first) {
+					splittable = true;
+				}
+
+				partitions.add(hash, record);
+			}
+
+			enqueue(partitions.finish(), splittable ? depth : HashPartitions.MAX_DEPTH);
+			partitioned = true;
+		} finally {
+			if (!partitioned) {
+				reader.close();
+				partitions.delete();
+			}
+		}
+	}
+
+	private void enqueue(List<SpillFile<TRecord>> files, int depth) {
+		// depth first, a partition which is partitioned again is finished before its siblings
+		for (int i = files.size() - 1; i >= 0; i--) {
+			this.pending.addFirst(files.get(i));
+			this.depths.addFirst(depth);
+		}
+	}
+
+	private List<TRecord> read(SpillFile<TRecord> file) throws IOException {
+		List<TRecord> records = new ArrayList<TRecord>((int)Math.min(file.size(), Integer.MAX_VALUE - 8));
+		SpillFile<TRecord>.Reader reader = file.open();
+		boolean complete = false;
+
+		try {
+			while (reader.hasNext()) {
+				records.add(reader.next());
+			}
+
+			complete = true;
+		} finally {
+			if (!complete) {
+				reader.close();
+			}
+		}
+
+		return records;
+	}
+}
@@ -0,0 +1,609 @@
+package ninja.sequence.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import ninja.sequence.delegate.Func;
+import ninja.sequence.delegate.Predicate;
+import ninja.sequence.internal.util.ForkJoin;
+import ninja.sequence.internal.util.Iterables;
+
+/**
+ * A source followed by a chain of stateless stages (map, select) and slices (skip, take).
+ *
+ * Appending a stage never wraps the previous iterable. Instead adjacent stages of the
+ * same kind are fused when they are appended: map after map composes the functions,
+ * select after select conjoins the predicates and any combination of skip and take
+ * collapses into a single slice. All the remaining stages are then run by a single
+ * {@link PipelineIterator}, so an element costs one {@code hasNext}/{@code next} pair
+ * regardless of the length of the chain. Pushing runs the stages inside a single sink
+ * fed by the source.
+ *
+ * If the first stage is a slice over a {@link LimitableIterable}, the source is only asked
+ * for the elements the slice can let through, e.g. a sort followed by take only selects
+ * the smallest elements.
+ *
+ * A pipeline over a {@link RandomAccessIterable} source without select stages keeps the
+ * indexed access of its source, see {@link #randomAccess()}: its slices are applied to the
+ * indices instead of skipping elements one by one.
+ *
+ * A parallel pipeline which can be accessed by index can also be pushed in chunks: every
+ * chunk is fed into its own sink on a shared {@link ForkJoin#pool() fork/join pool}, see
+ * {@link #push(SinkFactory)}.
+ *
+ * @param <TSource> the type of the source elements
+ * @param <T> the type of the elements produced by the last stage
+ */
+public class PipelineIterable<TSource, T> implements PushIterable<T> {
+	private static final int MAP = 0;
+	private static final int SELECT = 1;
+	private static final int SLICE = 2;
+
+	private static final Object FILTERED = new Object();
+
+	// smaller chunks do not pay off the cost of forking a task
+	private static final long MIN_CHUNK_SIZE = 1 << 12;
+
+	private final Iterable<? extends TSource> source;
+	private final Stage[] stages;
+	private final boolean parallel;
+
+	private PipelineIterable(Iterable<? extends TSource> source, Stage[] stages, boolean parallel) {
+		this.source = source;
+		this.stages = stages;
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Returns the given iterable if it already is a pipeline, otherwise a new pipeline
+	 * without any stages.
+	 *
+	 * @param source the iterable to run the pipeline over
+	 * @param <T> the type of the elements
+	 * @return the pipeline
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PipelineIterable<?, T> of(Iterable<T> source) {
+		if (source instanceof PipelineIterable) {
+			return (PipelineIterable<?, T>)source;
+		}
+
+		return new PipelineIterable<T, T>(source, new Stage[0], false);
+	}
+
+	public final boolean isParallel() {
+		return this.parallel;
+	}
+
+	/**
+	 * @param parallel whether {@link #push(SinkFactory)} may split the pipeline into chunks
+	 * @return a pipeline with the same source and stages
+	 */
+	public final PipelineIterable<TSource, T> parallel(boolean parallel) {
+		if (this.parallel == parallel) {
+			return this;
+		}
+
+		return new PipelineIterable<TSource, T>(this.source, this.stages, parallel);
+	}
+
+	@SuppressWarnings("unchecked")
+	public final <R> PipelineIterable<TSource, R> map(final Func<? super T, ? extends R> resultSelector) {
+		Stage last = last();
+
+		if (last != null && last.kind == MAP) {
+			final Func<Object, Object> previous = last.func;
+			final Func<Object, Object> next = (Func<Object, Object>)resultSelector;
+
+			return replaceLast(
+				Stage.map(
+					new Func<Object, Object>() {
+						@Override
+						public Object invoke(Object arg) {
+							return next.invoke(previous.invoke(arg));
+						}
+					}
+				)
+			);
+		}
+
+		return append(Stage.map((Func<Object, Object>)resultSelector));
+	}
+
+	@SuppressWarnings("unchecked")
+	public final PipelineIterable<TSource, T> select(final Predicate<? super T> predicate) {
+		Stage last = last();
+
+		if (last != null && last.kind == SELECT) {
+			final Predicate<Object> previous = last.predicate;
+			final Predicate<Object> next = (Predicate<Object>)predicate;
+
+			return replaceLast(
+				Stage.select(
+					new Predicate<Object>() {
+						@Override
+						public boolean invoke(Object arg) {
+							return previous.invoke(arg) && next.invoke(arg);
+						}
+					}
+				)
+			);
+		}
+
+		return append(Stage.select((Predicate<Object>)predicate));
+	}
+
+	public final PipelineIterable<TSource, T> skip(long count) {
+		long skip = Math.max(0, count);
+		Stage last = last();
+
+		if (last != null && last.kind == SLICE) {
+			long skipped = Math.min(skip, last.limit);
+
+			return replaceLast(Stage.slice(saturatedAdd(last.skip, skipped), last.limit - skipped));
+		}
+
+		return append(Stage.slice(skip, Long.MAX_VALUE));
+	}
+
+	public final PipelineIterable<TSource, T> take(long count) {
+		long limit = Math.max(0, count);
+		Stage last = last();
+
+		if (last != null && last.kind == SLICE) {
+			return replaceLast(Stage.slice(last.skip, Math.min(last.limit, limit)));
+		}
+
+		return append(Stage.slice(0, limit));
+	}
+
+	/**
+	 * Returns a view of this pipeline with indexed access, if its source can be accessed by
+	 * index and none of its stages drops elements depending on their value. The element at
+	 * an index is computed by running the map stages over the corresponding source element.
+	 *
+	 * @return the view, or {@code null} if this pipeline cannot be accessed by index
+	 */
+	public final RandomAccessIterable<T> randomAccess() {
+		final RandomAccessIterable<? extends TSource> indexed = Iterables.randomAccess(this.source);
+
+		if (indexed == null || hasSelect()) {
+			return null;
+		}
+
+		return new RandomAccessIterable<T>() {
+			@Override
+			public long size() {
+				return slice(indexed.size())[1];
+			}
+
+			@Override
+			public T get(long index) {
+				return PipelineIterable.this.get(indexed, slice(indexed.size())[0] + index);
+			}
+
+			@Override
+			public Iterator<T> iterator() {
+				return PipelineIterable.this.iterator();
+			}
+		};
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Iterator<T> iterator() {
+		if (this.stages.length == 0) {
+			return (Iterator<T>)this.source.iterator();
+		}
+
+		RandomAccessIterable<? extends TSource> indexed = hasSlice() && !hasSelect() ? Iterables.randomAccess(this.source) : null;
+
+		if (indexed != null) {
+			long[] slice = slice(indexed.size());
+
+			return new IndexedIterator(indexed, slice[0], slice[0] + slice[1]);
+		}
+
+		return new PipelineIterator<T>(limitedSource().iterator(), this.stages);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean push(final Sink<? super T> sink) {
+		if (this.stages.length == 0) {
+			return Iterables.forEach((Iterable<T>)this.source, sink);
+		}
+
+		final Run run = new Run(this.stages);
+
+		if (run.lastElementTaken) {
+			return true;
+		}
+
+		RandomAccessIterable<? extends TSource> indexed = hasSlice() && !hasSelect() ? Iterables.randomAccess(this.source) : null;
+
+		if (indexed != null) {
+			long[] slice = slice(indexed.size());
+
+			for (long i = slice[0], to = slice[0] + slice[1]; i < to; i++) {
+				if (!sink.accept(get(indexed, i))) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		class StageSink implements Sink<Object> {
+			boolean stopped;
+
+			@Override
+			public boolean accept(Object element) {
+				Object result = run.apply(element);
+
+				if (result != FILTERED && !sink.accept((T)result)) {
+					this.stopped = true;
+					return false;
+				}
+
+				return !run.lastElementTaken;
+			}
+		}
+
+		StageSink stageSink = new StageSink();
+		Iterables.forEach(limitedSource(), stageSink);
+
+		return !stageSink.stopped;
+	}
+
+	/**
+	 * Pushes all elements into sinks created by the factory. A parallel pipeline which is
+	 * large enough and can be accessed by index, either through its source or through
+	 * {@link #randomAccess()}, is split into contiguous chunks, each pushed into its own
+	 * sink on a fork/join pool. Otherwise a single sink receives all elements on the
+	 * calling thread.
+	 *
+	 * As soon as one sink stops, the remaining chunks stop as well.
+	 *
+	 * @param factory creates the sink of every chunk
+	 * @param <S> the type of the sinks
+	 * @return the sinks in the order of their chunks
+	 */
+	public final <S extends Sink<? super T>> List<S> push(SinkFactory<S> factory) {
+		RandomAccessIterable<?> indexed = null;
+		Stage[] stages = this.stages;
+
+		if (this.parallel && !hasSlice()) {
+			indexed = Iterables.randomAccess(this.source);
+		} else if (this.parallel) {
+			// the view already applies the slices and maps, and stateful slices cannot be split
+			indexed = randomAccess();
+			stages = new Stage[0];
+		}
+
+		long size = indexed != null ? indexed.size() : 0;
+		int chunks = (int)Math.min(size / MIN_CHUNK_SIZE, ForkJoin.pool().getParallelism() * 4);
+
+		if (chunks < 2) {
+			S sink = factory.create();
+			push(sink);
+
+			return Collections.singletonList(sink);
+		}
+
+		final AtomicBoolean stopped = new AtomicBoolean();
+		final List<S> sinks = new ArrayList<S>(chunks);
+		final List<Chunk> tasks = new ArrayList<Chunk>(chunks);
+
+		for (int i = 0; i < chunks; i++) {
+			// the first size % chunks chunks take one more element
+			long from = i * (size / chunks) + Math.min(i, size % chunks);
+			long to = from + size / chunks + (i < size % chunks ? 1 : 0);
+
+			S sink = factory.create();
+			sinks.add(sink);
+			tasks.add(new Chunk(indexed, from, to, stages, sink, stopped));
+		}
+
+		ForkJoin.pool().invoke(
+			new RecursiveAction() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected void compute() {
+					invokeAll(tasks);
+				}
+			}
+		);
+
+		return sinks;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Iterable<? extends TSource> limitedSource() {
+		Stage first = this.stages[0];
+
+		if (first.kind != SLICE || first.limit == Long.MAX_VALUE || !(this.source instanceof LimitableIterable)) {
+			return this.source;
+		}
+
+		final LimitableIterable<TSource> limitable = (LimitableIterable<TSource>)this.source;
+		final long limit = saturatedAdd(first.skip, first.limit);
+
+		return new Iterable<TSource>() {
+			@Override
+			public Iterator<TSource> iterator() {
+				return limitable.iterator(limit);
+			}
+		};
+	}
+
+	private boolean hasSlice() {
+		for (Stage stage : this.stages) {
+			if (stage.kind == SLICE) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private boolean hasSelect() {
+		for (Stage stage : this.stages) {
+			if (stage.kind == SELECT) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Applies the slices of a pipeline without select stages to the indices of its source.
+	 *
+	 * @param size the size of the source
+	 * @return the index of the first source element passing all slices and the number of elements passing them
+	 */
+	private long[] slice(long size) {
+		long offset = 0;
+
+		for (Stage stage : this.stages) {
+			if (stage.kind == SLICE) {
+				long skipped = Math.min(stage.skip, size);
+
+				offset += skipped;
+				size = Math.min(size - skipped, stage.limit);
+			}
+		}
+
+		return new long[] { offset, size };
+	}
+
+	/**
+	 * Runs the map stages of a pipeline without select stages over a source element.
+	 */
+	@SuppressWarnings("unchecked")
+	private T get(RandomAccessIterable<? extends TSource> source, long index) {
+		Object element = source.get(index);
+
+		for (Stage stage : this.stages) {
+			if (stage.kind == MAP) {
+				element = stage.func.invoke(element);
+			}
+		}
+
+		return (T)element;
+	}
+
+	private Stage last() {
+		return this.stages.length > 0 ? this.stages[this.stages.length - 1] : null;
+	}
+
+	private <R> PipelineIterable<TSource, R> append(Stage stage) {
+		Stage[] stages = Arrays.copyOf(this.stages, this.stages.length + 1);
+		stages[this.stages.length] = stage;
+
+		return new PipelineIterable<TSource, R>(this.source, stages, this.parallel);
+	}
+
+	private <R> PipelineIterable<TSource, R> replaceLast(Stage stage) {
+		Stage[] stages = this.stages.clone();
+		stages[stages.length - 1] = stage;
+
+		return new PipelineIterable<TSource, R>(this.source, stages, this.parallel);
+	}
+
+	private static long saturatedAdd(long a, long b) {
+		long sum = a + b;
+
+		return sum < 0 ? Long.MAX_VALUE : sum;
+	}
+
+	private static final class Stage {
+		final int kind;
+
+		final Func<Object, Object> func;
+		final Predicate<Object> predicate;
+		final long skip;
+		final long limit;
+
+		private Stage(int kind, Func<Object, Object> func, Predicate<Object> predicate, long skip, long limit) {
+			this.kind = kind;
+			this.func = func;
+			this.predicate = predicate;
+			this.skip = skip;
+			this.limit = limit;
+		}
+
+		static Stage map(Func<Object, Object> func) {
+			return new Stage(MAP, func, null, 0, 0);
+		}
+
+		static Stage select(Predicate<Object> predicate) {
+			return new Stage(SELECT, null, predicate, 0, 0);
+		}
+
+		static Stage slice(long skip, long limit) {
+			return new Stage(SLICE, null, null, skip, limit);
+		}
+	}
+
+	/**
+	 * The per iteration state of the stages, shared by pulling and pushing.
+	 */
+	private static final class Run {
+		private final Stage[] stages;
+
+		// per slice stage, the elements still to skip and to take
+		private final long[] toSkip;
+		private final long[] toTake;
+
+		// once a slice is exhausted no further element can pass it, so the source is not pulled again
+		boolean lastElementTaken;
+
+		Run(Stage[] stages) {
+			this.stages = stages;
+			this.toSkip = new long[stages.length];
+			this.toTake = new long[stages.length];
+
+			for (int i = 0; i < stages.length; i++) {
+				this.toSkip[i] = stages[i].skip;
+				this.toTake[i] = stages[i].limit;
+
+				if (stages[i].kind == SLICE && stages[i].limit == 0) {
+					this.lastElementTaken = true;
+				}
+			}
+		}
+
+		/**
+		 * @return the element after all stages, or {@code FILTERED} if a stage dropped it
+		 */
+		Object apply(Object element) {
+			for (int i = 0; i < this.stages.length; i++) {
+				Stage stage = this.stages[i];
+
+				switch (stage.kind) {
+					case MAP:
+						element = stage.func.invoke(element);
+						break;
+					case SELECT:
+						if (!stage.predicate.invoke(element)) {
+							return FILTERED;
+						}
+						break;
+					default:
+						if (this.toSkip[i] > 0) {
+							this.toSkip[i]--;
+							return FILTERED;
+						}
+
+						if (--this.toTake[i] == 0) {
+							this.lastElementTaken = true;
+						}
+				}
+			}
+
+			return element;
+		}
+	}
+
+	/**
+	 * Runs the stages over the elements {@code from} inclusive to {@code to} exclusive.
+	 * Without slices the stages are stateless, so every chunk can have its own {@link Run}.
+	 */
+	private static final class Chunk extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final RandomAccessIterable<?> source;
+		private final long from;
+		private final long to;
+		private final Stage[] stages;
+		private final Sink<Object> sink;
+		private final AtomicBoolean stopped;
+
+		@SuppressWarnings("unchecked")
+		Chunk(RandomAccessIterable<?> source, long from, long to, Stage[] stages, Sink<?> sink, AtomicBoolean stopped) {
+			this.source = source;
+			this.from = from;
+			this.to = to;
+			this.stages = stages;
+			this.sink = (Sink<Object>)sink;
+			this.stopped = stopped;
+		}
+
+		@Override
+		protected void compute() {
+			Run run = new Run(this.stages);
+
+			for (long i = this.from; i < this.to && !this.stopped.get(); i++) {
+				Object element = run.apply(this.source.get(i));
+
+				if (element != FILTERED && !this.sink.accept(element)) {
+					this.stopped.set(true);
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Iterates the source elements {@code from} inclusive to {@code to} exclusive of a pipeline
+	 * without select stages by their index, so the slices do not skip elements one by one.
+	 */
+	private final class IndexedIterator extends ImmutableIterator<T> {
+		private final RandomAccessIterable<? extends TSource> source;
+		private final long to;
+		private long index;
+
+		IndexedIterator(RandomAccessIterable<? extends TSource> source, long from, long to) {
+			this.source = source;
+			this.index = from;
+			this.to = to;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.index < this.to;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			return get(this.source, this.index++);
+		}
+	}
+
+	private static final class PipelineIterator<T> extends AbstractIterator<Object, T> {
+		private final Run run;
+
+		PipelineIterator(Iterator<?> parent, Stage[] stages) {
+			super(parent);
+
+			this.run = new Run(stages);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		protected T computeNext() {
+			while (!this.run.lastElementTaken && this.parent.hasNext()) {
+				Object element = this.run.apply(this.parent.next());
+
+				if (element != FILTERED) {
+					return (T)element;
+				}
+			}
+
+			return computationEnd();
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package ninja.sequence.internal;
+
+/**
+ * An iterable which is also able to push its elements into a {@link Sink} in a
+ * single loop, without going through {@code hasNext}/{@code next} for every element.
+ *
+ * @param <T> the type of the elements
+ */
+public interface PushIterable<T> extends Iterable<T> {
+	/**
+	 * Pushes the elements in iteration order into the sink until there are no more
+	 * elements or the sink asks to stop.
+	 *
+	 * @param sink the sink receiving the elements
+	 * @return {@code false} if the sink stopped the iteration, {@code true} otherwise
+	 */
+	boolean push(Sink<? super T> sink);
+}
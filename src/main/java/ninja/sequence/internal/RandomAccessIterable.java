@@ -0,0 +1,17 @@
+package ninja.sequence.internal;
+
+/**
+ * An iterable with a known size whose elements can be accessed by their index
+ * in constant time, which makes it possible to split it into chunks.
+ *
+ * @param <T> the type of the elements
+ */
+public interface RandomAccessIterable<T> extends Iterable<T> {
+	long size();
+
+	/**
+	 * @param index the index of the element, between 0 inclusive and {@link #size()} exclusive
+	 * @return the element at the given index
+	 */
+	T get(long index);
+}
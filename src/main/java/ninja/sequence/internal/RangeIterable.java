@@ -3,7 +3,10 @@ package ninja.sequence.internal;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class RangeIterable implements Iterable<Integer> {
+import ninja.sequence.primitive.IntIterable;
+import ninja.sequence.primitive.IntIterator;
+
+public class RangeIterable implements PushIterable<Integer>, RandomAccessIterable<Integer>, IntIterable {
 	private final int count;
 	private final int from;
 
@@ -12,11 +15,53 @@ public class RangeIterable implements Iterable<Integer> {
 		this.from = from;
 	}
 
+	@Override
+	public long size() {
+		return this.count;
+	}
+
+	@Override
+	public Integer get(long index) {
+		return this.from + (int)index;
+	}
+
+	@Override
+	public boolean push(Sink<? super Integer> sink) {
+		for (int i = 0; i < this.count; i++) {
+			if (!sink.accept(this.from + i)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public Iterator<Integer> iterator() {
 		return new RangeIterator();
 	}
 
+	@Override
+	public IntIterator intIterator() {
+		return new IntIterator() {
+			private int current = 0;
+
+			@Override
+			public boolean hasNext() {
+				return this.current < count;
+			}
+
+			@Override
+			public int nextInt() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				return from + this.current++;
+			}
+		};
+	}
+
 	private class RangeIterator extends ImmutableIterator<Integer> {
 		int current = 0;
 
@@ -0,0 +1,91 @@
+package ninja.sequence.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import ninja.sequence.delegate.Func;
+import ninja.sequence.io.SequenceIOException;
+
+/**
+ * The fixed-size records of a file, mapped again and read lazily on every {@link #iterator()}
+ * call. Every record is handed to the reader as a buffer of its own, positioned at 0 and
+ * limited to the record, which is only valid during the call.
+ *
+ * @param <T> the type of the read records
+ */
+public class RecordIterable<T> implements Iterable<T> {
+	private final File file;
+	private final int recordSize;
+	private final Func<? super ByteBuffer, ? extends T> reader;
+	private final int windowSize;
+
+	public RecordIterable(File file, int recordSize, Func<? super ByteBuffer, ? extends T> reader) {
+		this(file, recordSize, reader, MappedFile.WINDOW_SIZE);
+	}
+
+	/**
+	 * @param windowSize the maximum number of bytes mapped at once, rounded down to whole records
+	 */
+	RecordIterable(File file, int recordSize, Func<? super ByteBuffer, ? extends T> reader, int windowSize) {
+		this.file = file;
+		this.recordSize = recordSize;
+		this.reader = reader;
+		this.windowSize = windowSize;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		final long length = this.file.length();
+
+		if (length % this.recordSize != 0) {
+			throw new SequenceIOException("failed to read " + this.file + ".",
+				new IOException("the file size " + length + " is not a multiple of the record size " + this.recordSize + "."));
+		}
+
+		// whole records only, so no record is split between two windows
+		final long windowSize = Math.max(this.windowSize / this.recordSize, 1) * (long)this.recordSize;
+
+		return new ImmutableIterator<T>() {
+			private ByteBuffer window;
+			private long windowPosition;
+
+			@Override
+			public boolean hasNext() {
+				return this.window != null && this.window.hasRemaining() || this.windowPosition < length;
+			}
+
+			@Override
+			public T next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				if (this.window == null || !this.window.hasRemaining()) {
+					map();
+				}
+
+				int position = this.window.position();
+				this.window.limit(position + recordSize);
+
+				ByteBuffer record = this.window.slice();
+
+				this.window.limit(this.window.capacity());
+				this.window.position(position + recordSize);
+
+				return reader.invoke(record);
+			}
+
+			private void map() {
+				try {
+					this.window = MappedFile.map(file, this.windowPosition, Math.min(length - this.windowPosition, windowSize));
+					this.windowPosition += this.window.capacity();
+				} catch (IOException e) {
+					throw new SequenceIOException("failed to map " + file + ".", e);
+				}
+			}
+		};
+	}
+}
@@ -0,0 +1,12 @@
+package ninja.sequence.internal;
+
+/**
+ * The primitive reductions of the values of a group, see {@link LongGroupAggregateIterable}
+ * and {@link DoubleGroupAggregateIterable}.
+ */
+public enum Reduction {
+	COUNT,
+	SUM,
+	MIN,
+	MAX
+}
@@ -3,7 +3,7 @@ package ninja.sequence.internal;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-public class RepeatIterable<T> implements Iterable<T> {
+public class RepeatIterable<T> implements PushIterable<T>, RandomAccessIterable<T> {
 	private final T value;
 	private final int count;
 
@@ -16,6 +16,27 @@ public class RepeatIterable<T> implements Iterable<T> {
 		this.count = count;
 	}
 
+	@Override
+	public long size() {
+		return this.count;
+	}
+
+	@Override
+	public T get(long index) {
+		return this.value;
+	}
+
+	@Override
+	public boolean push(Sink<? super T> sink) {
+		for (int i = 0; i < this.count; i++) {
+			if (!sink.accept(this.value)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public Iterator<T> iterator() {
 		return new RepeatIterator();
@@ -0,0 +1,71 @@
+package ninja.sequence.internal;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import ninja.sequence.contract.Check;
+
+/**
+ * The elements of a source in reverse order. The source is buffered into an array each time an
+ * iterator reaches its first element, so nothing is evaluated before the iteration starts.
+ *
+ * @param <T> the type of the elements
+ */
+public class ReverseIterable<T> implements Iterable<T> {
+	private final Iterable<? extends T> source;
+
+	public ReverseIterable(Iterable<? extends T> source) {
+		this.source = Check.argumentNotNull(source, "source must not be null.");
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new ReverseIterator();
+	}
+
+	private Object[] buffer() {
+		Object[] array = new Object[this.source instanceof Collection ? ((Collection<?>)this.source).size() : 16];
+
+		int size = 0;
+		for (T element : this.source) {
+			if (size == array.length) {
+				array = Arrays.copyOf(array, Math.max(16, size * 2));
+			}
+
+			array[size++] = element;
+		}
+
+		return size == array.length ? array : Arrays.copyOf(array, size);
+	}
+
+	private class ReverseIterator extends ImmutableIterator<T> {
+		private Object[] array;
+		private int index;
+
+		@Override
+		public boolean hasNext() {
+			if (this.array == null) {
+				this.array = buffer();
+				this.index = this.array.length;
+			}
+
+			return this.index > 0;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			T element = (T)this.array[--this.index];
+			// the iterator does not hold on to the elements it returned
+			this.array[this.index] = null;
+
+			return element;
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package ninja.sequence.internal;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import ninja.sequence.contract.Check;
+
+/**
+ * The elements of a random access source in reverse order. The elements are read by their
+ * index from the end of the source, without buffering them.
+ *
+ * @param <T> the type of the elements
+ */
+public class ReverseRandomAccessIterable<T> implements RandomAccessIterable<T> {
+	private final RandomAccessIterable<? extends T> source;
+
+	public ReverseRandomAccessIterable(RandomAccessIterable<? extends T> source) {
+		this.source = Check.argumentNotNull(source, "source must not be null.");
+	}
+
+	@Override
+	public long size() {
+		return this.source.size();
+	}
+
+	@Override
+	public T get(long index) {
+		return this.source.get(this.source.size() - 1 - index);
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new ReverseIterator(this.source.size());
+	}
+
+	private class ReverseIterator extends ImmutableIterator<T> {
+		private long index;
+
+		public ReverseIterator(long size) {
+			this.index = size;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return this.index > 0;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			return source.get(--this.index);
+		}
+	}
+}
@@ -2,7 +2,7 @@ package ninja.sequence.internal;
 
 import java.util.Iterator;
 
-public class ShortArrayIterable implements Iterable<Short> {
+public class ShortArrayIterable implements PushIterable<Short>, RandomAccessIterable<Short> {
 	private final short[] array;
 
 	public ShortArrayIterable(short[] array) {
@@ -13,6 +13,27 @@ public class ShortArrayIterable implements Iterable<Short> {
 		this.array = array;
 	}
 
+	@Override
+	public long size() {
+		return this.array.length;
+	}
+
+	@Override
+	public Short get(long index) {
+		return this.array[(int)index];
+	}
+
+	@Override
+	public boolean push(Sink<? super Short> sink) {
+		for (short element : this.array) {
+			if (!sink.accept(element)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	@Override
 	public Iterator<Short> iterator() {
 		return new ShortArrayIterator();
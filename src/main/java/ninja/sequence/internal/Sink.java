@@ -0,0 +1,14 @@
+package ninja.sequence.internal;
+
+/**
+ * Receives the elements pushed by a {@link PushIterable}.
+ *
+ * @param <T> the type of the elements
+ */
+public interface Sink<T> {
+	/**
+	 * @param element the next element
+	 * @return {@code true} to receive further elements, {@code false} to stop the iteration
+	 */
+	boolean accept(T element);
+}
@@ -0,0 +1,11 @@
+package ninja.sequence.internal;
+
+/**
+ * Creates a fresh sink for every chunk of a parallel push, so no sink is ever
+ * shared between threads.
+ *
+ * @param <S> the type of the sinks
+ */
+public interface SinkFactory<S> {
+	S create();
+}
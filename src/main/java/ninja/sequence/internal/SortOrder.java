@@ -0,0 +1,144 @@
+package ninja.sequence.internal;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.delegate.Func;
+import ninja.sequence.internal.util.DefaultComparator;
+import ninja.sequence.internal.util.IntComparator;
+import ninja.sequence.internal.util.MergeSort;
+
+/**
+ * The levels of a sort, each a key selector with a comparator and a direction. The first level
+ * decides and every further level only breaks the ties of the previous ones.
+ *
+ * Keys are extracted once per element and level, into one column per level, and the
+ * comparisons only look at the extracted keys.
+ *
+ * @param <T> the type of the sorted elements
+ */
+public class SortOrder<T> {
+	private final Level<T, ?>[] levels;
+
+	private SortOrder(Level<T, ?>[] levels) {
+		this.levels = levels;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> SortOrder<T> create() {
+		return new SortOrder<T>((Level<T, ?>[])new Level<?, ?>[0]);
+	}
+
+	/**
+	 * @return a new order with an additional level, this order is not changed
+	 */
+	public final <K> SortOrder<T> then(Func<? super T, ? extends K> keySelector, Comparator<? super K> comparator, boolean descending) {
+		Level<T, ?>[] levels = Arrays.copyOf(this.levels, this.levels.length + 1);
+		levels[this.levels.length] = new Level<T, K>(keySelector, comparator, descending);
+
+		return new SortOrder<T>(levels);
+	}
+
+	public final int levels() {
+		return this.levels.length;
+	}
+
+	public final Object key(int level, T element) {
+		return this.levels[level].keySelector.invoke(element);
+	}
+
+	/**
+	 * @return the keys of all elements, one column per level
+	 */
+	public final Object[][] keys(T[] elements) {
+		Object[][] keys = new Object[this.levels.length][elements.length];
+
+		for (int level = 0; level < this.levels.length; level++) {
+			for (int i = 0; i < elements.length; i++) {
+				keys[level][i] = key(level, elements[i]);
+			}
+		}
+
+		return keys;
+	}
+
+	public final int compare(int level, Object a, Object b) {
+		return this.levels[level].compare(a, b);
+	}
+
+	/**
+	 * Compares the keys at two positions of the key columns, level by level.
+	 *
+	 * @return the result of the first level that does not consider the keys equal, or 0
+	 */
+	public final int compare(Object[][] keys, int a, int b) {
+		for (int level = 0; level < this.levels.length; level++) {
+			int result = this.levels[level].compare(keys[level][a], keys[level][b]);
+
+			if (result != 0) {
+				return result;
+			}
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Sorts the elements stably, elements with equal keys keep their order.
+	 *
+	 * @param elements the elements to sort, not changed
+	 * @param parallel whether the sort may run on the fork/join pool
+	 * @return the positions of the elements in sorted order
+	 */
+	public final int[] sort(T[] elements, boolean parallel) {
+		final Object[][] keys = keys(elements);
+		int[] order = new int[elements.length];
+
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+
+		MergeSort.sort(order,
+			new IntComparator() {
+				@Override
+				public int compare(int a, int b) {
+					int result = SortOrder.this.compare(keys, a, b);
+
+					if (result != 0) {
+						return result;
+					}
+
+					// preserve initial order
+					return a < b ? -1 : (a == b ? 0 : 1);
+				}
+			},
+			parallel
+		);
+
+		return order;
+	}
+
+	private static final class Level<T, K> {
+		private final Func<? super T, ? extends K> keySelector;
+		private final Comparator<? super K> comparator;
+		private final boolean descending;
+
+		Level(Func<? super T, ? extends K> keySelector, Comparator<? super K> comparator, boolean descending) {
+			this.keySelector = Check.argumentNotNull(keySelector, "keySelector must not be null.");
+			if (comparator == null) {
+				this.comparator = new DefaultComparator<K>();
+			} else {
+				this.comparator = comparator;
+			}
+			this.descending = descending;
+		}
+
+		@SuppressWarnings("unchecked")
+		int compare(Object a, Object b) {
+			return this.descending
+				? this.comparator.compare((K)b, (K)a)
+				: this.comparator.compare((K)a, (K)b);
+		}
+	}
+}
@@ -0,0 +1,141 @@
+package ninja.sequence.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+
+import ninja.sequence.io.Serializer;
+
+/**
+ * A temporary file of serialized elements, written once and read back once. The file is
+ * streamed through its {@link java.nio.channels.FileChannel} with a large buffer in both
+ * directions, and deleted when it is read completely or when the reader is closed. Files are
+ * not registered for deletion on exit, which would keep every path until the JVM exits.
+ *
+ * @param <T> the type of the elements
+ */
+public class SpillFile<T> {
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final Serializer<T> serializer;
+	private final File file;
+
+	private DataOutputStream output;
+	private long size;
+
+	private SpillFile(Serializer<T> serializer, File file) throws IOException {
+		this.serializer = serializer;
+		this.file = file;
+		this.output = new DataOutputStream(
+			new BufferedOutputStream(Channels.newOutputStream(new FileOutputStream(file).getChannel()), BUFFER_SIZE)
+		);
+	}
+
+	/**
+	 * @param directory the directory of the file, {@code null} for the default temporary directory
+	 */
+	public static <T> SpillFile<T> create(Serializer<T> serializer, File directory) throws IOException {
+		File file = File.createTempFile("sequence-spill-", ".tmp", directory);
+
+		try {
+			return new SpillFile<T>(serializer, file);
+		} catch (IOException e) {
+			file.delete();
+			throw e;
+		}
+	}
+
+	public final void write(T element) throws IOException {
+		this.serializer.write(element, this.output);
+		this.size++;
+	}
+
+	/**
+	 * Flushes and closes the file for writing, it can be read afterwards.
+	 */
+	public final void finish() throws IOException {
+		if (this.output != null) {
+			this.output.close();
+			this.output = null;
+		}
+	}
+
+	/**
+	 * @return the number of elements written
+	 */
+	public final long size() {
+		return this.size;
+	}
+
+	public final Reader open() throws IOException {
+		finish();
+
+		return new Reader();
+	}
+
+	public final void delete() {
+		if (this.output != null) {
+			try {
+				this.output.close();
+			} catch (IOException ignored) {
+				// the file is deleted anyway
+			}
+
+			this.output = null;
+		}
+
+		this.file.delete();
+	}
+
+	/**
+	 * Reads the elements back in the order they were written.
+	 */
+	public final class Reader {
+		private final DataInputStream input;
+		private long remaining;
+
+		private Reader() throws IOException {
+			this.input = new DataInputStream(
+				new BufferedInputStream(Channels.newInputStream(new FileInputStream(file).getChannel()), BUFFER_SIZE)
+			);
+			this.remaining = size;
+		}
+
+		/**
+		 * @return {@code false} and deletes the file once all elements have been read
+		 */
+		public boolean hasNext() {
+			if (this.remaining == 0) {
+				close();
+				return false;
+			}
+
+			return true;
+		}
+
+		public T next() throws IOException {
+			this.remaining--;
+
+			return serializer.read(this.input);
+		}
+
+		/**
+		 * Closes and deletes the file, even if not all elements have been read.
+		 */
+		public void close() {
+			try {
+				this.input.close();
+			} catch (IOException ignored) {
+				// the file is deleted anyway
+			}
+
+			delete();
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package ninja.sequence.internal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import ninja.sequence.datastructure.Tuple;
+import ninja.sequence.delegate.Accumulator;
+import ninja.sequence.delegate.HashingEqualityComparator;
+import ninja.sequence.delegate.Func;
+import ninja.sequence.internal.util.Key;
+import ninja.sequence.io.SequenceIOException;
+import ninja.sequence.io.Serializer;
+
+/**
+ * Aggregates elements per key without storing the elements, with at most {@code budget}
+ * keys held in memory. Every element is folded into the state of its key right away. When
+ * a new key does not fit into the budget anymore, all partial states are written to hash
+ * partitions of their keys and the memory starts over. While iterating, the partitions are
+ * read one after another and the partial states of a key are merged with the {@code combiner}.
+ *
+ * As long as no state is spilled, the results are in order of first appearance of their keys.
+ *
+ * @param <TSource> the type of the elements
+ * @param <TKey> the type of the keys
+ * @param <TState> the type of the aggregated states
+ */
+public class SpillingGroupAggregateIterable<TSource, TKey, TState> implements Iterable<Tuple<TKey, TState>> {
+	private final Iterable<? extends TSource> source;
+	private final Func<? super TSource, ? extends TKey> keySelector;
+	private final Func<? super TKey, ? extends TState> seedFactory;
+	private final Accumulator<TState, ? super TSource> accumulator;
+	private final Accumulator<TState, TState> combiner;
+	private final HashingEqualityComparator<? super TKey> comparator;
+	private final Serializer<Tuple<TKey, TState>> serializer;
+	private final int budget;
+	private final File directory;
+
+	/**
+	 * @param directory the directory of the partition files, {@code null} for the default temporary directory
+	 */
+	public SpillingGroupAggregateIterable(Iterable<? extends TSource> source, Func<? super TSource, ? extends TKey> keySelector,
+		Func<? super TKey, ? extends TState> seedFactory, Accumulator<TState, ? super TSource> accumulator,
+		Accumulator<TState, TState> combiner, HashingEqualityComparator<? super TKey> comparator, Serializer<TKey> keySerializer,
+		Serializer<TState> stateSerializer, int budget, File directory) {
+
+		this.source = source;
+		this.keySelector = keySelector;
+		this.seedFactory = seedFactory;
+		this.accumulator = accumulator;
+		this.combiner = combiner;
+		this.comparator = comparator;
+		this.serializer = new TupleSerializer<TKey, TState>(keySerializer, stateSerializer);
+		this.budget = budget;
+		this.directory = directory;
+	}
+
+	@Override
+	public Iterator<Tuple<TKey, TState>> iterator() {
+		// LinkedHashMap allows null keys and keeps the states in the order their keys first appear
+		Map<Key<TKey>, TState> states = new LinkedHashMap<Key<TKey>, TState>();
+		HashPartitions<Tuple<TKey, TState>> partitions = null;
+		boolean partitioned = false;
+
+		try {
+			for (TSource element : this.source) {
+				TKey value = this.keySelector.invoke(element);
+				Key<TKey> key = new Key<TKey>(value, this.comparator);
+
+				TState state;
+				if (states.containsKey(key)) {
+					state = states.get(key);
+				} else {
+					if (states.size() == this.budget) {
+						if (partitions == null) {
+							partitions = new HashPartitions<Tuple<TKey, TState>>(this.serializer, this.directory, 0);
+						}
+
+						spill(states, partitions);
+					}
+
+					state = this.seedFactory.invoke(value);
+				}
+
+				states.put(key, this.accumulator.accumulate(state, element));
+			}
+
+			if (partitions == null) {
+				return tuples(states);
+			}
+
+			spill(states, partitions);
+
+			Iterator<Tuple<TKey, TState>> iterator = new PartitionIterator<Tuple<TKey, TState>, Tuple<TKey, TState>>(
+				partitions, this.serializer, this.directory, this.budget) {
+
+				@Override
+				protected int hash(Tuple<TKey, TState> record) {
+					return Key.hash(record.getFirst(), comparator);
+				}
+
+				@Override
+				protected Iterator<Tuple<TKey, TState>> results(List<Tuple<TKey, TState>> records) {
+					return combine(records);
+				}
+			};
+			partitioned = true;
+
+			return iterator;
+		} catch (IOException e) {
+			throw new SequenceIOException("failed to spill a partition.", e);
+		} finally {
+			// the source, the key selector, the seed factory, the accumulator or the serializer may fail as well
+			if (!partitioned && partitions != null) {
+				partitions.delete();
+			}
+		}
+	}
+
+	private void spill(Map<Key<TKey>, TState> states, HashPartitions<Tuple<TKey, TState>> partitions) throws IOException {
+		for (Map.Entry<Key<TKey>, TState> entry : states.entrySet()) {
+			partitions.add(entry.getKey().hashCode(), Tuple.create(entry.getKey().getValue(), entry.getValue()));
+		}
+
+		states.clear();
+	}
+
+	private Iterator<Tuple<TKey, TState>> combine(List<Tuple<TKey, TState>> records) {
+		Map<Key<TKey>, TState> states = new LinkedHashMap<Key<TKey>, TState>();
+
+		for (Tuple<TKey, TState> record : records) {
+			Key<TKey> key = new Key<TKey>(record.getFirst(), this.comparator);
+
+			if (states.containsKey(key)) {
+				states.put(key, this.combiner.accumulate(states.get(key), record.getSecond()));
+			} else {
+				states.put(key, record.getSecond());
+			}
+		}
+
+		return tuples(states);
+	}
+
+	private static <TKey, TState> Iterator<Tuple<TKey, TState>> tuples(Map<Key<TKey>, TState> states) {
+		final Iterator<Map.Entry<Key<TKey>, TState>> entries = states.entrySet().iterator();
+
+		return new ImmutableIterator<Tuple<TKey, TState>>() {
+			@Override
+			public boolean hasNext() {
+				return entries.hasNext();
+			}
+
+			@Override
+			public Tuple<TKey, TState> next() {
+				Map.Entry<Key<TKey>, TState> entry = entries.next();
+
+				return Tuple.create(entry.getKey().getValue(), entry.getValue());
+			}
+		};
+	}
+
+	private static final class TupleSerializer<TKey, TState> implements Serializer<Tuple<TKey, TState>> {
+		private final Serializer<TKey> keySerializer;
+		private final Serializer<TState> stateSerializer;
+
+		TupleSerializer(Serializer<TKey> keySerializer, Serializer<TState> stateSerializer) {
+			this.keySerializer = keySerializer;
+			this.stateSerializer = stateSerializer;
+		}
+
+		@Override
+		public void write(Tuple<TKey, TState> value, DataOutput output) throws IOException {
+			this.keySerializer.write(value.getFirst(), output);
+			this.stateSerializer.write(value.getSecond(), output);
+		}
+
+		@Override
+		public Tuple<TKey, TState> read(DataInput input) throws IOException {
+			TKey key = this.keySerializer.read(input);
+
+			return Tuple.create(key, this.stateSerializer.read(input));
+		}
+	}
+}
@@ -0,0 +1,148 @@
+package ninja.sequence.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import ninja.sequence.GroupedSequence;
+import ninja.sequence.delegate.HashingEqualityComparator;
+import ninja.sequence.delegate.Func;
+import ninja.sequence.internal.util.Key;
+import ninja.sequence.io.SequenceIOException;
+import ninja.sequence.io.Serializer;
+
+/**
+ * Groups elements by their keys with at most {@code budget} elements held in memory. As long
+ * as the source fits into the budget, it is grouped in memory in order of first appearance.
+ * Otherwise every element is written to a hash partition of its key, and the partitions are
+ * grouped one after another while iterating; all elements of a key end up in the same
+ * partition, so every group is still complete and keeps the encounter order of its elements.
+ *
+ * Spilled elements are written as they are, the key and element selectors run again when a
+ * partition is read back.
+ *
+ * @param <TSource> the type of the elements
+ * @param <TKey> the type of the keys
+ * @param <TResult> the type of the grouped elements
+ */
+public class SpillingGroupByIterable<TSource, TKey, TResult> implements Iterable<GroupedSequence<TKey, TResult>> {
+	private final Iterable<? extends TSource> source;
+	private final Func<? super TSource, ? extends TKey> keySelector;
+	private final Func<? super TSource, ? extends TResult> elementSelector;
+	private final HashingEqualityComparator<? super TKey> comparator;
+	private final Serializer<TSource> serializer;
+	private final int budget;
+	private final File directory;
+
+	/**
+	 * @param directory the directory of the partition files, {@code null} for the default temporary directory
+	 */
+	public SpillingGroupByIterable(Iterable<? extends TSource> source, Func<? super TSource, ? extends TKey> keySelector,
+		Func<? super TSource, ? extends TResult> elementSelector, HashingEqualityComparator<? super TKey> comparator,
+		Serializer<TSource> serializer, int budget, File directory) {
+
+		this.source = source;
+		this.keySelector = keySelector;
+		this.elementSelector = elementSelector;
+		this.comparator = comparator;
+		this.serializer = serializer;
+		this.budget = budget;
+		this.directory = directory;
+	}
+
+	@Override
+	public Iterator<GroupedSequence<TKey, TResult>> iterator() {
+		List<TSource> buffer = new ArrayList<TSource>(Math.min(this.budget, 1 << 10));
+		HashPartitions<TSource> partitions = null;
+		boolean partitioned = false;
+
+		try {
+			for (TSource element : this.source) {
+				if (partitions != null) {
+					partitions.add(hash(element), element);
+				} else if (buffer.size() < this.budget) {
+					buffer.add(element);
+				} else {
+					partitions = new HashPartitions<TSource>(this.serializer, this.directory, 0);
+
+					for (TSource buffered : buffer) {
+						partitions.add(hash(buffered), buffered);
+					}
+
+					partitions.add(hash(element), element);
+					buffer = null;
+				}
+			}
+
+			if (partitions == null) {
+				return group(buffer);
+			}
+
+			Iterator<GroupedSequence<TKey, TResult>> iterator = new PartitionIterator<TSource, GroupedSequence<TKey, TResult>>(
+				partitions, this.serializer, this.directory, this.budget) {
+
+				@Override
+				protected int hash(TSource record) {
+					return SpillingGroupByIterable.this.hash(record);
+				}
+
+				@Override
+				protected Iterator<GroupedSequence<TKey, TResult>> results(List<TSource> records) {
+					return group(records);
+				}
+			};
+			partitioned = true;
+
+			return iterator;
+		} catch (IOException e) {
+			throw new SequenceIOException("failed to spill a partition.", e);
+		} finally {
+			// the source, the key selector or the serializer may fail as well
+			if (!partitioned && partitions != null) {
+				partitions.delete();
+			}
+		}
+	}
+
+	private int hash(TSource element) {
+		return Key.hash(this.keySelector.invoke(element), this.comparator);
+	}
+
+	private Iterator<GroupedSequence<TKey, TResult>> group(List<TSource> elements) {
+		// LinkedHashMap allows null keys and keeps the groups in the order their keys first appear
+		final Map<Key<TKey>, List<TResult>> map = new LinkedHashMap<Key<TKey>, List<TResult>>();
+
+		for (TSource element : elements) {
+			Key<TKey> key = new Key<TKey>(this.keySelector.invoke(element), this.comparator);
+
+			List<TResult> values = map.get(key);
+
+			if (values == null) {
+				values = new ArrayList<TResult>();
+				map.put(key, values);
+			}
+
+			values.add(this.elementSelector.invoke(element));
+		}
+
+		final Iterator<Map.Entry<Key<TKey>, List<TResult>>> entries = map.entrySet().iterator();
+
+		return new ImmutableIterator<GroupedSequence<TKey, TResult>>() {
+			@Override
+			public boolean hasNext() {
+				return entries.hasNext();
+			}
+
+			@Override
+			public GroupedSequence<TKey, TResult> next() {
+				Map.Entry<Key<TKey>, List<TResult>> entry = entries.next();
+
+				return GroupedSequence.create(entry.getKey().getValue(), entry.getValue());
+			}
+		};
+	}
+}
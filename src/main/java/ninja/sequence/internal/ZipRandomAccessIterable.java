@@ -0,0 +1,38 @@
+package ninja.sequence.internal;
+
+import java.util.Iterator;
+
+import ninja.sequence.contract.Check;
+import ninja.sequence.datastructure.Tuple;
+
+/**
+ * The pairs of the elements of two random access sources at the same index, as many as the
+ * shorter source has.
+ *
+ * @param <TSource> the type of the elements of the first source
+ * @param <TOther> the type of the elements of the second source
+ */
+public class ZipRandomAccessIterable<TSource, TOther> implements RandomAccessIterable<Tuple<TSource, TOther>> {
+	private final RandomAccessIterable<? extends TSource> source;
+	private final RandomAccessIterable<? extends TOther> other;
+
+	public ZipRandomAccessIterable(RandomAccessIterable<? extends TSource> source, RandomAccessIterable<? extends TOther> other) {
+		this.source = Check.argumentNotNull(source, "source must not be null.");
+		this.other = Check.argumentNotNull(other, "other must not be null.");
+	}
+
+	@Override
+	public long size() {
+		return Math.min(this.source.size(), this.other.size());
+	}
+
+	@Override
+	public Tuple<TSource, TOther> get(long index) {
+		return new Tuple<TSource, TOther>(this.source.get(index), this.other.get(index));
+	}
+
+	@Override
+	public Iterator<Tuple<TSource, TOther>> iterator() {
+		return new ZipIterator<TSource, TOther>(this.source.iterator(), this.other.iterator());
+	}
+}
@@ -1,10 +1,15 @@
 package ninja.sequence.internal.util;
 
-import ninja.sequence.delegate.EqualityComparator;
+import ninja.sequence.delegate.HashingEqualityComparator;
 
-public class DefaultEqualityComparator<T> implements EqualityComparator<T> {
+public class DefaultEqualityComparator<T> implements HashingEqualityComparator<T> {
 	@Override
 	public boolean equals(T first, T second) {
 		return first == second || first != null && first.equals(second);
 	}
+
+	@Override
+	public int hash(T value) {
+		return value != null ? value.hashCode() : 0;
+	}
 }
@@ -0,0 +1,21 @@
+package ninja.sequence.internal.util;
+
+import java.util.concurrent.ForkJoinPool;
+
+public abstract class ForkJoin {
+	private ForkJoin() {}
+
+	/**
+	 * Returns the pool shared by all parallel operations. It is created on first use
+	 * and its worker threads are daemons, so it never keeps the JVM alive.
+	 *
+	 * @return the shared pool
+	 */
+	public static ForkJoinPool pool() {
+		return Holder.POOL;
+	}
+
+	private static final class Holder {
+		static final ForkJoinPool POOL = new ForkJoinPool();
+	}
+}
@@ -0,0 +1,8 @@
+package ninja.sequence.internal.util;
+
+/**
+ * Compares two ints without boxing them, e.g. two positions of a permutation.
+ */
+public interface IntComparator {
+	int compare(int a, int b);
+}
@@ -0,0 +1,161 @@
+package ninja.sequence.internal.util;
+
+/**
+ * A set of primitive ints with open addressing: linear probing in a power-of-two table of
+ * ints, without an object per entry. A table slot of 0 is free, so the value 0 itself is
+ * tracked by a flag. The table is kept at most three quarters full, which needs at most
+ * 11 bytes per value, against more than 48 bytes for a boxed value in a
+ * {@link java.util.HashSet}.
+ */
+public class IntHashSet {
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	private int[] table;
+	private int mask;
+	private int threshold;
+
+	private int size;
+	private boolean containsZero;
+
+	public IntHashSet() {
+		this(16);
+	}
+
+	/**
+	 * @param expectedSize the number of values the set holds without growing
+	 */
+	public IntHashSet(int expectedSize) {
+		int capacity = 16;
+		while (capacity < MAX_CAPACITY && capacity / 4 * 3 < expectedSize) {
+			capacity <<= 1;
+		}
+
+		allocate(capacity);
+	}
+
+	public final int size() {
+		return this.size;
+	}
+
+	/**
+	 * @return {@code true} if the value was not in the set before
+	 */
+	public final boolean add(int value) {
+		if (value == 0) {
+			if (this.containsZero) {
+				return false;
+			}
+
+			this.containsZero = true;
+			this.size++;
+			return true;
+		}
+
+		int slot = slot(value);
+
+		while (this.table[slot] != 0) {
+			if (this.table[slot] == value) {
+				return false;
+			}
+
+			slot = slot + 1 & this.mask;
+		}
+
+		this.table[slot] = value;
+
+		if (++this.size > this.threshold) {
+			grow();
+		}
+
+		return true;
+	}
+
+	public final boolean contains(int value) {
+		if (value == 0) {
+			return this.containsZero;
+		}
+
+		for (int slot = slot(value); this.table[slot] != 0; slot = slot + 1 & this.mask) {
+			if (this.table[slot] == value) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * @return {@code true} if the value was in the set
+	 */
+	public final boolean remove(int value) {
+		if (value == 0) {
+			if (!this.containsZero) {
+				return false;
+			}
+
+			this.containsZero = false;
+			this.size--;
+			return true;
+		}
+
+		int slot = slot(value);
+
+		while (this.table[slot] != value) {
+			if (this.table[slot] == 0) {
+				return false;
+			}
+
+			slot = slot + 1 & this.mask;
+		}
+
+		// shift the following values of the probe sequence back, so no tombstones are needed
+		int free = slot;
+		for (int next = free + 1 & this.mask; this.table[next] != 0; next = next + 1 & this.mask) {
+			int home = slot(this.table[next]);
+
+			// the value may fill the free slot unless its home lies cyclically in (free, next]
+			if (free <= next ? free >= home || home > next : free >= home && home > next) {
+				this.table[free] = this.table[next];
+				free = next;
+			}
+		}
+
+		this.table[free] = 0;
+		this.size--;
+
+		return true;
+	}
+
+	private int slot(int value) {
+		int hash = value * 0x9E3779B9;
+		return (hash ^ hash >>> 16) & this.mask;
+	}
+
+	private void allocate(int capacity) {
+		this.table = new int[capacity];
+		this.mask = capacity - 1;
+		this.threshold = capacity / 4 * 3;
+	}
+
+	private void grow() {
+		int[] old = this.table;
+
+		if (old.length == MAX_CAPACITY) {
+			throw new IllegalStateException("IntHashSet cannot hold more values.");
+		}
+
+		allocate(old.length << 1);
+
+		for (int value : old) {
+			if (value != 0) {
+				int slot = slot(value);
+
+				while (this.table[slot] != 0) {
+					slot = slot + 1 & this.mask;
+				}
+
+				this.table[slot] = value;
+			}
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package ninja.sequence.internal.util;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+import ninja.sequence.internal.PipelineIterable;
+import ninja.sequence.internal.PushIterable;
+import ninja.sequence.internal.RandomAccessIterable;
+import ninja.sequence.internal.Sink;
+
+public abstract class Iterables {
+	private Iterables() {}
+
+	/**
+	 * Feeds every element of {@code source} into the sink, using the fastest way
+	 * the source supports: pushing for a {@link PushIterable}, indexed access for a
+	 * {@link RandomAccess} list and the iterator for everything else.
+	 *
+	 * @param source the elements to feed into the sink
+	 * @param sink the sink receiving the elements
+	 * @param <T> the type of the elements
+	 * @return {@code false} if the sink stopped the iteration, {@code true} otherwise
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> boolean forEach(Iterable<? extends T> source, Sink<? super T> sink) {
+		if (source instanceof PushIterable) {
+			return ((PushIterable<T>)source).push(sink);
+		}
+
+		if (source instanceof List && source instanceof RandomAccess) {
+			List<? extends T> list = (List<? extends T>)source;
+
+			for (int i = 0, size = list.size(); i < size; i++) {
+				if (!sink.accept(list.get(i))) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		Iterator<? extends T> iterator = source.iterator();
+
+		while (iterator.hasNext()) {
+			if (!sink.accept(iterator.next())) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the number of elements of {@code source} if it is known without iterating it.
+	 *
+	 * @param source the iterable to get the size of
+	 * @return the size of a {@link Collection} or of an iterable with indexed access, see
+	 *         {@link #randomAccess(Iterable)}, or -1 otherwise
+	 */
+	public static long size(Iterable<?> source) {
+		if (source instanceof Collection) {
+			return ((Collection<?>)source).size();
+		}
+
+		RandomAccessIterable<?> indexed = randomAccess(source);
+
+		return indexed != null ? indexed.size() : -1;
+	}
+
+	/**
+	 * Returns a view of {@code source} with indexed access, if the source supports it.
+	 *
+	 * @param source the iterable to access by index
+	 * @param <T> the type of the elements
+	 * @return the source itself if it is a {@link RandomAccessIterable}, a view if it
+	 *         is a {@link RandomAccess} list or a {@link PipelineIterable} which keeps the
+	 *         indexed access of its source, or {@code null} otherwise
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> RandomAccessIterable<T> randomAccess(Iterable<T> source) {
+		if (source instanceof RandomAccessIterable) {
+			return (RandomAccessIterable<T>)source;
+		}
+
+		if (source instanceof PipelineIterable) {
+			return ((PipelineIterable<?, T>)source).randomAccess();
+		}
+
+		if (source instanceof List && source instanceof RandomAccess) {
+			final List<T> list = (List<T>)source;
+
+			return new RandomAccessIterable<T>() {
+				@Override
+				public long size() {
+					return list.size();
+				}
+
+				@Override
+				public T get(long index) {
+					return list.get((int)index);
+				}
+
+				@Override
+				public Iterator<T> iterator() {
+					return list.iterator();
+				}
+			};
+		}
+
+		return null;
+	}
+}
@@ -1,14 +1,17 @@
 package ninja.sequence.internal.util;
 
 import ninja.sequence.delegate.EqualityComparator;
+import ninja.sequence.delegate.HashingEqualityComparator;
 
 public class Key<T> {
 	private final T value;
 	private final EqualityComparator<? super T> comparator;
+	private final int hash;
 
 	public Key(T value, EqualityComparator<? super T> comparator) {
 		this.value = value;
 		this.comparator = comparator;
+		this.hash = hash(value, comparator);
 	}
 
 	public T getValue() {
@@ -27,6 +30,10 @@ public class Key<T> {
 
 		Key<? extends T> key = (Key<? extends T>)other;
 
+		if (this.hash != key.hash) {
+			return false;
+		}
+
 		if (this.comparator != null) {
 			return this.comparator.equals(this.value, key.value);
 		}
@@ -36,6 +43,31 @@ public class Key<T> {
 
 	@Override
 	public int hashCode() {
+		return this.hash;
+	}
+
+	/**
+	 * Computes the hash of a value the same way a {@code Key} does.
+	 *
+	 * Without a comparator the value's own {@code hashCode} is used. A comparator which
+	 * is not a {@link HashingEqualityComparator} cannot tell which values it considers
+	 * equal, so every value has to land in the same bucket to stay correct.
+	 *
+	 * @param value the value to hash, may be {@code null}
+	 * @param comparator the comparator used to compare the value, may be {@code null}
+	 * @param <T> the type of the value
+	 * @return the hash of the value
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> int hash(T value, EqualityComparator<? super T> comparator) {
+		if (comparator == null) {
+			return value != null ? value.hashCode() : 0;
+		}
+
+		if (comparator instanceof HashingEqualityComparator) {
+			return ((HashingEqualityComparator<? super T>)comparator).hash(value);
+		}
+
 		return 0;
 	}
 }
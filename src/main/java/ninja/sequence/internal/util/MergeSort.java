@@ -0,0 +1,147 @@
+package ninja.sequence.internal.util;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A stable merge sort of an {@code int} array, typically a permutation of indexes
+ * compared by the elements they point to.
+ *
+ * The parallel variant sorts both halves of large ranges as separate fork/join tasks
+ * on the {@link ForkJoin#pool() shared pool}. Merging always prefers the left half on
+ * ties, so both variants produce the same, stable order.
+ */
+public abstract class MergeSort {
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	// below this many elements forking a task costs more than sorting on the current thread
+	private static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+	private MergeSort() {}
+
+	/**
+	 * @param array the array to sort in place
+	 * @param comparator the comparator of the array values
+	 * @param parallel whether the sort may run on the fork/join pool
+	 */
+	public static void sort(int[] array, IntComparator comparator, boolean parallel) {
+		if (isStrictlyDescending(array, comparator)) {
+			reverse(array);
+			return;
+		}
+
+		int[] buffer = array.clone();
+
+		if (parallel && array.length > SEQUENTIAL_THRESHOLD) {
+			ForkJoin.pool().invoke(new SortTask(buffer, array, 0, array.length, comparator));
+		} else {
+			sort(buffer, array, 0, array.length, comparator);
+		}
+	}
+
+	/**
+	 * Reverse sorted input, e.g. a descending sort of sorted keys, would otherwise
+	 * be merged at every level. Only strictly descending input can be reversed
+	 * without breaking stability.
+	 */
+	private static boolean isStrictlyDescending(int[] array, IntComparator comparator) {
+		for (int i = 1; i < array.length; i++) {
+			if (comparator.compare(array[i - 1], array[i]) <= 0) {
+				return false;
+			}
+		}
+
+		return array.length > 1;
+	}
+
+	private static void reverse(int[] array) {
+		for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+			int swap = array[i];
+			array[i] = array[j];
+			array[j] = swap;
+		}
+	}
+
+	/**
+	 * Sorts {@code dest} from {@code low} inclusive to {@code high} exclusive, using
+	 * {@code src} as scratch space. Both ranges must hold the same values on entry.
+	 */
+	private static void sort(int[] src, int[] dest, int low, int high, IntComparator comparator) {
+		if (high - low < INSERTION_SORT_THRESHOLD) {
+			insertionSort(dest, low, high, comparator);
+			return;
+		}
+
+		int mid = (low + high) >>> 1;
+		sort(dest, src, low, mid, comparator);
+		sort(dest, src, mid, high, comparator);
+
+		merge(src, dest, low, mid, high, comparator);
+	}
+
+	private static void insertionSort(int[] array, int low, int high, IntComparator comparator) {
+		for (int i = low + 1; i < high; i++) {
+			int value = array[i];
+
+			int j = i;
+			while (j > low && comparator.compare(array[j - 1], value) > 0) {
+				array[j] = array[j - 1];
+				j--;
+			}
+
+			array[j] = value;
+		}
+	}
+
+	/**
+	 * Merges the sorted ranges {@code [low, mid)} and {@code [mid, high)} of {@code src} into {@code dest}.
+	 */
+	private static void merge(int[] src, int[] dest, int low, int mid, int high, IntComparator comparator) {
+		// the halves are already in order, e.g. for presorted input
+		if (comparator.compare(src[mid - 1], src[mid]) <= 0) {
+			System.arraycopy(src, low, dest, low, high - low);
+			return;
+		}
+
+		for (int i = low, p = low, q = mid; i < high; i++) {
+			if (q >= high || p < mid && comparator.compare(src[p], src[q]) <= 0) {
+				dest[i] = src[p++];
+			} else {
+				dest[i] = src[q++];
+			}
+		}
+	}
+
+	private static final class SortTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int[] src;
+		private final int[] dest;
+		private final int low;
+		private final int high;
+		private final IntComparator comparator;
+
+		SortTask(int[] src, int[] dest, int low, int high, IntComparator comparator) {
+			this.src = src;
+			this.dest = dest;
+			this.low = low;
+			this.high = high;
+			this.comparator = comparator;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.high - this.low <= SEQUENTIAL_THRESHOLD) {
+				sort(this.src, this.dest, this.low, this.high, this.comparator);
+				return;
+			}
+
+			int mid = (this.low + this.high) >>> 1;
+			invokeAll(
+				new SortTask(this.dest, this.src, this.low, mid, this.comparator),
+				new SortTask(this.dest, this.src, mid, this.high, this.comparator)
+			);
+
+			merge(this.src, this.dest, this.low, mid, this.high, this.comparator);
+		}
+	}
+}
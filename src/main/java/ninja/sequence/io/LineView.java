@@ -0,0 +1,120 @@
+package ninja.sequence.io;
+
+/**
+ * A line of text viewed in place, in the buffer the line was decoded into, see
+ * {@link ninja.sequence.Sequence#lineViews(java.io.File, java.nio.charset.Charset)}.
+ *
+ * A view is only valid until the next line is read, i.e. until {@code next()} of the iterator
+ * it came from is called again; {@code hasNext()} keeps it valid. The same view may show the
+ * next line afterwards. {@link #materialize()} copies the line into a {@code String} which
+ * stays valid. With assertions enabled ({@code -ea}), every line gets a view of its own, and
+ * using a view after its line has been left throws an {@link IllegalStateException}.
+ */
+public abstract class LineView implements CharSequence {
+	protected LineView() {}
+
+	/**
+	 * @return the buffer holding the chars of the line
+	 * @throws IllegalStateException if the line has been left and the check is enabled
+	 */
+	protected abstract char[] array();
+
+	/**
+	 * @return the index of the first char of the line in the {@link #array()}
+	 */
+	protected abstract int offset();
+
+	@Override
+	public final char charAt(int index) {
+		if (index < 0 || index >= length()) {
+			throw new IndexOutOfBoundsException("index: " + index + ", length: " + length());
+		}
+
+		return array()[offset() + index];
+	}
+
+	/**
+	 * Returns a copy of a part of the line, it stays valid.
+	 */
+	@Override
+	public final CharSequence subSequence(int start, int end) {
+		if (start < 0 || end > length() || start > end) {
+			throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + length());
+		}
+
+		return new String(array(), offset() + start, end - start);
+	}
+
+	/**
+	 * Returns whether the line starts with the {@code prefix}, without copying it.
+	 *
+	 * @param prefix the chars to compare with the beginning of the line
+	 * @return {@code true} if the line starts with the prefix, {@code false} otherwise
+	 */
+	public final boolean startsWith(CharSequence prefix) {
+		int length = prefix.length();
+
+		if (length > length()) {
+			return false;
+		}
+
+		char[] array = array();
+		int offset = offset();
+
+		for (int i = 0; i < length; i++) {
+			if (array[offset + i] != prefix.charAt(i)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of a char at or after {@code fromIndex},
+	 * without copying the line.
+	 *
+	 * @param c the char to find
+	 * @param fromIndex the index to start searching from
+	 * @return the index of the char in the line or -1 if it does not occur
+	 */
+	public final int indexOf(char c, int fromIndex) {
+		char[] array = array();
+		int offset = offset();
+
+		for (int i = Math.max(fromIndex, 0), length = length(); i < length; i++) {
+			if (array[offset + i] == c) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Returns whether the line consists of the same chars as {@code other}, without copying it.
+	 *
+	 * @param other the chars to compare the line with
+	 * @return {@code true} if the chars are equal, {@code false} otherwise
+	 */
+	public final boolean contentEquals(CharSequence other) {
+		return other.length() == length() && startsWith(other);
+	}
+
+	/**
+	 * Copies the line into a {@code String} which stays valid after the view has moved on.
+	 *
+	 * @return the line as a string
+	 */
+	public final String materialize() {
+		return new String(array(), offset(), length());
+	}
+
+	/**
+	 * Returns a copy of the line, the same as {@link #materialize()}.
+	 */
+	@Override
+	public final String toString() {
+		return materialize();
+	}
+}
@@ -0,0 +1,19 @@
+package ninja.sequence.io;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a sequence fails to read or write a file, e.g. while spilling to disk.
+ */
+public class SequenceIOException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public SequenceIOException(String message, IOException cause) {
+		super(message, cause);
+	}
+
+	@Override
+	public synchronized IOException getCause() {
+		return (IOException)super.getCause();
+	}
+}
@@ -0,0 +1,18 @@
+package ninja.sequence.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Writes elements to and reads them back from a binary stream, e.g. to spill
+ * them to a temporary file. {@link #read(DataInput)} has to read exactly what
+ * {@link #write(Object, DataOutput)} wrote.
+ *
+ * @param <T> the type of the elements
+ */
+public interface Serializer<T> {
+	void write(T value, DataOutput output) throws IOException;
+
+	T read(DataInput input) throws IOException;
+}
@@ -0,0 +1,11 @@
+package ninja.sequence.primitive;
+
+/**
+ * A source of primitive doubles which can be iterated without boxing its elements.
+ */
+public interface DoubleIterable {
+	/**
+	 * @return a new iterator over the elements
+	 */
+	DoubleIterator doubleIterator();
+}
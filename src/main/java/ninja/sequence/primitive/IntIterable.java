@@ -0,0 +1,11 @@
+package ninja.sequence.primitive;
+
+/**
+ * A source of primitive ints which can be iterated without boxing its elements.
+ */
+public interface IntIterable {
+	/**
+	 * @return a new iterator over the elements
+	 */
+	IntIterator intIterator();
+}
@@ -0,0 +1,14 @@
+package ninja.sequence.primitive;
+
+/**
+ * An iterator over primitive ints which does not box its elements.
+ */
+public interface IntIterator {
+	boolean hasNext();
+
+	/**
+	 * @return the next element
+	 * @throws java.util.NoSuchElementException if there are no more elements
+	 */
+	int nextInt();
+}
@@ -0,0 +1,11 @@
+package ninja.sequence.primitive;
+
+/**
+ * A source of primitive longs which can be iterated without boxing its elements.
+ */
+public interface LongIterable {
+	/**
+	 * @return a new iterator over the elements
+	 */
+	LongIterator longIterator();
+}
@@ -0,0 +1,104 @@
+package ninja.sequence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import ninja.sequence.delegate.IntAccumulator;
+import ninja.sequence.delegate.IntFunc;
+import ninja.sequence.delegate.IntPredicate;
+import ninja.sequence.delegate.ToDoubleFunc;
+import ninja.sequence.delegate.ToIntFunc;
+import ninja.sequence.delegate.ToLongFunc;
+
+public class IntSequenceTest {
+	@Test
+	public void test_mapAndSelect() {
+		// When
+		IntSequence actual = IntSequence.of(1, 2, 3, 4, 5).map(
+			new IntFunc() {
+				@Override
+				public int invoke(int arg) {
+					return arg * 10;
+				}
+			}
+		).select(
+			new IntPredicate() {
+				@Override
+				public boolean invoke(int arg) {
+					return arg > 20;
+				}
+			}
+		);
+
+		// Then
+		assertThat(actual.asArray()).containsExactly(30, 40, 50);
+		assertThat(actual).containsExactly(30, 40, 50);
+	}
+
+	@Test
+	public void test_aggregate() {
+		IntAccumulator multiply = new IntAccumulator() {
+			@Override
+			public int accumulate(int a, int b) {
+				return a * b;
+			}
+		};
+
+		assertThat(IntSequence.of(2, 3, 4).aggregate(multiply).get()).isEqualTo(24);
+		assertThat(IntSequence.of(2, 3, 4).aggregate(10, multiply)).isEqualTo(240);
+		assertThat(IntSequence.of().aggregate(multiply).isPresent()).isFalse();
+	}
+
+	@Test
+	public void test_sumMinMaxCount() {
+		IntSequence sequence = IntSequence.of(Integer.MAX_VALUE, 3, -7, Integer.MAX_VALUE);
+
+		assertThat(sequence.sum()).isEqualTo(2L * Integer.MAX_VALUE - 4);
+		assertThat(sequence.min().get()).isEqualTo(-7);
+		assertThat(sequence.max().get()).isEqualTo(Integer.MAX_VALUE);
+		assertThat(sequence.count()).isEqualTo(4);
+		assertThat(IntSequence.of().max().isPresent()).isFalse();
+	}
+
+	@Test
+	public void test_sortAndDistinct() {
+		IntSequence sequence = IntSequence.of(3, 1, 3, 2, 1);
+
+		assertThat(sequence.sort().asArray()).containsExactly(1, 1, 2, 3, 3);
+		assertThat(sequence.sortDescending().asArray()).containsExactly(3, 3, 2, 1, 1);
+		assertThat(sequence.distinct().asArray()).containsExactly(3, 1, 2);
+	}
+
+	@Test
+	public void test_bridges() {
+		Sequence<String> words = Sequence.of("ninja", "hanzo", "leeloo");
+
+		assertThat(words.mapToInt(
+			new ToIntFunc<String>() {
+				@Override
+				public int invoke(String arg) {
+					return arg.length();
+				}
+			}
+		).boxed()).containsExactly(5, 5, 6);
+
+		assertThat(words.mapToLong(
+			new ToLongFunc<String>() {
+				@Override
+				public long invoke(String arg) {
+					return arg.length();
+				}
+			}
+		).sum()).isEqualTo(16L);
+
+		assertThat(words.mapToDouble(
+			new ToDoubleFunc<String>() {
+				@Override
+				public double invoke(String arg) {
+					return arg.length() / 2.0;
+				}
+			}
+		).max().get()).isEqualTo(3.0);
+	}
+}
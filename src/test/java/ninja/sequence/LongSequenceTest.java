@@ -0,0 +1,86 @@
+package ninja.sequence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import ninja.sequence.delegate.Predicate;
+
+public class LongSequenceTest {
+	@Test
+	public void test_range_withPositiveAndNegativeSteps() {
+		assertThat(LongSequence.range(0, 5).asArray()).containsExactly(0, 1, 2, 3, 4);
+		assertThat(LongSequence.range(0, 9, 3).asArray()).containsExactly(0, 3, 6);
+		assertThat(LongSequence.range(0, 10, 3).asArray()).containsExactly(0, 3, 6, 9);
+		assertThat(LongSequence.range(10, 0, -4).asArray()).containsExactly(10, 6, 2);
+		assertThat(LongSequence.rangeClosed(0, 9, 3).asArray()).containsExactly(0, 3, 6, 9);
+		assertThat(LongSequence.rangeClosed(10, 2, -4).asArray()).containsExactly(10, 6, 2);
+		assertThat(LongSequence.rangeClosed(7, 7).asArray()).containsExactly(7);
+		assertThat(LongSequence.range(5, 5).asArray()).isEmpty();
+		assertThat(LongSequence.range(0, 5, -1).asArray()).isEmpty();
+		assertThat(LongSequence.rangeClosed(Long.MAX_VALUE - 1, Long.MAX_VALUE).asArray()).containsExactly(Long.MAX_VALUE - 1, Long.MAX_VALUE);
+	}
+
+	@Test
+	public void test_range_answersWithoutIterating() {
+		// Given
+		LongSequence range = LongSequence.range(1000000000000L, -1000000000000L, -7);
+		LongSequence iterated = LongSequence.of(LongSequence.range(-20, 31, 3).asArray());
+		LongSequence small = LongSequence.range(-20, 31, 3);
+
+		// Then
+		assertThat(range.count()).isEqualTo(285714285715L);
+		assertThat(range.last().get()).isEqualTo(1000000000000L - 285714285714L * 7);
+		assertThat(range.elementAt(2).get()).isEqualTo(1000000000000L - 14);
+		assertThat(range.contains(1000000000000L - 70)).isTrue();
+		assertThat(range.contains(1000000000000L - 71)).isFalse();
+		assertThat(range.contains(1000000000007L)).isFalse();
+		assertThat(range.reverse().elementAt(0)).isEqualTo(range.last());
+
+		assertThat(small.sum()).isEqualTo(iterated.sum());
+		assertThat(small.count()).isEqualTo(iterated.count());
+		assertThat(small.last()).isEqualTo(iterated.last());
+		assertThat(small.elementAt(5)).isEqualTo(iterated.elementAt(5));
+		assertThat(small.reverse().asArray()).containsExactly(iterated.reverse().asArray());
+		assertThat(small.contains(7)).isEqualTo(iterated.contains(7));
+		assertThat(small.contains(8)).isEqualTo(iterated.contains(8));
+	}
+
+	@Test
+	public void test_sum_overflowsLikeAddingTheElements() {
+		LongSequence range = LongSequence.rangeClosed(Long.MAX_VALUE - 10, Long.MAX_VALUE);
+
+		assertThat(range.sum()).isEqualTo(LongSequence.of(range.asArray()).sum());
+	}
+
+	@Test
+	public void test_boxed_rangeCanBeSplit() {
+		// Given
+		Sequence<Long> boxed = LongSequence.range(0, 100000, 2).boxed();
+
+		// When
+		long count = boxed.parallel().count(
+			new Predicate<Long>() {
+				@Override
+				public boolean invoke(Long element) {
+					return element % 4 == 0;
+				}
+			}
+		);
+		long last = boxed.last().get();
+
+		// Then
+		assertThat(count).isEqualTo(25000);
+		assertThat(last).isEqualTo(99998);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_range_withZeroStep() {
+		LongSequence.range(0, 10, 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_rangeClosed_withMoreThanMaxLongElements() {
+		LongSequence.rangeClosed(Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+}
@@ -0,0 +1,156 @@
+package ninja.sequence.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LineScannerTest {
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	private static final int WINDOW_SIZE = 7;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void test_next_decodesACharSplitBetweenTwoWindows() throws IOException {
+		// Given
+		// the three bytes of the euro sign are the bytes 5 to 7, the first window ends after byte 6
+		File file = write("abcde€f\nxyéz\n€€€");
+
+		// When
+		List<String> lines = lines(file, UTF_8);
+
+		// Then
+		assertThat(lines).containsExactly("abcde€f", "xyéz", "€€€");
+	}
+
+	@Test
+	public void test_next_joinsACarriageReturnAtTheEndOfAWindowWithTheLineFeedOfTheNext() throws IOException {
+		// Given
+		// the \r is the last byte of the first window, the \n the first byte of the second
+		File file = write("abcdef\r\nxyz\r\n");
+
+		// When
+		List<String> lines = lines(file, UTF_8);
+
+		// Then
+		assertThat(lines).containsExactly("abcdef", "xyz");
+	}
+
+	@Test
+	public void test_next_endsALineAtACarriageReturnAtTheEndOfAWindow() throws IOException {
+		// Given
+		File file = write("abcdef\rxyz");
+
+		// When
+		List<String> lines = lines(file, UTF_8);
+
+		// Then
+		assertThat(lines).containsExactly("abcdef", "xyz");
+	}
+
+	@Test
+	public void test_next_keepsALineLongerThanAWindow() throws IOException {
+		// Given
+		File file = write("abcdefghijklmnopqrstuvwxyz\n\nz");
+
+		// When
+		List<String> lines = lines(file, UTF_8);
+
+		// Then
+		assertThat(lines).containsExactly("abcdefghijklmnopqrstuvwxyz", "", "z");
+	}
+
+	@Test
+	public void test_next_keepsALineWhichGrowsTheBufferAfterAnotherLine() throws IOException {
+		// Given
+		// the long lines start behind a terminator in the decoded chars and do not fit into the initial buffer
+		String first = repeat('x', 8191);
+		String second = repeat('y', 20000);
+		File file = write("\n" + first + "\nend\n" + second);
+
+		// When
+		List<String> lines = lines(file, UTF_8, MappedFile.WINDOW_SIZE);
+
+		// Then
+		assertThat(lines).containsExactly("", first, "end", second);
+	}
+
+	@Test
+	public void test_hasNext_keepsTheCurrentLineWhenDecodingTheNextWindow() throws IOException {
+		// Given
+		// the first window ends with the terminator of the first line
+		File file = write("abcdef\nxyz");
+		LineScanner scanner = new LineScanner(file, UTF_8, WINDOW_SIZE);
+
+		// When
+		scanner.next();
+		boolean hasNext = scanner.hasNext();
+
+		// Then
+		assertThat(hasNext).isTrue();
+		assertThat(new String(scanner.chars(), scanner.start(), scanner.end() - scanner.start())).isEqualTo("abcdef");
+		assertThat(scanner.next()).isTrue();
+		assertThat(new String(scanner.chars(), scanner.start(), scanner.end() - scanner.start())).isEqualTo("xyz");
+		assertThat(scanner.hasNext()).isFalse();
+		assertThat(scanner.next()).isFalse();
+	}
+
+	@Test
+	public void test_next_ofEmptyFile() throws IOException {
+		// Given
+		File file = write("");
+
+		// When
+		List<String> lines = lines(file, UTF_8);
+
+		// Then
+		assertThat(lines).isEmpty();
+	}
+
+	private File write(String text) throws IOException {
+		File file = this.temporaryFolder.newFile();
+		OutputStream output = new FileOutputStream(file);
+
+		try {
+			output.write(text.getBytes(UTF_8));
+		} finally {
+			output.close();
+		}
+
+		return file;
+	}
+
+	private static List<String> lines(File file, Charset charset) throws IOException {
+		return lines(file, charset, WINDOW_SIZE);
+	}
+
+	private static List<String> lines(File file, Charset charset, int windowSize) throws IOException {
+		LineScanner scanner = new LineScanner(file, charset, windowSize);
+		List<String> lines = new ArrayList<String>();
+
+		while (scanner.next()) {
+			lines.add(new String(scanner.chars(), scanner.start(), scanner.end() - scanner.start()));
+		}
+
+		return lines;
+	}
+
+	private static String repeat(char c, int count) {
+		char[] chars = new char[count];
+		Arrays.fill(chars, c);
+
+		return new String(chars);
+	}
+}
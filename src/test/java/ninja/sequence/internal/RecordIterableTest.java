@@ -0,0 +1,75 @@
+package ninja.sequence.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import ninja.sequence.delegate.Func;
+
+public class RecordIterableTest {
+	private static final int WINDOW_SIZE = 7;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void test_iterator_mapsWholeRecordsPerWindow() throws IOException {
+		// Given
+		// a window of 7 bytes holds two records of 3 bytes, the seventh byte starts the next window
+		File file = write(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15 });
+
+		// When
+		Iterable<Integer> records = new RecordIterable<Integer>(file, 3, sumOfBytes(), WINDOW_SIZE);
+
+		// Then
+		assertThat(records).containsExactly(6, 15, 24, 33, 42);
+	}
+
+	@Test
+	public void test_iterator_mapsARecordLargerThanAWindow() throws IOException {
+		// Given
+		File file = write(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20 });
+
+		// When
+		Iterable<Integer> records = new RecordIterable<Integer>(file, 10, sumOfBytes(), WINDOW_SIZE);
+
+		// Then
+		assertThat(records).containsExactly(55, 155);
+	}
+
+	private File write(byte[] bytes) throws IOException {
+		File file = this.temporaryFolder.newFile();
+		OutputStream output = new FileOutputStream(file);
+
+		try {
+			output.write(bytes);
+		} finally {
+			output.close();
+		}
+
+		return file;
+	}
+
+	private static Func<ByteBuffer, Integer> sumOfBytes() {
+		return new Func<ByteBuffer, Integer>() {
+			@Override
+			public Integer invoke(ByteBuffer record) {
+				int sum = 0;
+
+				while (record.hasRemaining()) {
+					sum += record.get();
+				}
+
+				return sum;
+			}
+		};
+	}
+}
@@ -0,0 +1,70 @@
+package ninja.sequence.internal.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class IntHashSetTest {
+	@Test
+	public void test_addAndRemove_behaveLikeAHashSet() {
+		// Given
+		IntHashSet set = new IntHashSet();
+		Set<Integer> expected = new HashSet<Integer>();
+		Random random = new Random(42);
+
+		// When
+		for (int i = 0; i < 200000; i++) {
+			// a small range, so values collide and the probe sequences get long
+			int value = random.nextInt(5000) - 2500;
+
+			if (random.nextBoolean()) {
+				assertThat(set.add(value)).isEqualTo(expected.add(value));
+			} else {
+				assertThat(set.remove(value)).isEqualTo(expected.remove(value));
+			}
+		}
+
+		// Then
+		assertThat(set.size()).isEqualTo(expected.size());
+
+		for (int value = -2500; value < 2500; value++) {
+			assertThat(set.contains(value)).isEqualTo(expected.contains(value));
+		}
+	}
+
+	@Test
+	public void test_zeroIsAnOrdinaryValue() {
+		// Given
+		IntHashSet set = new IntHashSet(0);
+
+		// Then
+		assertThat(set.contains(0)).isFalse();
+		assertThat(set.add(0)).isTrue();
+		assertThat(set.add(0)).isFalse();
+		assertThat(set.size()).isEqualTo(1);
+		assertThat(set.remove(0)).isTrue();
+		assertThat(set.contains(0)).isFalse();
+	}
+
+	@Test
+	public void test_longHashSet_growsPastItsExpectedSize() {
+		// Given
+		LongHashSet set = new LongHashSet(4);
+
+		// When
+		for (long value = 0; value < 100000; value++) {
+			set.add(value << 32);
+		}
+
+		// Then
+		assertThat(set.size()).isEqualTo(100000);
+		assertThat(set.contains(99999L << 32)).isTrue();
+		assertThat(set.contains(99999L)).isFalse();
+		assertThat(set.remove(0L)).isTrue();
+		assertThat(set.add(0L)).isTrue();
+	}
+}
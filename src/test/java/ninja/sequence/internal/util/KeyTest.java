@@ -0,0 +1,63 @@
+package ninja.sequence.internal.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import ninja.sequence.delegate.EqualityComparator;
+import ninja.sequence.delegate.HashingEqualityComparator;
+
+public class KeyTest {
+	private static final HashingEqualityComparator<String> IGNORE_CASE = new HashingEqualityComparator<String>() {
+		@Override
+		public boolean equals(String first, String second) {
+			return first.equalsIgnoreCase(second);
+		}
+
+		@Override
+		public int hash(String value) {
+			return value.toLowerCase().hashCode();
+		}
+	};
+
+	@Test
+	public void test_hashCode_withoutComparator_usesValueHashCode() {
+		assertThat(new Key<String>("ninja", null).hashCode()).isEqualTo("ninja".hashCode());
+	}
+
+	@Test
+	public void test_hashCode_withDefaultComparator_usesValueHashCode() {
+		assertThat(new Key<String>("ninja", new DefaultEqualityComparator<String>()).hashCode())
+			.isEqualTo("ninja".hashCode());
+	}
+
+	@Test
+	public void test_hashCode_ofNullValue() {
+		assertThat(new Key<String>(null, new DefaultEqualityComparator<String>()).hashCode()).isEqualTo(0);
+	}
+
+	@Test
+	public void test_hashCode_withHashingComparator_usesComparatorHash() {
+		Key<String> first = new Key<String>("NINJA", IGNORE_CASE);
+		Key<String> second = new Key<String>("ninja", IGNORE_CASE);
+
+		assertThat(first.hashCode()).isEqualTo(second.hashCode());
+		assertThat(first).isEqualTo(second);
+	}
+
+	@Test
+	public void test_hashCode_withPlainComparator_isConstant() {
+		EqualityComparator<String> comparator = new EqualityComparator<String>() {
+			@Override
+			public boolean equals(String first, String second) {
+				return first.length() == second.length();
+			}
+		};
+
+		Key<String> first = new Key<String>("hanzo", comparator);
+		Key<String> second = new Key<String>("ninja", comparator);
+
+		assertThat(first.hashCode()).isEqualTo(second.hashCode());
+		assertThat(first).isEqualTo(second);
+	}
+}
@@ -3,14 +3,52 @@ package ninja.sequence.query.core;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import ninja.sequence.GroupedSequence;
 import ninja.sequence.Sequence;
+import ninja.sequence.SortedSequence;
+import ninja.sequence.datastructure.Tuple;
+import ninja.sequence.delegate.Accumulator;
+import ninja.sequence.delegate.EqualityComparator;
+import ninja.sequence.delegate.Func;
+import ninja.sequence.delegate.Func2;
+import ninja.sequence.delegate.HashingEqualityComparator;
+import ninja.sequence.delegate.Predicate;
+import ninja.sequence.delegate.ToDoubleFunc;
+import ninja.sequence.delegate.ToLongFunc;
+import ninja.sequence.io.LineView;
+import ninja.sequence.io.Serializer;
+import ninja.sequence.monad.Option;
+import ninja.sequence.util.Funcs;
 
 public class SequenceTest {
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	@Test
 	public void testFromIterable() {
 		Sequence<Integer> actual = Sequence.of(asList(1, 2));
@@ -130,6 +168,1466 @@ public class SequenceTest {
 		assertThat(actual).containsOnly("a", "a", "a", "a", "a");
 	}
 
+	@Test
+	public void test_lines_splitsAtEveryLineTerminator() throws IOException {
+		// Given
+		StringBuilder longLine = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			longLine.append("\u00e4\ud83d\ude00");
+		}
+
+		File file = this.temporaryFolder.newFile();
+		write(file, "first\nsecond\r\nthird\r\rf\u00fcnf\n" + longLine + "\nlast\n");
+		File empty = this.temporaryFolder.newFile();
+		File latin1 = this.temporaryFolder.newFile();
+		OutputStream output = new FileOutputStream(latin1);
+		output.write("gr\u00fc\u00df\r\nend".getBytes("ISO-8859-1"));
+		output.close();
+
+		// Then
+		assertThat(Sequence.lines(file).asArrayList()).containsExactly("first", "second", "third", "", "f\u00fcnf", longLine.toString(), "last");
+		assertThat(Sequence.lines(file).count()).isEqualTo(7);
+		assertThat(Sequence.lines(empty).any()).isFalse();
+		assertThat(Sequence.lines(latin1, Charset.forName("ISO-8859-1")).asArrayList()).containsExactly("gr\u00fc\u00df", "end");
+		assertThat(Sequence.lines(file.toPath()).asArrayList()).isEqualTo(Sequence.lines(file).asArrayList());
+		assertThat(Sequence.lines(latin1.toPath(), Charset.forName("ISO-8859-1")).asArrayList()).containsExactly("gr\u00fc\u00df", "end");
+	}
+
+	@Test
+	public void test_lineViews_filterWithoutCopying() throws IOException {
+		// Given
+		File file = this.temporaryFolder.newFile();
+		write(file, "ERROR disk full\nINFO started\nERROR timeout\n");
+
+		// When
+		List<String> errors = Sequence.lineViews(file).select(new Predicate<LineView>() {
+			@Override
+			public boolean invoke(LineView line) {
+				return line.startsWith("ERROR");
+			}
+		}).map(new Func<LineView, String>() {
+			@Override
+			public String invoke(LineView line) {
+				return line.subSequence(line.indexOf(' ', 0) + 1, line.length()).toString();
+			}
+		}).asArrayList();
+
+		// Then
+		assertThat(errors).containsExactly("disk full", "timeout");
+		assertThat(Sequence.lineViews(file.toPath()).count()).isEqualTo(3);
+	}
+
+	// assertions are enabled in the tests, so escaped views are detected
+	@Test(expected = IllegalStateException.class)
+	public void test_lineViews_detectsEscapedViews() throws IOException {
+		// Given
+		File file = this.temporaryFolder.newFile();
+		write(file, "first\nsecond\n");
+
+		// When
+		List<LineView> escaped = Sequence.lineViews(file).asArrayList();
+
+		// Then
+		escaped.get(0).materialize();
+	}
+
+	// assertions are enabled in the tests, so a view invalidated by hasNext() would throw
+	@Test
+	public void test_lineViews_keepTheCurrentViewValidOnHasNext() throws IOException {
+		// Given
+		File file = this.temporaryFolder.newFile();
+		write(file, "first\nsecond\n");
+
+		// When
+		Iterator<LineView> lines = Sequence.lineViews(file).iterator();
+		LineView first = lines.next();
+
+		// Then
+		assertThat(lines.hasNext()).isTrue();
+		assertThat(first.materialize()).isEqualTo("first");
+
+		LineView second = lines.next();
+		assertThat(lines.hasNext()).isFalse();
+		assertThat(second.materialize()).isEqualTo("second");
+
+		assertThat(Sequence.lineViews(file).last().get().materialize()).isEqualTo("second");
+	}
+
+	@Test
+	public void test_records_readsEveryFixedSizeRecord() throws IOException {
+		// Given
+		File file = this.temporaryFolder.newFile();
+		DataOutputStream output = new DataOutputStream(new FileOutputStream(file));
+		for (int i = 0; i < 1000; i++) {
+			output.writeInt(i);
+			output.writeLong(i * 3L);
+		}
+		output.close();
+
+		Func<ByteBuffer, Long> sum = new Func<ByteBuffer, Long>() {
+			@Override
+			public Long invoke(ByteBuffer record) {
+				return record.getInt(0) + record.getLong(4);
+			}
+		};
+
+		// When
+		Sequence<Long> records = Sequence.records(file, 12, sum);
+
+		// Then
+		assertThat(records.count()).isEqualTo(1000);
+		assertThat(records.asArrayList()).isEqualTo(Sequence.range(0, 1000).map(new Func<Integer, Long>() {
+			@Override
+			public Long invoke(Integer arg) {
+				return arg * 4L;
+			}
+		}).asArrayList());
+		assertThat(Sequence.records(file.toPath(), 12, sum).asArrayList()).isEqualTo(records.asArrayList());
+	}
+
+	@Test
+	public void test_distinct() {
+		// When
+		Sequence<Integer> actual = Sequence.of(3, 1, 3, 2, 1).distinct();
+
+		// Then
+		assertThat(actual).containsExactly(3, 1, 2);
+	}
+
+	@Test
+	public void test_distinctAndIntersect_onPrimitiveSources() {
+		// Given
+		int[] ints = { 0, 3, -1, 3, 0, 7, -1 };
+		long[] longs = { 5L << 40, 0, 5L << 40, -2, 0 };
+
+		// Then
+		assertThat(Sequence.of(ints).distinct()).containsExactly(0, 3, -1, 7);
+		assertThat(Sequence.of(longs).distinct()).containsExactly(5L << 40, 0L, -2L);
+		assertThat(Sequence.range(4, 3).distinct()).containsExactly(4, 5, 6);
+		assertThat(Sequence.of(ints).intersect(asList(7, 0, 0, 42))).containsExactly(0, 7);
+		assertThat(Sequence.of(ints).intersect(Sequence.range(-1, 4))).containsExactly(0, -1);
+		assertThat(Sequence.range(0, 10).intersect(new Integer[] { 9, 3, 3 })).containsExactly(3, 9);
+		assertThat(Sequence.of(longs).intersect(asList(0L, -2L))).containsExactly(0L, -2L);
+	}
+
+	@Test
+	public void test_distinct_withHashingComparator() {
+		// When
+		Sequence<String> actual = Sequence.of("Ninja", "hanzo", "NINJA", "Hanzo").distinct(
+			new HashingEqualityComparator<String>() {
+				@Override
+				public boolean equals(String first, String second) {
+					return first.equalsIgnoreCase(second);
+				}
+
+				@Override
+				public int hash(String value) {
+					return value.toLowerCase().hashCode();
+				}
+			}
+		);
+
+		// Then
+		assertThat(actual).containsExactly("Ninja", "hanzo");
+	}
+
+	@Test
+	public void test_difference_keepsEncounterOrder() {
+		// When
+		Sequence<Integer> actual = Sequence.of(5, 1, 4, 2, 1, 3).difference(asList(4, 3));
+
+		// Then
+		assertThat(actual).containsExactly(5, 1, 2, 1);
+	}
+
+	@Test
+	public void test_difference_withArrayAndComparator() {
+		// When
+		Sequence<String> actual = Sequence.of("ninja", "hanzo", "leeloo").difference(
+			new String[] {"HANZO"},
+			new EqualityComparator<String>() {
+				@Override
+				public boolean equals(String first, String second) {
+					return first.equalsIgnoreCase(second);
+				}
+			}
+		);
+
+		// Then
+		assertThat(actual).containsExactly("ninja", "leeloo");
+	}
+
+	@Test
+	public void test_difference_isReIterable() {
+		// Given
+		Sequence<Integer> difference = Sequence.range(0, 10).difference(Sequence.range(0, 5));
+
+		// Then
+		assertThat(difference).containsExactly(5, 6, 7, 8, 9);
+		assertThat(difference).containsExactly(5, 6, 7, 8, 9);
+	}
+
+	@Test
+	public void test_map_fusesChainedMaps() {
+		// When
+		Sequence<String> actual = Sequence.of(1, 2, 3).map(
+			new Func<Integer, Integer>() {
+				@Override
+				public Integer invoke(Integer arg) {
+					return arg * 10;
+				}
+			}
+		).map(
+			new Func<Integer, String>() {
+				@Override
+				public String invoke(Integer arg) {
+					return "#" + arg;
+				}
+			}
+		);
+
+		// Then
+		assertThat(actual).containsExactly("#10", "#20", "#30");
+	}
+
+	@Test
+	public void test_select_fusesChainedSelects() {
+		// When
+		Sequence<Integer> actual = Sequence.range(0, 20).select(
+			new Predicate<Integer>() {
+				@Override
+				public boolean invoke(Integer arg) {
+					return arg % 2 == 0;
+				}
+			}
+		).select(
+			new Predicate<Integer>() {
+				@Override
+				public boolean invoke(Integer arg) {
+					return arg % 3 == 0;
+				}
+			}
+		);
+
+		// Then
+		assertThat(actual).containsExactly(0, 6, 12, 18);
+	}
+
+	@Test
+	public void test_skipAndTake_collapseIntoOneSlice() {
+		Sequence<Integer> range = Sequence.range(0, 10);
+
+		assertThat(range.skip(2).take(5).skip(1).take(2)).containsExactly(3, 4);
+		assertThat(range.take(5).skip(3)).containsExactly(3, 4);
+		assertThat(range.skip(3).skip(4)).containsExactly(7, 8, 9);
+		assertThat(range.take(4).take(6)).containsExactly(0, 1, 2, 3);
+		assertThat(range.take(3).skip(5)).isEmpty();
+		assertThat(range.skip(Long.MAX_VALUE).skip(Long.MAX_VALUE)).isEmpty();
+		assertThat(range.take(0)).isEmpty();
+	}
+
+	@Test
+	public void test_mixedStages_keepTheirOrder() {
+		// When
+		Sequence<Integer> actual = Sequence.range(0, 10).skip(1).select(
+			new Predicate<Integer>() {
+				@Override
+				public boolean invoke(Integer arg) {
+					return arg % 2 == 0;
+				}
+			}
+		).take(3).map(
+			new Func<Integer, Integer>() {
+				@Override
+				public Integer invoke(Integer arg) {
+					return -arg;
+				}
+			}
+		);
+
+		// Then
+		assertThat(actual).containsExactly(-2, -4, -6);
+		assertThat(actual).containsExactly(-2, -4, -6);
+	}
+
+	@Test
+	public void test_take_doesNotPullBeyondTheLimit() {
+		// Given
+		final List<Integer> mapped = new ArrayList<Integer>();
+
+		Sequence<Integer> actual = Sequence.range(0, 10).map(
+			new Func<Integer, Integer>() {
+				@Override
+				public Integer invoke(Integer arg) {
+					mapped.add(arg);
+					return arg;
+				}
+			}
+		).take(2);
+
+		// When
+		actual.asArrayList();
+
+		// Then
+		assertThat(mapped).containsExactly(0, 1);
+	}
+
+	@Test
+	public void test_terminalOperations_overPushedSources() {
+		Accumulator<Integer, Integer> sum = new Accumulator<Integer, Integer>() {
+			@Override
+			public Integer accumulate(Integer a, Integer b) {
+				return a + b;
+			}
+		};
+
+		assertThat(Sequence.of(1, 2, 3).aggregate(sum).get()).isEqualTo(6);
+		assertThat(Sequence.of(new int[] {1, 2, 3}).aggregate(10, sum)).isEqualTo(16);
+		assertThat(Sequence.range(1, 100).skip(10).take(5).aggregate(sum).get()).isEqualTo(11 + 12 + 13 + 14 + 15);
+		assertThat(Sequence.repeat(2, 4).count()).isEqualTo(4);
+		assertThat(Sequence.range(0, 10).take(0).aggregate(sum).isPresent()).isFalse();
+		assertThat(Sequence.of(new long[] {1L, 2L, 3L}).last().get()).isEqualTo(3L);
+		assertThat(Sequence.range(0, 10).select(isEven()).last().get()).isEqualTo(8);
+		assertThat(Sequence.range(0, 10).take(3).collect(new ArrayList<Integer>())).containsExactly(0, 1, 2);
+	}
+
+	@Test
+	public void test_allAndAny_stopAtTheFirstDecidingElement() {
+		// Given
+		final List<Integer> tested = new ArrayList<Integer>();
+
+		Predicate<Integer> isSmall = new Predicate<Integer>() {
+			@Override
+			public boolean invoke(Integer arg) {
+				tested.add(arg);
+				return arg < 3;
+			}
+		};
+
+		// When
+		boolean all = Sequence.range(0, 10).all(isSmall);
+
+		// Then
+		assertThat(all).isFalse();
+		assertThat(tested).containsExactly(0, 1, 2, 3);
+
+		tested.clear();
+		assertThat(Sequence.of(asList(5, 1, 7)).any(isSmall)).isTrue();
+		assertThat(tested).containsExactly(5, 1);
+
+		assertThat(Sequence.of(5, 6).map(Funcs.<Integer>self()).any(isSmall)).isFalse();
+		assertThat(Sequence.<Integer>empty().all(isSmall)).isTrue();
+	}
+
+	@Test
+	public void test_parallel_matchesSequentialResults() {
+		// Given
+		Sequence<Integer> sequential = Sequence.range(0, 100000).map(new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				return arg * 3;
+			}
+		}).select(isEven());
+		Sequence<Integer> parallel = sequential.parallel();
+
+		Accumulator<Long, Integer> sum = new Accumulator<Long, Integer>() {
+			@Override
+			public Long accumulate(Long a, Integer b) {
+				return a + b;
+			}
+		};
+		Accumulator<Long, Long> plus = new Accumulator<Long, Long>() {
+			@Override
+			public Long accumulate(Long a, Long b) {
+				return a + b;
+			}
+		};
+
+		// When
+		List<Integer> collected = parallel.collect(new ArrayList<Integer>());
+
+		// Then
+		assertThat(parallel.isParallel()).isTrue();
+		assertThat(collected).isEqualTo(sequential.asArrayList());
+		assertThat(parallel.count()).isEqualTo(sequential.count()).isEqualTo(50000);
+		assertThat(parallel.aggregate(0L, sum, plus)).isEqualTo(sequential.aggregate(0L, sum));
+		assertThat(parallel.asHashMap(Funcs.<Integer>self())).hasSize(50000);
+	}
+
+	@Test
+	public void test_parallel_allAndAny() {
+		// Given
+		Sequence<Integer> parallel = Sequence.range(0, 100000).parallel();
+
+		// Then
+		assertThat(parallel.all(new Predicate<Integer>() {
+			@Override
+			public boolean invoke(Integer arg) {
+				return arg >= 0;
+			}
+		})).isTrue();
+		assertThat(parallel.all(isEven())).isFalse();
+		assertThat(parallel.any(new Predicate<Integer>() {
+			@Override
+			public boolean invoke(Integer arg) {
+				return arg == 99999;
+			}
+		})).isTrue();
+		assertThat(parallel.any(new Predicate<Integer>() {
+			@Override
+			public boolean invoke(Integer arg) {
+				return arg < 0;
+			}
+		})).isFalse();
+	}
+
+	@Test
+	public void test_sequential_undoesParallel() {
+		// Given
+		Sequence<Integer> parallel = Sequence.of(asList(1, 2, 3)).parallel();
+
+		// When
+		Sequence<Integer> sequential = parallel.map(Funcs.<Integer>self()).sequential();
+
+		// Then
+		assertThat(parallel.map(Funcs.<Integer>self()).isParallel()).isTrue();
+		assertThat(sequential.isParallel()).isFalse();
+		assertThat(sequential.take(2).parallel().count()).isEqualTo(2);
+	}
+
+	@Test
+	public void test_sortBy_keepsOriginalOrderOfEqualKeys() {
+		// Given
+		Func<String, Integer> length = new Func<String, Integer>() {
+			@Override
+			public Integer invoke(String arg) {
+				return arg.length();
+			}
+		};
+
+		// When
+		List<String> sorted = Sequence.of("ccc", "b", "aa", "a", "bb", "c").sortBy(length).asArrayList();
+		List<String> descending = Sequence.of("ccc", "b", "aa", "a", "bb", "c").sortByDescending(length).asArrayList();
+
+		// Then
+		assertThat(sorted).containsExactly("b", "a", "c", "aa", "bb", "ccc");
+		assertThat(descending).containsExactly("ccc", "aa", "bb", "b", "a", "c");
+	}
+
+	@Test
+	public void test_thenBy_extractsEveryKeyOncePerLevel() {
+		// Given
+		final List<String> extracted = new ArrayList<String>();
+		Func<String, String> first = new Func<String, String>() {
+			@Override
+			public String invoke(String arg) {
+				extracted.add(arg);
+				return arg.substring(0, 1);
+			}
+		};
+		Func<String, String> second = new Func<String, String>() {
+			@Override
+			public String invoke(String arg) {
+				extracted.add(arg);
+				return arg.substring(1);
+			}
+		};
+
+		// When
+		List<String> sorted = Sequence.of("b2", "a3", "b1", "a1", "c0", "a2").sortBy(first).thenByDescending(second).asArrayList();
+
+		// Then
+		assertThat(sorted).containsExactly("a3", "a2", "a1", "b2", "b1", "c0");
+		assertThat(extracted).hasSize(12);
+	}
+
+	@Test
+	public void test_thenBy_doesNotChangeTheSortedSequence() {
+		// Given
+		Func<String, String> first = new Func<String, String>() {
+			@Override
+			public String invoke(String arg) {
+				return arg.substring(0, 1);
+			}
+		};
+		Func<String, String> second = new Func<String, String>() {
+			@Override
+			public String invoke(String arg) {
+				return arg.substring(1);
+			}
+		};
+		SortedSequence<String, String> sortedByFirst = Sequence.of("b2", "a3", "b1", "a1").sortBy(first);
+
+		// When
+		List<String> ascending = sortedByFirst.thenBy(second).asArrayList();
+		List<String> descending = sortedByFirst.thenByDescending(second).asArrayList();
+
+		// Then
+		assertThat(sortedByFirst.asArrayList()).containsExactly("a3", "a1", "b2", "b1");
+		assertThat(ascending).containsExactly("a1", "a3", "b1", "b2");
+		assertThat(descending).containsExactly("a3", "a1", "b2", "b1");
+	}
+
+	@Test
+	public void test_sortByThenTake_selectsTheSameElementsAsAFullSort() {
+		// Given
+		Func<Integer, Integer> bucket = new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				return (arg * 7919) % 10;
+			}
+		};
+		Func<Integer, Integer> negate = new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				return -(arg % 7);
+			}
+		};
+		List<Integer> sorted = Sequence.range(0, 1000).sortBy(bucket).thenBy(negate).asArrayList();
+
+		// Then
+		for (int count : new int[] { 0, 1, 3, 50, 999, 1000, 5000 }) {
+			assertThat(Sequence.range(0, 1000).sortBy(bucket).thenBy(negate).take(count).asArrayList())
+				.isEqualTo(sorted.subList(0, Math.min(count, sorted.size())));
+		}
+
+		assertThat(Sequence.range(0, 1000).sortBy(bucket).thenBy(negate).skip(20).take(30).asArrayList())
+			.isEqualTo(sorted.subList(20, 50));
+		assertThat(Sequence.range(0, 1000).sortByDescending(bucket).first().get()).isEqualTo(1);
+		assertThat(Sequence.<Integer>empty().sortBy(bucket).take(5).any()).isFalse();
+	}
+
+	@Test
+	public void test_sortBy_parallelIsStable() {
+		// Given
+		Func<Integer, Integer> bucket = new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				return (arg * 7919) % 100;
+			}
+		};
+		Sequence<Integer> source = Sequence.range(0, 50000);
+
+		// When
+		List<Integer> parallel = source.parallel().sortBy(bucket).asArrayList();
+
+		// Then
+		assertThat(parallel).isEqualTo(source.sortBy(bucket).asArrayList());
+
+		for (int i = 1; i < parallel.size(); i++) {
+			int previous = bucket.invoke(parallel.get(i - 1));
+			int current = bucket.invoke(parallel.get(i));
+
+			assertThat(previous < current || previous == current && parallel.get(i - 1) < parallel.get(i)).isTrue();
+		}
+	}
+
+	@Test
+	public void test_sortBy_comparesOnTheCallingThreadUnlessParallel() {
+		// Given
+		final Set<Thread> threads = Collections.synchronizedSet(new HashSet<Thread>());
+		Comparator<Integer> recording = new Comparator<Integer>() {
+			@Override
+			public int compare(Integer first, Integer second) {
+				threads.add(Thread.currentThread());
+				return Integer.compare(first % 1000, second % 1000);
+			}
+		};
+
+		// When
+		List<Integer> sorted = Sequence.range(0, 200000).sortBy(Funcs.<Integer>self(), recording).asArrayList();
+
+		// Then
+		assertThat(sorted.subList(0, 3)).containsExactly(0, 1000, 2000);
+		assertThat(threads).containsExactly(Thread.currentThread());
+	}
+
+	@Test
+	public void test_sortByExternal_mergesSpilledRunsInTheSameOrder() throws IOException {
+		// Given
+		Func<Integer, Integer> bucket = new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				return (arg * 7919) % 10;
+			}
+		};
+		Func<Integer, Integer> negate = new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				return -(arg % 7);
+			}
+		};
+		Serializer<Integer> serializer = intSerializer();
+		File directory = this.temporaryFolder.newFolder();
+
+		// When
+		SortedSequence<Integer, Integer> external = Sequence.range(0, 1000).sortBy(bucket).external(serializer, 7, directory);
+
+		// Then
+		assertThat(external.thenBy(negate).asArrayList()).isEqualTo(Sequence.range(0, 1000).sortBy(bucket).thenBy(negate).asArrayList());
+		assertThat(external.asArrayList()).isEqualTo(Sequence.range(0, 1000).sortBy(bucket).asArrayList());
+		assertThat(external.take(50).asArrayList()).isEqualTo(Sequence.range(0, 1000).sortBy(bucket).take(50).asArrayList());
+		assertThat(Sequence.range(0, 5).sortByDescending(bucket).external(serializer, 7, directory).asArrayList())
+			.containsExactly(1, 2, 3, 4, 0);
+		assertThat(directory.list()).isEmpty();
+	}
+
+	@Test
+	public void test_sortByExternal_mergesMoreRunsThanOpenAtOnceInPasses() throws IOException {
+		// Given
+		Func<Integer, Integer> bucket = new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				return (arg * 7919) % 100;
+			}
+		};
+		File directory = this.temporaryFolder.newFolder();
+
+		// When
+		List<Integer> external = Sequence.range(0, 5000).sortBy(bucket).external(intSerializer(), 3, directory).asArrayList();
+
+		// Then
+		assertThat(external).isEqualTo(Sequence.range(0, 5000).sortBy(bucket).asArrayList());
+		assertThat(directory.list()).isEmpty();
+	}
+
+	@Test
+	public void test_sortByExternal_deletesTheWrittenRunsWhenTheSourceFails() throws IOException {
+		// Given
+		File directory = this.temporaryFolder.newFolder();
+		SortedSequence<Integer, Integer> external = Sequence.range(0, 1000).map(failAt(500))
+			.sortBy(Funcs.<Integer>self()).external(intSerializer(), 7, directory);
+
+		// When
+		IllegalStateException failure = null;
+
+		try {
+			external.asArrayList();
+		} catch (IllegalStateException e) {
+			failure = e;
+		}
+
+		// Then
+		assertThat(failure).hasMessage("source failed.");
+		assertThat(directory.list()).isEmpty();
+	}
+
+	@Test
+	public void test_groupAdjacent_startsANewGroupWhenTheKeyChanges() {
+		// Given
+		final List<Integer> pulled = new ArrayList<Integer>();
+		Func<Integer, Integer> tens = new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				pulled.add(arg);
+				return arg / 10;
+			}
+		};
+
+		// When
+		Iterator<GroupedSequence<Integer, Integer>> groups = Sequence.of(1, 5, 12, 17, 13, 3, 25).groupAdjacent(tens).iterator();
+
+		// Then
+		GroupedSequence<Integer, Integer> first = groups.next();
+		assertThat(first.getKey()).isEqualTo(0);
+		assertThat(first.asArrayList()).containsExactly(1, 5);
+		assertThat(pulled).containsExactly(1, 5, 12);
+
+		GroupedSequence<Integer, Integer> second = groups.next();
+		assertThat(second.getKey()).isEqualTo(1);
+		assertThat(second.asArrayList()).containsExactly(12, 17, 13);
+
+		assertThat(groups.next().asArrayList()).containsExactly(3);
+		assertThat(groups.next().asArrayList()).containsExactly(25);
+		assertThat(groups.hasNext()).isFalse();
+	}
+
+	@Test
+	public void test_groupBy_keepsTheOrderOfFirstAppearance() {
+		// Given
+		Func<String, Integer> length = new Func<String, Integer>() {
+			@Override
+			public Integer invoke(String arg) {
+				return arg.length();
+			}
+		};
+
+		// When
+		List<GroupedSequence<Integer, String>> groups = Sequence.of("ccc", "a", "dd", "bbb", "e", "ffff").groupBy(length).asArrayList();
+
+		// Then
+		assertThat(groups).hasSize(4);
+		assertThat(groups.get(0).getKey()).isEqualTo(3);
+		assertThat(groups.get(0).asArrayList()).containsExactly("ccc", "bbb");
+		assertThat(groups.get(1).asArrayList()).containsExactly("a", "e");
+		assertThat(groups.get(2).asArrayList()).containsExactly("dd");
+		assertThat(groups.get(3).asArrayList()).containsExactly("ffff");
+	}
+
+	@Test
+	public void test_groupByWithBudget_spillsCompleteGroups() throws IOException {
+		// Given
+		final Func<Integer, Integer> lastDigit = new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				return arg % 10;
+			}
+		};
+		File directory = this.temporaryFolder.newFolder();
+
+		// When
+		List<GroupedSequence<Integer, Integer>> groups = Sequence.range(0, 1000)
+			.groupBy(lastDigit, Funcs.<Integer>self(), integerComparator(), intSerializer(), 50, directory)
+			.asArrayList();
+
+		// Then
+		assertThat(groups).hasSize(10);
+		assertThat(directory.list()).isEmpty();
+
+		for (final GroupedSequence<Integer, Integer> group : groups) {
+			List<Integer> expected = Sequence.range(0, 1000).select(new Predicate<Integer>() {
+				@Override
+				public boolean invoke(Integer arg) {
+					return lastDigit.invoke(arg).equals(group.getKey());
+				}
+			}).asArrayList();
+
+			assertThat(group.asArrayList()).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	public void test_groupByWithBudget_deletesTheWrittenPartitionsWhenTheSourceFails() throws IOException {
+		// Given
+		Func<Integer, Integer> lastDigit = new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				return arg % 10;
+			}
+		};
+		File directory = this.temporaryFolder.newFolder();
+		Sequence<GroupedSequence<Integer, Integer>> groups = Sequence.range(0, 1000).map(failAt(500))
+			.groupBy(lastDigit, Funcs.<Integer>self(), integerComparator(), intSerializer(), 50, directory);
+
+		// When
+		IllegalStateException failure = null;
+
+		try {
+			groups.asArrayList();
+		} catch (IllegalStateException e) {
+			failure = e;
+		}
+
+		// Then
+		assertThat(failure).hasMessage("source failed.");
+		assertThat(directory.list()).isEmpty();
+	}
+
+	@Test
+	public void test_groupByWithBudget_deletesThePendingPartitionsWhenAGroupFails() throws IOException {
+		// Given
+		Func<Integer, Integer> lastDigit = new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				return arg % 10;
+			}
+		};
+		File directory = this.temporaryFolder.newFolder();
+		Iterator<GroupedSequence<Integer, Integer>> groups = Sequence.range(0, 1000)
+			.groupBy(lastDigit, failAt(500), integerComparator(), intSerializer(), 50, directory).iterator();
+
+		// When
+		IllegalStateException failure = null;
+
+		try {
+			while (groups.hasNext()) {
+				groups.next();
+			}
+		} catch (IllegalStateException e) {
+			failure = e;
+		}
+
+		// Then
+		assertThat(failure).hasMessage("source failed.");
+		assertThat(directory.list()).isEmpty();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_groupByWithBudget_rejectsAComparatorWithoutHash() {
+		EqualityComparator<Integer> withoutHash = new EqualityComparator<Integer>() {
+			@Override
+			public boolean equals(Integer first, Integer second) {
+				return first.equals(second);
+			}
+		};
+
+		Sequence.range(0, 10).groupBy(Funcs.<Integer>self(), Funcs.<Integer>self(), withoutHash, intSerializer(), 5, null);
+	}
+
+	@Test
+	public void test_groupAggregate_foldsEveryElementIntoItsKey() {
+		// Given
+		Func<String, String> seed = new Func<String, String>() {
+			@Override
+			public String invoke(String key) {
+				return key + ":";
+			}
+		};
+		Accumulator<String, String> append = new Accumulator<String, String>() {
+			@Override
+			public String accumulate(String a, String b) {
+				return a + b.substring(1);
+			}
+		};
+
+		// When
+		List<Tuple<String, String>> aggregated = Sequence.of("b1", "a1", "b2", "1", "a2", "b3")
+			.groupAggregate(firstLetter(), seed, append).asArrayList();
+
+		// Then
+		assertThat(aggregated).containsExactly(Tuple.create("b", "b:123"), Tuple.create("a", "a:12"), Tuple.create((String)null, "null:"));
+	}
+
+	@Test
+	public void test_countByAndPrimitiveReductions_reducePerKey() {
+		// Given
+		Sequence<String> source = Sequence.of("b1", "a7", "b5", "a2", "b3");
+		ToLongFunc<String> digit = new ToLongFunc<String>() {
+			@Override
+			public long invoke(String arg) {
+				return arg.charAt(1) - '0';
+			}
+		};
+		ToDoubleFunc<String> half = new ToDoubleFunc<String>() {
+			@Override
+			public double invoke(String arg) {
+				return (arg.charAt(1) - '0') / 2.0;
+			}
+		};
+
+		// Then
+		assertThat(source.countBy(firstLetter()).asArrayList()).containsExactly(Tuple.create("b", 3L), Tuple.create("a", 2L));
+		assertThat(source.sumLongBy(firstLetter(), digit).asArrayList()).containsExactly(Tuple.create("b", 9L), Tuple.create("a", 9L));
+		assertThat(source.minLongBy(firstLetter(), digit).asArrayList()).containsExactly(Tuple.create("b", 1L), Tuple.create("a", 2L));
+		assertThat(source.maxLongBy(firstLetter(), digit).asArrayList()).containsExactly(Tuple.create("b", 5L), Tuple.create("a", 7L));
+		assertThat(source.sumDoubleBy(firstLetter(), half).asArrayList()).containsExactly(Tuple.create("b", 4.5), Tuple.create("a", 4.5));
+		assertThat(source.maxDoubleBy(firstLetter(), half).asArrayList()).containsExactly(Tuple.create("b", 2.5), Tuple.create("a", 3.5));
+	}
+
+	@Test
+	public void test_groupAggregateWithBudget_combinesSpilledStates() throws IOException {
+		// Given
+		Func<Integer, Integer> lastDigit = new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				return arg % 10;
+			}
+		};
+		Func<Integer, Integer> zero = new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				return 0;
+			}
+		};
+		Accumulator<Integer, Integer> sum = new Accumulator<Integer, Integer>() {
+			@Override
+			public Integer accumulate(Integer a, Integer b) {
+				return a + b;
+			}
+		};
+		File directory = this.temporaryFolder.newFolder();
+
+		// When
+		Map<Integer, Integer> sums = new HashMap<Integer, Integer>();
+		for (Tuple<Integer, Integer> tuple : Sequence.range(0, 1000).map(new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				return (arg * 7919) % 1000;
+			}
+		}).groupAggregate(lastDigit, zero, sum, sum, integerComparator(), intSerializer(), intSerializer(), 3,
+			directory)) {
+
+			assertThat(sums.put(tuple.getFirst(), tuple.getSecond())).isNull();
+		}
+
+		// Then
+		assertThat(sums).hasSize(10);
+		assertThat(directory.list()).isEmpty();
+
+		for (int digit = 0; digit < 10; digit++) {
+			assertThat(sums.get(digit)).isEqualTo(49500 + 100 * digit);
+		}
+	}
+
+	@Test
+	public void test_groupAggregateWithBudget_deletesTheWrittenPartitionsWhenTheSourceFails() throws IOException {
+		// Given
+		Func<Integer, Integer> lastDigit = new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				return arg % 10;
+			}
+		};
+		Func<Integer, Integer> zero = new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				return 0;
+			}
+		};
+		Accumulator<Integer, Integer> sum = new Accumulator<Integer, Integer>() {
+			@Override
+			public Integer accumulate(Integer a, Integer b) {
+				return a + b;
+			}
+		};
+		File directory = this.temporaryFolder.newFolder();
+		Sequence<Tuple<Integer, Integer>> sums = Sequence.range(0, 1000).map(failAt(500))
+			.groupAggregate(lastDigit, zero, sum, sum, integerComparator(), intSerializer(), intSerializer(), 3, directory);
+
+		// When
+		IllegalStateException failure = null;
+
+		try {
+			sums.asArrayList();
+		} catch (IllegalStateException e) {
+			failure = e;
+		}
+
+		// Then
+		assertThat(failure).hasMessage("source failed.");
+		assertThat(directory.list()).isEmpty();
+	}
+
+	@Test
+	public void test_mergeJoin_pairsRunsOfEqualKeys() {
+		// Given
+		Sequence<String> outer = Sequence.of("a1", "b1", "b2", "d1", "e1");
+		List<String> inner = asList("b3", "b4", "c1", "d2", "f1");
+
+		// When
+		List<String> joined = outer.mergeJoin(inner, firstLetter(), firstLetter(), new Func2<String, String, String>() {
+			@Override
+			public String invoke(String a, String b) {
+				return a + b;
+			}
+		}).asArrayList();
+
+		// Then
+		assertThat(joined).containsExactly("b1b3", "b1b4", "b2b3", "b2b4", "d1d2");
+	}
+
+	@Test
+	public void test_leftAndFullMergeJoin_keepUnmatchedElements() {
+		// Given
+		Sequence<String> outer = Sequence.of("a1", "b1", "d1");
+		List<String> inner = asList("0", "b2", "c1", "c2", "e1");
+
+		// When
+		List<String> left = outer.leftMergeJoin(inner, firstLetter(), firstLetter(), new Func2<String, Option<String>, String>() {
+			@Override
+			public String invoke(String a, Option<String> b) {
+				return a + (b.isPresent() ? b.get() : "-");
+			}
+		}).asArrayList();
+		List<String> full = outer.fullMergeJoin(inner, firstLetter(), firstLetter(), new Func2<Option<String>, Option<String>, String>() {
+			@Override
+			public String invoke(Option<String> a, Option<String> b) {
+				return (a.isPresent() ? a.get() : "-") + (b.isPresent() ? b.get() : "-");
+			}
+		}).asArrayList();
+
+		// Then
+		assertThat(left).containsExactly("a1-", "b1b2", "d1-");
+		assertThat(full).containsExactly("-0", "a1-", "b1b2", "-c1", "-c2", "d1-", "-e1");
+	}
+
+	@Test
+	public void test_join_keepsOuterOrderOnEitherBuildSide() {
+		// Given
+		Func2<String, String, String> concat = new Func2<String, String, String>() {
+			@Override
+			public String invoke(String a, String b) {
+				return a + b;
+			}
+		};
+		List<String> small = asList("b1", "a1", "x1", "b2");
+		List<String> large = asList("a2", "b3", "c1", "a3", "b4", "d1", "e1");
+
+		// When
+		List<String> smallOuter = Sequence.of(small).join(large, firstLetter(), firstLetter(), concat).asArrayList();
+		List<String> largeOuter = Sequence.of(large).join(small, firstLetter(), firstLetter(), concat).asArrayList();
+		List<String> streamedOuter = Sequence.of(small).map(Funcs.<String>self()).join(large, firstLetter(), firstLetter(), concat).asArrayList();
+
+		// Then
+		assertThat(smallOuter).containsExactly("b1b3", "b1b4", "a1a2", "a1a3", "b2b3", "b2b4");
+		assertThat(streamedOuter).isEqualTo(smallOuter);
+		assertThat(largeOuter).containsExactly("a2a1", "b3b1", "b3b2", "a3a1", "b4b1", "b4b2");
+	}
+
+	@Test
+	public void test_join_withHashingComparator() {
+		// Given
+		HashingEqualityComparator<String> ignoreCase = new HashingEqualityComparator<String>() {
+			@Override
+			public boolean equals(String a, String b) {
+				return a.equalsIgnoreCase(b);
+			}
+
+			@Override
+			public int hash(String value) {
+				return value.toLowerCase().hashCode();
+			}
+		};
+
+		// When
+		List<String> joined = Sequence.of("a1", "B1", "0").join(asList("b2", "A2", "0"), firstLetter(), firstLetter(),
+			new Func2<String, String, String>() {
+				@Override
+				public String invoke(String a, String b) {
+					return a + b;
+				}
+			}, ignoreCase).asArrayList();
+
+		// Then
+		assertThat(joined).containsExactly("a1A2", "B1b2");
+	}
+
+	@Test
+	public void test_leftAndFullJoin_keepUnmatchedElements() {
+		// Given
+		Sequence<String> outer = Sequence.of("d1", "b1", "0", "a1");
+		List<String> inner = asList("c1", "b2", "1", "d2", "b3");
+
+		// When
+		List<String> left = outer.leftJoin(inner, firstLetter(), firstLetter(), new Func2<String, Option<String>, String>() {
+			@Override
+			public String invoke(String a, Option<String> b) {
+				return a + (b.isPresent() ? b.get() : "-");
+			}
+		}).asArrayList();
+		List<String> full = outer.fullJoin(inner, firstLetter(), firstLetter(), new Func2<Option<String>, Option<String>, String>() {
+			@Override
+			public String invoke(Option<String> a, Option<String> b) {
+				return (a.isPresent() ? a.get() : "-") + (b.isPresent() ? b.get() : "-");
+			}
+		}).asArrayList();
+
+		// Then
+		assertThat(left).containsExactly("d1d2", "b1b2", "b1b3", "0-", "a1-");
+		assertThat(full).containsExactly("d1d2", "b1b2", "b1b3", "0-", "a1-", "-c1", "-1");
+	}
+
+	@Test
+	public void test_groupJoin_pairsEveryOuterElementWithItsGroup() {
+		// Given
+		Sequence<String> outer = Sequence.of("b1", "a1", "c1");
+		List<String> inner = asList("b2", "c2", "b3");
+
+		// When
+		List<String> joined = outer.groupJoin(inner, firstLetter(), firstLetter(), new Func2<String, GroupedSequence<String, String>, String>() {
+			@Override
+			public String invoke(String a, GroupedSequence<String, String> group) {
+				return a + ":" + group.getKey() + "=" + group.asArrayList();
+			}
+		}).asArrayList();
+
+		// Then
+		assertThat(joined).containsExactly("b1:b=[b2, b3]", "a1:a=[]", "c1:c=[c2]");
+	}
+
+	@Test
+	public void test_memoize_pullsEveryElementOnce() {
+		// Given
+		List<Integer> mapped = new ArrayList<Integer>();
+		Sequence<Integer> memoized = Sequence.range(0, 5).map(recordTo(mapped)).memoize();
+
+		// When
+		Iterator<Integer> first = memoized.iterator();
+		Iterator<Integer> second = memoized.iterator();
+		first.next();
+		first.next();
+		second.next();
+
+		// Then
+		assertThat(mapped).containsExactly(0, 1);
+		assertThat(memoized.asArrayList()).containsExactly(0, 1, 2, 3, 4);
+		assertThat(memoized.asArrayList()).containsExactly(0, 1, 2, 3, 4);
+		assertThat(mapped).containsExactly(0, 1, 2, 3, 4);
+	}
+
+	@Test
+	public void test_memoizeWithMaxSize_recomputesBeyondTheCachedElements() {
+		// Given
+		List<Integer> mapped = new ArrayList<Integer>();
+		Sequence<Integer> memoized = Sequence.range(0, 5).map(recordTo(mapped)).memoize(2);
+
+		// When
+		List<Integer> first = memoized.asArrayList();
+		List<Integer> prefix = memoized.take(2).asArrayList();
+		List<Integer> second = memoized.asArrayList();
+
+		// Then
+		assertThat(first).containsExactly(0, 1, 2, 3, 4);
+		assertThat(prefix).containsExactly(0, 1);
+		assertThat(second).containsExactly(0, 1, 2, 3, 4);
+		assertThat(mapped).containsExactly(0, 1, 2, 3, 4, 0, 1, 2, 3, 4);
+	}
+
+	@Test
+	public void test_memoizeLast_sharesTheIterationOfCloseIterators() {
+		// Given
+		List<Integer> mapped = new ArrayList<Integer>();
+		Sequence<Integer> memoized = Sequence.range(0, 5).map(recordTo(mapped)).memoizeLast(2);
+
+		Iterator<Integer> leader = memoized.iterator();
+		Iterator<Integer> follower = memoized.iterator();
+		List<Integer> followed = new ArrayList<Integer>();
+
+		// When
+		while (leader.hasNext()) {
+			leader.next();
+			followed.add(follower.next());
+		}
+		List<Integer> late = memoized.asArrayList();
+
+		// Then
+		assertThat(followed).containsExactly(0, 1, 2, 3, 4);
+		assertThat(late).containsExactly(0, 1, 2, 3, 4);
+		assertThat(mapped).containsExactly(0, 1, 2, 3, 4, 0, 1, 2, 3, 4);
+	}
+
+	@Test(timeout = 10000)
+	public void test_memoizeWithMaxSize_recomputesWithoutBlockingCachedReaders() throws InterruptedException {
+		// Given
+		final CountDownLatch recomputing = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final AtomicInteger iterations = new AtomicInteger();
+
+		final Sequence<Integer> memoized = Sequence.of(
+			new Iterable<Integer>() {
+				@Override
+				public Iterator<Integer> iterator() {
+					final boolean blocking = iterations.incrementAndGet() == 2;
+					final Iterator<Integer> iterator = asList(0, 1, 2, 3).iterator();
+
+					return new Iterator<Integer>() {
+						@Override
+						public boolean hasNext() {
+							return iterator.hasNext();
+						}
+
+						@Override
+						public Integer next() {
+							if (blocking) {
+								recomputing.countDown();
+								await(release);
+							}
+
+							return iterator.next();
+						}
+
+						@Override
+						public void remove() {
+							throw new UnsupportedOperationException();
+						}
+					};
+				}
+			}
+		).memoize(2);
+
+		memoized.asArrayList();
+
+		final List<Integer> recomputed = new ArrayList<Integer>();
+		Thread lagging = new Thread() {
+			@Override
+			public void run() {
+				recomputed.addAll(memoized.asArrayList());
+			}
+		};
+
+		// When
+		lagging.start();
+		recomputing.await();
+		List<Integer> cached = memoized.take(2).asArrayList();
+		release.countDown();
+		lagging.join();
+
+		// Then
+		assertThat(cached).containsExactly(0, 1);
+		assertThat(recomputed).containsExactly(0, 1, 2, 3);
+	}
+
+	@Test
+	public void test_memoize_concurrentIteratorsSeeTheSameElements() throws InterruptedException {
+		// Given
+		final AtomicInteger pulled = new AtomicInteger();
+		final Sequence<Integer> memoized = Sequence.range(0, 10000).map(
+			new Func<Integer, Integer>() {
+				@Override
+				public Integer invoke(Integer arg) {
+					pulled.incrementAndGet();
+					return arg;
+				}
+			}
+		).memoize();
+
+		final List<List<Integer>> results = new ArrayList<List<Integer>>();
+		List<Thread> threads = new ArrayList<Thread>();
+
+		for (int i = 0; i < 4; i++) {
+			final List<Integer> result = new ArrayList<Integer>();
+			results.add(result);
+
+			threads.add(new Thread() {
+				@Override
+				public void run() {
+					for (Integer element : memoized) {
+						result.add(element);
+					}
+				}
+			});
+		}
+
+		// When
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		// Then
+		assertThat(pulled.get()).isEqualTo(10000);
+		for (List<Integer> result : results) {
+			assertThat(result).isEqualTo(Sequence.range(0, 10000).asArrayList());
+		}
+	}
+
+	@Test
+	public void test_reverse_isLazyAndReiterable() {
+		// Given
+		List<Integer> mapped = new ArrayList<Integer>();
+		Sequence<Integer> reversed = Sequence.range(0, 4).map(recordTo(mapped)).select(isEven()).reverse();
+
+		// When
+		List<Integer> pulledBefore = new ArrayList<Integer>(mapped);
+		List<Integer> first = reversed.asArrayList();
+		List<Integer> second = reversed.asArrayList();
+
+		// Then
+		assertThat(pulledBefore).isEmpty();
+		assertThat(first).containsExactly(2, 0);
+		assertThat(second).containsExactly(2, 0);
+	}
+
+	@Test
+	public void test_reverse_iteratesIndexableSourcesBackwards() {
+		// Given
+		Sequence<Integer> range = Sequence.range(0, 10000000).reverse();
+		Sequence<String> array = Sequence.of("a", "b", "c").reverse();
+
+		// When
+		List<Integer> lastOfRange = range.skip(9999997).asArrayList();
+
+		// Then
+		assertThat(range.first().get()).isEqualTo(9999999);
+		assertThat(lastOfRange).containsExactly(2, 1, 0);
+		assertThat(array.asArrayList()).containsExactly("c", "b", "a");
+		assertThat(array.reverse().asArrayList()).containsExactly("a", "b", "c");
+	}
+
+	@Test
+	public void test_skip_jumpsToTheIndexOfIndexableSources() {
+		// Given
+		List<Integer> mapped = new ArrayList<Integer>();
+		Sequence<Integer> page = Sequence.range(0, 50000000).map(recordTo(mapped)).skip(40000000).take(3);
+
+		// When
+		List<Integer> actual = page.asArrayList();
+
+		// Then
+		assertThat(actual).containsExactly(40000000, 40000001, 40000002);
+		assertThat(mapped).containsExactly(40000000, 40000001, 40000002);
+	}
+
+	@Test
+	public void test_countLastAndElementAt_doNotIterateIndexableSources() {
+		// Given
+		List<Integer> mapped = new ArrayList<Integer>();
+		Sequence<Integer> sequence = Sequence.of(1, 2, 3, 4, 5).map(recordTo(mapped)).skip(1);
+
+		// When
+		long count = sequence.count();
+		Option<Integer> last = sequence.last();
+		Option<Integer> second = sequence.elementAt(1);
+		Option<Integer> missing = sequence.elementAt(4);
+
+		// Then
+		assertThat(count).isEqualTo(4);
+		assertThat(last.get()).isEqualTo(5);
+		assertThat(second.get()).isEqualTo(3);
+		assertThat(missing.isPresent()).isFalse();
+		assertThat(mapped).containsExactly(5, 3);
+	}
+
+	@Test
+	public void test_elementAt_iteratesOtherSources() {
+		// Given
+		Sequence<Integer> evens = Sequence.range(0, 10).select(isEven());
+
+		// When
+		Option<Integer> third = evens.elementAt(2);
+
+		// Then
+		assertThat(third.get()).isEqualTo(4);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_elementAt_withNegativeIndex() {
+		Sequence.of(1, 2, 3).elementAt(-1);
+	}
+
+	@Test
+	public void test_zip_keepsTheIndexedAccessOfBothSides() {
+		// Given
+		List<Integer> mapped = new ArrayList<Integer>();
+		Sequence<Integer> numbers = Sequence.range(0, 10).map(recordTo(mapped));
+
+		Sequence<String> zipped = Sequence.of("a", "b", "c").zip(numbers, new Func2<String, Integer, String>() {
+			@Override
+			public String invoke(String letter, Integer number) {
+				return letter + number;
+			}
+		});
+
+		// When
+		long count = zipped.count();
+		String last = zipped.last().get();
+		List<Integer> mappedByCountAndLast = new ArrayList<Integer>(mapped);
+		String[] array = zipped.asArray(new Func<Integer, String[]>() {
+			@Override
+			public String[] invoke(Integer length) {
+				return new String[length];
+			}
+		});
+
+		// Then
+		assertThat(count).isEqualTo(3);
+		assertThat(last).isEqualTo("c2");
+		assertThat(mappedByCountAndLast).containsExactly(2);
+		assertThat(zipped.reverse().asArrayList()).containsExactly("c2", "b1", "a0");
+		assertThat(array).containsExactly("a0", "b1", "c2");
+	}
+
+	@Test
+	public void test_asArray_allocatesTheKnownSizeOnce() {
+		// Given
+		final List<Integer> lengths = new ArrayList<Integer>();
+		Sequence<Integer> sequence = Sequence.range(0, 100).skip(97);
+
+		// When
+		Integer[] array = sequence.asArray(new Func<Integer, Integer[]>() {
+			@Override
+			public Integer[] invoke(Integer length) {
+				lengths.add(length);
+				return new Integer[length + 1];
+			}
+		});
+
+		// Then
+		assertThat(lengths).containsExactly(3);
+		assertThat(array).containsExactly(97, 98, 99, null);
+		assertThat(sequence.asHashSet()).containsOnly(97, 98, 99);
+		assertThat(sequence.asHashMap(Funcs.<Integer>self())).hasSize(3).containsKey(98);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static Func<Integer, Integer> recordTo(final List<Integer> mapped) {
+		return new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				mapped.add(arg);
+				return arg;
+			}
+		};
+	}
+
+	private static Func<String, String> firstLetter() {
+		return new Func<String, String>() {
+			@Override
+			public String invoke(String arg) {
+				return Character.isLetter(arg.charAt(0)) ? arg.substring(0, 1) : null;
+			}
+		};
+	}
+
+	private static Predicate<Integer> isEven() {
+		return new Predicate<Integer>() {
+			@Override
+			public boolean invoke(Integer arg) {
+				return arg % 2 == 0;
+			}
+		};
+	}
+
+	private static void write(File file, String text) throws IOException {
+		OutputStream output = new FileOutputStream(file);
+
+		try {
+			output.write(text.getBytes("UTF-8"));
+		} finally {
+			output.close();
+		}
+	}
+
+	private static HashingEqualityComparator<Integer> integerComparator() {
+		return new HashingEqualityComparator<Integer>() {
+			@Override
+			public boolean equals(Integer first, Integer second) {
+				return first.equals(second);
+			}
+
+			@Override
+			public int hash(Integer value) {
+				return value.hashCode();
+			}
+		};
+	}
+
+	private static Serializer<Integer> intSerializer() {
+		return new Serializer<Integer>() {
+			@Override
+			public void write(Integer value, DataOutput output) throws IOException {
+				output.writeInt(value);
+			}
+
+			@Override
+			public Integer read(DataInput input) throws IOException {
+				return input.readInt();
+			}
+		};
+	}
+
+	private static Func<Integer, Integer> failAt(final int value) {
+		return new Func<Integer, Integer>() {
+			@Override
+			public Integer invoke(Integer arg) {
+				if (arg == value) {
+					throw new IllegalStateException("source failed.");
+				}
+
+				return arg;
+			}
+		};
+	}
+
 	// elegant way to suppress generic array creation warning
 	private <TA, TB> Map.Entry entry(TA a, TB b) {
 		return new HashMap.SimpleEntry<TA, TB>(a, b);